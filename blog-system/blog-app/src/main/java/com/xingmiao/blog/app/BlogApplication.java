@@ -5,11 +5,13 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.autoconfigure.domain.EntityScan;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
 import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication(scanBasePackages = "com.xingmiao.blog")
 @EnableJpaRepositories(basePackages = "com.xingmiao.blog.app.repository")
 @EntityScan(basePackages = "com.xingmiao.blog.common.domain.entity")
 @EnableAsync
+@EnableScheduling
 public class BlogApplication {
 
     public static void main(String[] args) {
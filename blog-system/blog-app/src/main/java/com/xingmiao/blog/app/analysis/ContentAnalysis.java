@@ -0,0 +1,17 @@
+package com.xingmiao.blog.app.analysis;
+
+import com.xingmiao.blog.common.dto.TocEntry;
+
+import java.util.List;
+
+/**
+ * 正文分析结果
+ *
+ * @param wordCount 字数（汉字数 + 单词数）
+ * @param readingMinutes 预计阅读分钟数，空正文为 0
+ * @param toc 目录，按标题在正文中的顺序
+ */
+public record ContentAnalysis(int wordCount, int readingMinutes, List<TocEntry> toc) {
+
+    public static final ContentAnalysis EMPTY = new ContentAnalysis(0, 0, List.of());
+}
@@ -0,0 +1,247 @@
+package com.xingmiao.blog.app.analysis;
+
+import com.xingmiao.blog.app.render.MarkdownRenderer;
+import com.xingmiao.blog.common.domain.enums.ContentType;
+import com.xingmiao.blog.common.dto.TocEntry;
+import org.commonmark.node.AbstractVisitor;
+import org.commonmark.node.Code;
+import org.commonmark.node.CustomNode;
+import org.commonmark.node.FencedCodeBlock;
+import org.commonmark.node.HardLineBreak;
+import org.commonmark.node.Heading;
+import org.commonmark.node.HtmlBlock;
+import org.commonmark.node.HtmlInline;
+import org.commonmark.node.IndentedCodeBlock;
+import org.commonmark.node.Paragraph;
+import org.commonmark.node.SoftLineBreak;
+import org.commonmark.node.Text;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 正文分析：目录、字数和阅读时长，写入时计算一次并随文章保存
+ *
+ * <p>Markdown 与 {@link MarkdownRenderer} 使用同一次 CommonMark 解析，按语法树中的标题节点生成目录，
+ * Setext 标题、引用和列表中的标题都能识别，代码块内的不算，锚点与渲染出的标题 id 一致；
+ * HTML 与富文本按 {@code <h1>}~{@code <h6>} 元素识别，标题自带 id 时沿用。</p>
+ *
+ * <p>字数：每个汉字（含日文假名、韩文）计 1，其他文字按空白和标点切分后每个单词计 1；
+ * 阅读时长按中文每分钟 {@value #CJK_PER_MINUTE} 字、英文每分钟 {@value #WORDS_PER_MINUTE} 词估算，向上取整。</p>
+ */
+public final class ContentAnalyzer {
+
+    static final int CJK_PER_MINUTE = 400;
+    static final int WORDS_PER_MINUTE = 200;
+
+    private static final Pattern HTML_HEADING = Pattern.compile("<h([1-6])(\\s[^>]*)?>(.*?)</h\\1\\s*>",
+            Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
+    private static final Pattern HTML_ID = Pattern.compile("\\bid\\s*=\\s*[\"']([^\"']+)[\"']", Pattern.CASE_INSENSITIVE);
+    private static final Pattern HTML_INVISIBLE = Pattern.compile("<(script|style)\\b.*?</\\1\\s*>",
+            Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
+    private static final Pattern HTML_COMMENT = Pattern.compile("<!--.*?-->", Pattern.DOTALL);
+    private static final Pattern HTML_TAG = Pattern.compile("<[^>]*>");
+    private static final Pattern HTML_ENTITY = Pattern.compile("&(#x[0-9a-fA-F]+|#[0-9]+|[a-zA-Z]+);");
+
+    private ContentAnalyzer() {
+    }
+
+    /**
+     * 分析正文
+     *
+     * @param content 正文，可为空
+     * @param contentType 正文格式，为空时按 Markdown 处理
+     */
+    public static ContentAnalysis analyze(String content, ContentType contentType) {
+        if (content == null || content.isBlank()) {
+            return ContentAnalysis.EMPTY;
+        }
+        List<TocEntry> toc = new ArrayList<>();
+        String text = contentType == ContentType.HTML || contentType == ContentType.RICH_TEXT
+                ? analyzeHtml(content, toc)
+                : analyzeMarkdown(content, toc);
+
+        int cjk = 0;
+        int words = 0;
+        boolean inWord = false;
+        for (int i = 0; i < text.length(); i++) {
+            char ch = text.charAt(i);
+            if (isCjk(ch)) {
+                cjk++;
+                inWord = false;
+            } else if (Character.isLetterOrDigit(ch)) {
+                if (!inWord) {
+                    words++;
+                    inWord = true;
+                }
+            } else if (!(inWord && (ch == '\'' || ch == '’') && i + 1 < text.length()
+                    && Character.isLetter(text.charAt(i + 1)))) {
+                // 撇号连接的缩写（don't）算一个词
+                inWord = false;
+            }
+        }
+        double minutes = (double) cjk / CJK_PER_MINUTE + (double) words / WORDS_PER_MINUTE;
+        return new ContentAnalysis(cjk + words, (int) Math.ceil(minutes), List.copyOf(toc));
+    }
+
+    /**
+     * 提取 Markdown 标题，返回去掉标记后用于计数的文字
+     */
+    private static String analyzeMarkdown(String content, List<TocEntry> toc) {
+        HeadingAnchors anchors = new HeadingAnchors();
+        StringBuilder text = new StringBuilder(content.length());
+        MarkdownRenderer.parse(content).accept(new AbstractVisitor() {
+            @Override
+            public void visit(Heading heading) {
+                // 与渲染时的标题 id 规则相同：文字为空的标题没有 id，也不进目录
+                String title = MarkdownRenderer.headingText(heading);
+                if (!title.isEmpty()) {
+                    toc.add(new TocEntry(heading.getLevel(), title, anchors.next(title)));
+                }
+                visitChildren(heading);
+                text.append('\n');
+            }
+
+            @Override
+            public void visit(Paragraph paragraph) {
+                visitChildren(paragraph);
+                text.append('\n');
+            }
+
+            @Override
+            public void visit(Text node) {
+                text.append(node.getLiteral());
+            }
+
+            @Override
+            public void visit(Code code) {
+                text.append(code.getLiteral());
+            }
+
+            @Override
+            public void visit(SoftLineBreak softLineBreak) {
+                text.append('\n');
+            }
+
+            @Override
+            public void visit(HardLineBreak hardLineBreak) {
+                text.append('\n');
+            }
+
+            @Override
+            public void visit(FencedCodeBlock codeBlock) {
+                // 代码也要阅读，计入字数
+                text.append(codeBlock.getLiteral()).append('\n');
+            }
+
+            @Override
+            public void visit(IndentedCodeBlock codeBlock) {
+                text.append(codeBlock.getLiteral()).append('\n');
+            }
+
+            @Override
+            public void visit(HtmlBlock htmlBlock) {
+                text.append(visibleText(htmlBlock.getLiteral())).append('\n');
+            }
+
+            @Override
+            public void visit(HtmlInline htmlInline) {
+                // 行内标签本身不计数，标签之间的文字是普通文本节点
+            }
+
+            @Override
+            public void visit(CustomNode customNode) {
+                // 表格单元格之间补空格，相邻单元格的单词不会连在一起
+                visitChildren(customNode);
+                text.append(' ');
+            }
+        });
+        return text.toString();
+    }
+
+    /**
+     * 提取 HTML 标题，返回去掉标签后用于计数的文字
+     */
+    private static String analyzeHtml(String content, List<TocEntry> toc) {
+        String visible = HTML_COMMENT.matcher(HTML_INVISIBLE.matcher(content).replaceAll(" ")).replaceAll(" ");
+        HeadingAnchors anchors = new HeadingAnchors();
+        // 先登记全部自带的 id，生成的锚点不会与后面的标题冲突
+        List<String> ids = new ArrayList<>();
+        Matcher heading = HTML_HEADING.matcher(visible);
+        while (heading.find()) {
+            Matcher id = HTML_ID.matcher(heading.group(2) == null ? "" : heading.group(2));
+            String value = id.find() ? id.group(1) : null;
+            ids.add(value);
+            if (value != null) {
+                anchors.reserve(value);
+            }
+        }
+        heading.reset();
+        for (int i = 0; heading.find(); i++) {
+            String text = decodeEntities(HTML_TAG.matcher(heading.group(3)).replaceAll("")).strip();
+            if (text.isEmpty()) {
+                continue;
+            }
+            toc.add(new TocEntry(heading.group(1).charAt(0) - '0', text,
+                    ids.get(i) != null ? ids.get(i) : anchors.next(text)));
+        }
+        return decodeEntities(HTML_TAG.matcher(visible).replaceAll(" "));
+    }
+
+    /**
+     * 去掉注释、脚本和样式，标签替换为空白，实体解码
+     */
+    private static String visibleText(String html) {
+        String visible = HTML_COMMENT.matcher(HTML_INVISIBLE.matcher(html).replaceAll(" ")).replaceAll(" ");
+        return decodeEntities(HTML_TAG.matcher(visible).replaceAll(" "));
+    }
+
+    static String decodeEntities(String text) {
+        if (text.indexOf('&') < 0) {
+            return text;
+        }
+        Matcher matcher = HTML_ENTITY.matcher(text);
+        StringBuilder decoded = new StringBuilder(text.length());
+        while (matcher.find()) {
+            String entity = matcher.group(1);
+            String replacement;
+            if (entity.startsWith("#x") || entity.startsWith("#X")) {
+                replacement = codePoint(entity.substring(2), 16);
+            } else if (entity.startsWith("#")) {
+                replacement = codePoint(entity.substring(1), 10);
+            } else {
+                replacement = switch (entity) {
+                    case "amp" -> "&";
+                    case "lt" -> "<";
+                    case "gt" -> ">";
+                    case "quot" -> "\"";
+                    case "apos" -> "'";
+                    case "nbsp" -> " ";
+                    default -> matcher.group();
+                };
+            }
+            matcher.appendReplacement(decoded, Matcher.quoteReplacement(replacement));
+        }
+        matcher.appendTail(decoded);
+        return decoded.toString();
+    }
+
+    private static String codePoint(String digits, int radix) {
+        try {
+            int codePoint = Integer.parseInt(digits, radix);
+            return Character.isValidCodePoint(codePoint) ? new String(Character.toChars(codePoint)) : " ";
+        } catch (NumberFormatException e) {
+            return " ";
+        }
+    }
+
+    private static boolean isCjk(char ch) {
+        Character.UnicodeScript script = Character.UnicodeScript.of(ch);
+        return script == Character.UnicodeScript.HAN
+                || script == Character.UnicodeScript.HIRAGANA
+                || script == Character.UnicodeScript.KATAKANA
+                || script == Character.UnicodeScript.HANGUL;
+    }
+}
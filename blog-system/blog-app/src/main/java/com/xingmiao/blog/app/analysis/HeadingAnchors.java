@@ -0,0 +1,55 @@
+package com.xingmiao.blog.app.analysis;
+
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * 为一篇文章的标题依次生成锚点
+ *
+ * <p>规则与 GitHub 一致：转小写，去掉字母、数字、空格、连字符、下划线以外的字符（汉字保留），空格换成连字符；
+ * 重复的锚点依次加 -1、-2 后缀。渲染正文时按相同顺序调用即可得到与目录一致的 id。</p>
+ */
+public final class HeadingAnchors {
+
+    private static final String FALLBACK = "section";
+
+    private final Set<String> used = new HashSet<>();
+
+    /**
+     * 按标题文字生成下一个锚点
+     */
+    public String next(String text) {
+        String base = slugify(text);
+        if (base.isEmpty()) {
+            base = FALLBACK;
+        }
+        String anchor = base;
+        for (int i = 1; !used.add(anchor); i++) {
+            anchor = base + "-" + i;
+        }
+        return anchor;
+    }
+
+    /**
+     * 登记正文中已写明的 id（HTML 标题自带 id 时），之后生成的锚点不与之重复
+     */
+    public String reserve(String id) {
+        used.add(id);
+        return id;
+    }
+
+    static String slugify(String text) {
+        StringBuilder slug = new StringBuilder(text.length());
+        String lower = text.trim().toLowerCase(Locale.ROOT);
+        for (int i = 0; i < lower.length(); i++) {
+            char ch = lower.charAt(i);
+            if (Character.isLetterOrDigit(ch) || ch == '-' || ch == '_') {
+                slug.append(ch);
+            } else if (ch == ' ') {
+                slug.append('-');
+            }
+        }
+        return slug.toString();
+    }
+}
@@ -0,0 +1,43 @@
+package com.xingmiao.blog.app.analysis;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.xingmiao.blog.common.dto.TocEntry;
+
+import java.util.List;
+
+/**
+ * 目录在 post_contents.toc 列中的 JSON 表示；没有标题的正文存 null
+ */
+public final class TocJson {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final TypeReference<List<TocEntry>> TYPE = new TypeReference<>() {
+    };
+
+    private TocJson() {
+    }
+
+    public static String write(List<TocEntry> toc) {
+        if (toc == null || toc.isEmpty()) {
+            return null;
+        }
+        try {
+            return MAPPER.writeValueAsString(toc);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("目录序列化失败", e);
+        }
+    }
+
+    public static List<TocEntry> read(String json) {
+        if (json == null || json.isEmpty()) {
+            return List.of();
+        }
+        try {
+            return MAPPER.readValue(json, TYPE);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("目录格式错误", e);
+        }
+    }
+}
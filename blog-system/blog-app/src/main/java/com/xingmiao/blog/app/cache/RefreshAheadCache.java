@@ -0,0 +1,119 @@
+package com.xingmiao.blog.app.cache;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+/**
+ * 带过期时间和提前刷新（stale-while-revalidate）的本地缓存
+ *
+ * <ul>
+ *   <li>未命中或已过 ttl：调用方同步加载，同一 key 的并发加载通过 {@link SingleFlight} 合并为一次</li>
+ *   <li>超过 refreshAfter 但未过 ttl：立即返回旧值，同时在 executor 中后台刷新（每个 key 同时最多一个刷新任务）</li>
+ *   <li>后台刷新失败时保留旧值，直到 ttl 到期</li>
+ * </ul>
+ *
+ * @param <K> key 类型
+ * @param <V> 值类型
+ */
+@Slf4j
+public class RefreshAheadCache<K, V> {
+
+    private final Map<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final SingleFlight<K, V> singleFlight = new SingleFlight<>();
+    private final long ttlMillis;
+    private final long refreshAfterMillis;
+    private final int maxEntries;
+    private final Executor executor;
+
+    public RefreshAheadCache(Duration ttl, Duration refreshAfter, int maxEntries, Executor executor) {
+        if (refreshAfter.compareTo(ttl) > 0) {
+            throw new IllegalArgumentException("refreshAfter 不能大于 ttl");
+        }
+        this.ttlMillis = ttl.toMillis();
+        this.refreshAfterMillis = refreshAfter.toMillis();
+        this.maxEntries = maxEntries;
+        this.executor = executor;
+    }
+
+    public V get(K key, Function<K, V> loader) {
+        Entry<V> entry = entries.get(key);
+        long now = System.currentTimeMillis();
+        if (entry == null || now - entry.loadedAt >= ttlMillis) {
+            return load(key, loader);
+        }
+        if (now - entry.loadedAt >= refreshAfterMillis && entry.refreshing.compareAndSet(false, true)) {
+            try {
+                executor.execute(() -> refresh(key, loader, entry));
+            } catch (RuntimeException e) {
+                entry.refreshing.set(false);
+                log.warn("缓存后台刷新任务提交失败，key:{}", key, e);
+            }
+        }
+        return entry.value;
+    }
+
+    public void invalidate(K key) {
+        entries.remove(key);
+    }
+
+    public void invalidateAll() {
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private void refresh(K key, Function<K, V> loader, Entry<V> stale) {
+        try {
+            load(key, loader);
+        } catch (RuntimeException e) {
+            log.warn("缓存后台刷新失败，继续使用旧值，key:{} 原因:{}", key, e.getMessage());
+        } finally {
+            stale.refreshing.set(false);
+        }
+    }
+
+    private V load(K key, Function<K, V> loader) {
+        return singleFlight.load(key, () -> {
+            V value = loader.apply(key);
+            entries.put(key, new Entry<>(value, System.currentTimeMillis()));
+            evictIfFull();
+            return value;
+        });
+    }
+
+    /**
+     * 超出容量时先清理过期条目，仍然超出则淘汰最早加载的条目
+     */
+    private void evictIfFull() {
+        if (entries.size() <= maxEntries) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        entries.values().removeIf(e -> now - e.loadedAt >= ttlMillis);
+        while (entries.size() > maxEntries) {
+            entries.entrySet().stream()
+                    .min(Comparator.comparingLong(e -> e.getValue().loadedAt))
+                    .ifPresent(oldest -> entries.remove(oldest.getKey(), oldest.getValue()));
+        }
+    }
+
+    private static final class Entry<V> {
+        private final V value;
+        private final long loadedAt;
+        private final AtomicBoolean refreshing = new AtomicBoolean();
+
+        private Entry(V value, long loadedAt) {
+            this.value = value;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
@@ -10,8 +10,13 @@ import org.springframework.context.annotation.Configuration;
 @EnableCaching
 public class CacheConfig {
 
+    /**
+     * 加权标签云，仅在标签或其文章关联变化时失效
+     */
+    public static final String TAG_CLOUD = "tag-cloud";
+
     @Bean
     public CacheManager cacheManager() {
-        return new ConcurrentMapCacheManager("github-contributions", "github-contributions-svg");
+        return new ConcurrentMapCacheManager("github-contributions", "github-contributions-svg", TAG_CLOUD);
     }
 }
@@ -0,0 +1,48 @@
+package com.xingmiao.blog.app.config;
+
+import com.mysql.cj.conf.PropertyKey;
+import com.mysql.cj.conf.PropertySet;
+import com.mysql.cj.conf.RuntimeProperty;
+import com.mysql.cj.jdbc.JdbcConnection;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+
+import java.util.function.Supplier;
+
+/**
+ * 为单条查询开启 MySQL 服务端游标
+ *
+ * <p>Connector/J 只有在连接开启 useCursorFetch（并使用服务端预编译）时，才会让设置了 fetchSize 的查询走服务端游标，
+ * 否则一次读入全部结果行。这两个属性在预编译语句时读取，所以只在打开查询期间为当前事务的连接开启，打开后立即恢复：
+ * 同一连接上的其他语句和连接池中的其他连接保持原有行为。游标打开期间同一连接上仍可执行其他查询。
+ * 非 MySQL 连接（如测试用的 H2）直接执行查询。</p>
+ */
+public final class CursorFetch {
+
+    private CursorFetch() {
+    }
+
+    /**
+     * 以服务端游标打开查询（需在事务内调用，查询须设置 fetchSize 并在调用内执行，例如返回 Stream 的仓库方法）
+     */
+    public static <T> T open(EntityManager entityManager, Supplier<T> query) {
+        PropertySet properties = entityManager.unwrap(Session.class).doReturningWork(connection ->
+                connection.isWrapperFor(JdbcConnection.class)
+                        ? connection.unwrap(JdbcConnection.class).getPropertySet() : null);
+        if (properties == null) {
+            return query.get();
+        }
+        RuntimeProperty<Boolean> cursorFetch = properties.getBooleanProperty(PropertyKey.useCursorFetch);
+        RuntimeProperty<Boolean> serverPrepare = properties.getBooleanProperty(PropertyKey.useServerPrepStmts);
+        boolean cursorFetchBefore = cursorFetch.getValue();
+        boolean serverPrepareBefore = serverPrepare.getValue();
+        cursorFetch.setValue(true);
+        serverPrepare.setValue(true);
+        try {
+            return query.get();
+        } finally {
+            cursorFetch.setValue(cursorFetchBefore);
+            serverPrepare.setValue(serverPrepareBefore);
+        }
+    }
+}
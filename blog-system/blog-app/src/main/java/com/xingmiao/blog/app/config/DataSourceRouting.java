@@ -0,0 +1,61 @@
+package com.xingmiao.blog.app.config;
+
+import java.util.function.Supplier;
+
+/**
+ * 当前线程的读库选择
+ * 
+ * <p>只读事务默认可以走副本；以下情况强制走主库：</p>
+ * <ul>
+ *   <li>客户端处于写入后的读己之写窗口内（由 {@link ReadYourWritesFilter} 设置）</li>
+ *   <li>代码显式调用 {@link #onPrimary(Supplier)}，例如写入提交后立即重建缓存，不能读到副本上的旧数据</li>
+ * </ul>
+ * <p>未启用副本时这里的设置没有任何效果。</p>
+ * 
+ * @author 星喵博客系统
+ * @version 1.0.0
+ * @since 2024-01-01
+ */
+public final class DataSourceRouting {
+
+    private static final ThreadLocal<Integer> PRIMARY_DEPTH = ThreadLocal.withInitial(() -> 0);
+
+    private DataSourceRouting() {
+    }
+
+    /**
+     * 在主库上执行（需在事务开始之前调用，已绑定连接的事务不会切换）
+     */
+    public static <T> T onPrimary(Supplier<T> action) {
+        PRIMARY_DEPTH.set(PRIMARY_DEPTH.get() + 1);
+        try {
+            return action.get();
+        } finally {
+            release();
+        }
+    }
+
+    public static void onPrimary(Runnable action) {
+        onPrimary(() -> {
+            action.run();
+            return null;
+        });
+    }
+
+    public static boolean isPrimaryRequired() {
+        return PRIMARY_DEPTH.get() > 0;
+    }
+
+    static void requirePrimary() {
+        PRIMARY_DEPTH.set(PRIMARY_DEPTH.get() + 1);
+    }
+
+    static void release() {
+        int depth = PRIMARY_DEPTH.get() - 1;
+        if (depth <= 0) {
+            PRIMARY_DEPTH.remove();
+        } else {
+            PRIMARY_DEPTH.set(depth);
+        }
+    }
+}
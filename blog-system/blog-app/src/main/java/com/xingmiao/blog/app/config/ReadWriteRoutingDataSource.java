@@ -0,0 +1,43 @@
+package com.xingmiao.blog.app.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * 按事务只读标记路由的数据源
+ * 
+ * <p>必须包在 {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy} 里使用：
+ * 事务管理器开启事务时只读标记还没有绑定到线程，延迟到第一条 SQL 时再取连接才能拿到正确的标记。</p>
+ * 
+ * @author 星喵博客系统
+ * @version 1.0.0
+ * @since 2024-01-01
+ */
+@Slf4j
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    static final String PRIMARY = "primary";
+    static final String REPLICA = "replica";
+
+    private final ReplicaHealthMonitor healthMonitor;
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica, ReplicaHealthMonitor healthMonitor) {
+        this.healthMonitor = healthMonitor;
+        setTargetDataSources(Map.of(PRIMARY, primary, REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        boolean useReplica = TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                && !DataSourceRouting.isPrimaryRequired()
+                && healthMonitor.isAvailable();
+        String key = useReplica ? REPLICA : PRIMARY;
+        log.trace("数据源路由: {}", key);
+        return key;
+    }
+}
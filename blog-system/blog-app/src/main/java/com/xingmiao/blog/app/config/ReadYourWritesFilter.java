@@ -0,0 +1,85 @@
+package com.xingmiao.blog.app.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseCookie;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * 读己之写过滤器
+ * 
+ * <p>写请求（POST/PUT/PATCH/DELETE）本身以及之后一个时间窗口内同一客户端的请求，只读事务都走主库，
+ * 避免客户端刚写完就从延迟的副本读到旧数据。窗口通过 Cookie 记录截止时间，在响应提交之前写入。</p>
+ * 
+ * @author 星喵博客系统
+ * @version 1.0.0
+ * @since 2024-01-01
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    static final String COOKIE_NAME = "rw_primary_until";
+
+    private final Duration window;
+
+    public ReadYourWritesFilter(Duration window) {
+        this.window = window;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        boolean write = isWrite(request.getMethod());
+        if (write) {
+            long until = System.currentTimeMillis() + window.toMillis();
+            ResponseCookie cookie = ResponseCookie.from(COOKIE_NAME, Long.toString(until))
+                    .path("/")
+                    .maxAge(window)
+                    .httpOnly(true)
+                    .sameSite("Lax")
+                    .build();
+            response.addHeader(HttpHeaders.SET_COOKIE, cookie.toString());
+        }
+
+        if (!write && !withinWindow(request)) {
+            chain.doFilter(request, response);
+            return;
+        }
+        DataSourceRouting.requirePrimary();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            DataSourceRouting.release();
+        }
+    }
+
+    private boolean isWrite(String method) {
+        return !HttpMethod.GET.matches(method)
+                && !HttpMethod.HEAD.matches(method)
+                && !HttpMethod.OPTIONS.matches(method);
+    }
+
+    private boolean withinWindow(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return false;
+        }
+        for (Cookie cookie : cookies) {
+            if (COOKIE_NAME.equals(cookie.getName())) {
+                try {
+                    return System.currentTimeMillis() < Long.parseLong(cookie.getValue());
+                } catch (NumberFormatException e) {
+                    return false;
+                }
+            }
+        }
+        return false;
+    }
+}
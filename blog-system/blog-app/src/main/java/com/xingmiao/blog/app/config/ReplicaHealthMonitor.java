@@ -0,0 +1,82 @@
+package com.xingmiao.blog.app.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * 副本健康检查
+ * 
+ * <p>定时检查副本连接和复制延迟；连接失败、复制中断或延迟超过阈值时标记为不可用，只读事务回退到主库，
+ * 恢复后自动切回。启动后第一次检查通过之前副本不可用。</p>
+ * 
+ * @author 星喵博客系统
+ * @version 1.0.0
+ * @since 2024-01-01
+ */
+@Slf4j
+public class ReplicaHealthMonitor {
+
+    private final DataSource replica;
+    private final ReplicaProperties properties;
+    private volatile boolean available;
+
+    public ReplicaHealthMonitor(DataSource replica, ReplicaProperties properties) {
+        this.replica = replica;
+        this.properties = properties;
+    }
+
+    public boolean isAvailable() {
+        return available;
+    }
+
+    @Scheduled(fixedDelayString = "${blog.datasource.replica.check-interval-ms:2000}")
+    public void check() {
+        boolean healthy;
+        try (Connection connection = replica.getConnection()) {
+            if (!properties.isLagCheckEnabled()) {
+                healthy = connection.isValid(2);
+            } else {
+                Long lag = readLagSeconds(connection);
+                healthy = lag != null && lag <= properties.getMaxLagSeconds();
+                if (!healthy) {
+                    log.warn("副本复制延迟过高或复制已中断，延迟:{}s，只读事务回退到主库", lag);
+                }
+            }
+        } catch (SQLException e) {
+            healthy = false;
+            log.warn("副本不可用，只读事务回退到主库: {}", e.getMessage());
+        }
+        if (healthy != available) {
+            log.info("副本状态变更: {}", healthy ? "可用" : "不可用");
+        }
+        available = healthy;
+    }
+
+    /**
+     * 读取复制延迟，兼容 MySQL 8.0.22+ 的 SHOW REPLICA STATUS 和旧版本的 SHOW SLAVE STATUS
+     *
+     * @return 延迟秒数；复制中断或不是副本时返回 null
+     */
+    private Long readLagSeconds(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            try (ResultSet rs = statement.executeQuery("SHOW REPLICA STATUS")) {
+                return rs.next() ? nullableLong(rs, "Seconds_Behind_Source") : null;
+            } catch (SQLException e) {
+                try (ResultSet rs = statement.executeQuery("SHOW SLAVE STATUS")) {
+                    return rs.next() ? nullableLong(rs, "Seconds_Behind_Master") : null;
+                }
+            }
+        }
+    }
+
+    private Long nullableLong(ResultSet rs, String column) throws SQLException {
+        long value = rs.getLong(column);
+        return rs.wasNull() ? null : value;
+    }
+}
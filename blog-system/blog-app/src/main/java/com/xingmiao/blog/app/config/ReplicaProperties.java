@@ -0,0 +1,53 @@
+package com.xingmiao.blog.app.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 只读副本数据源配置
+ * 
+ * <p>开启后只读事务（{@code @Transactional(readOnly = true)}）路由到副本，其余仍走主库。</p>
+ * 
+ * @author 星喵博客系统
+ * @version 1.0.0
+ * @since 2024-01-01
+ */
+@Data
+@ConfigurationProperties(prefix = "blog.datasource.replica")
+public class ReplicaProperties {
+
+    /**
+     * 是否启用读写分离
+     */
+    private boolean enabled = false;
+
+    private String url;
+
+    private String username;
+
+    private String password;
+
+    private String driverClassName;
+
+    /**
+     * 副本连接池大小
+     */
+    private int maximumPoolSize = 10;
+
+    /**
+     * 允许的最大复制延迟（秒），超过后只读事务回退到主库
+     */
+    private long maxLagSeconds = 5;
+
+    /**
+     * 是否通过 SHOW REPLICA STATUS 检查复制延迟；关闭时只检查副本连接是否可用
+     */
+    private boolean lagCheckEnabled = true;
+
+    /**
+     * 客户端写入后，在该时间窗口内的读取都走主库（读己之写）
+     */
+    private Duration readYourWritesWindow = Duration.ofSeconds(5);
+}
@@ -0,0 +1,40 @@
+package com.xingmiao.blog.app.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * 在写出响应体之前把本次请求的 SQL 语句数写入响应头
+ * 
+ * <p>open-in-view 关闭后序列化阶段不会再触发查询，此时的计数就是整个请求的语句数。</p>
+ * 
+ * @author 星喵博客系统
+ * @version 1.0.0
+ * @since 2024-01-01
+ */
+@RestControllerAdvice
+@ConditionalOnProperty(prefix = "blog.sql-count", name = "enabled", havingValue = "true")
+public class SqlStatementCountAdvice implements ResponseBodyAdvice<Object> {
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        int count = SqlStatementCounter.current();
+        if (count >= 0) {
+            response.getHeaders().set(SqlStatementCountFilter.HEADER, Integer.toString(count));
+        }
+        return body;
+    }
+}
@@ -0,0 +1,31 @@
+package com.xingmiao.blog.app.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * SQL 语句统计配置，开发和测试环境用于发现 N+1 查询
+ * 
+ * @author 星喵博客系统
+ * @version 1.0.0
+ * @since 2024-01-01
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "blog.sql-count", name = "enabled", havingValue = "true")
+public class SqlStatementCountConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer sqlStatementCounterCustomizer() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new SqlStatementCounter());
+    }
+
+    @Bean
+    public SqlStatementCountFilter sqlStatementCountFilter(
+            @Value("${blog.sql-count.warn-threshold:10}") int warnThreshold) {
+        return new SqlStatementCountFilter(warnThreshold);
+    }
+}
@@ -0,0 +1,49 @@
+package com.xingmiao.blog.app.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * 请求级 SQL 语句统计过滤器
+ * 
+ * <p>语句数超过阈值时输出警告；响应头 {@value #HEADER} 由 {@link SqlStatementCountAdvice}
+ * 在写出响应体之前设置，测试可以据此断言每个接口的语句数。</p>
+ * 
+ * @author 星喵博客系统
+ * @version 1.0.0
+ * @since 2024-01-01
+ */
+@Slf4j
+public class SqlStatementCountFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "X-Sql-Statement-Count";
+
+    private final int warnThreshold;
+
+    public SqlStatementCountFilter(int warnThreshold) {
+        this.warnThreshold = warnThreshold;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        SqlStatementCounter.start();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            int count = SqlStatementCounter.stop();
+            if (count > warnThreshold) {
+                log.warn("请求执行的 SQL 语句过多，可能存在 N+1 查询: {} {} 语句数:{}",
+                        request.getMethod(), request.getRequestURI(), count);
+            } else {
+                log.debug("{} {} 语句数:{}", request.getMethod(), request.getRequestURI(), count);
+            }
+        }
+    }
+}
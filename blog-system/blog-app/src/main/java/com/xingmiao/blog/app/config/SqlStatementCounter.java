@@ -0,0 +1,45 @@
+package com.xingmiao.blog.app.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * 按请求统计 Hibernate 发出的 SQL 语句数
+ * 
+ * <p>由 {@link SqlStatementCountFilter} 在请求开始时开启统计，只统计当前线程；异步任务和定时任务不计入。
+ * 用于发现 N+1 查询：同一接口的语句数应与返回条数无关。</p>
+ * 
+ * @author 星喵博客系统
+ * @version 1.0.0
+ * @since 2024-01-01
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<int[]> COUNT = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        int[] count = COUNT.get();
+        if (count != null) {
+            count[0]++;
+        }
+        return sql;
+    }
+
+    public static void start() {
+        COUNT.set(new int[1]);
+    }
+
+    /**
+     * 当前线程已统计的语句数，未开启统计时返回 -1
+     */
+    public static int current() {
+        int[] count = COUNT.get();
+        return count == null ? -1 : count[0];
+    }
+
+    public static int stop() {
+        int current = current();
+        COUNT.remove();
+        return current;
+    }
+}
@@ -1,5 +1,6 @@
 package com.xingmiao.blog.app.controller;
 
+import com.xingmiao.blog.common.dto.BatchItem;
 import com.xingmiao.blog.common.dto.CategoryCreateRequest;
 import com.xingmiao.blog.common.dto.CategoryDto;
 import com.xingmiao.blog.common.dto.CategoryUpdateRequest;
@@ -17,6 +18,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.*;
 import org.springdoc.core.annotations.ParameterObject;
 
@@ -30,7 +32,8 @@ import java.util.List;
  * <ul>
  *   <li>创建、更新、删除分类</li>
  *   <li>根据ID、名称或别名查询分类</li>
- *   <li>分页查询分类列表</li>
+ *   <li>按ID批量查询分类</li>
+ *   <li>分页查询分类列表，支持 fields 参数只返回部分字段</li>
  *   <li>查询所有分类（不分页）</li>
  *   <li>检查分类名称或别名是否存在</li>
  *   <li>查询子分类</li>
@@ -112,6 +115,28 @@ public class CategoryController {
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    /**
+     * 按ID批量查询分类
+     * 
+     * @param ids 分类ID列表，最多 {@link BatchItem#MAX_BATCH_SIZE} 个
+     * @return 按请求顺序排列的结果，不存在的ID标记为404
+     */
+    @GetMapping("/batch")
+    @Operation(summary = "批量查询分类", description = "一次 IN 查询按ID批量获取分类，按请求顺序返回，不存在的ID标记为404")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "查询成功", 
+                    content = @Content(schema = @Schema(implementation = List.class))),
+        @ApiResponse(responseCode = "400", description = "ID数量超过上限"),
+        @ApiResponse(responseCode = "500", description = "服务器内部错误")
+    })
+    public ResponseEntity<List<BatchItem<CategoryDto>>> getByIds(
+            @Parameter(description = "分类ID列表，逗号分隔", required = true) @RequestParam("ids") List<Long> ids) {
+        if (ids.size() > BatchItem.MAX_BATCH_SIZE) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(BatchItem.inOrder(ids, categoryService.getCategoriesByIds(ids)));
+    }
+
     /**
      * 根据名称查询分类
      * 
@@ -157,18 +182,23 @@ public class CategoryController {
     /**
      * 分页查询分类列表
      * 
+     * @param fields 需要返回的字段，为空返回全部字段
      * @param pageable 分页参数
      * @return 分页的分类列表
      */
     @GetMapping
-    @Operation(summary = "分页查询分类列表", description = "分页查询所有分类，支持排序和分页")
+    @Operation(summary = "分页查询分类列表", description = "分页查询所有分类，支持排序和分页；fields 只查询并返回指定字段")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "查询成功", 
                     content = @Content(schema = @Schema(implementation = Page.class))),
         @ApiResponse(responseCode = "500", description = "服务器内部错误")
     })
-    public ResponseEntity<Page<CategoryDto>> list(
+    public ResponseEntity<Page<?>> list(
+            @Parameter(description = "只返回指定字段，逗号分隔，如 id,name,slug；不传返回全部字段") @RequestParam(name = "fields", required = false) String fields,
             @Parameter(description = "分页参数") @ParameterObject Pageable pageable) {
+        if (StringUtils.hasText(fields)) {
+            return ResponseEntity.ok(categoryService.getAllCategoriesFields(fields, pageable));
+        }
         Page<CategoryDto> page = categoryService.getAllCategories(pageable);
         return ResponseEntity.ok(page);
     }
@@ -0,0 +1,63 @@
+package com.xingmiao.blog.app.controller;
+
+import com.xingmiao.blog.app.service.ChangeFeedService;
+import com.xingmiao.blog.common.dto.ChangeFeed;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * 变更流控制器
+ * 
+ * <p>供静态站点构建、移动端等增量客户端同步文章、分类、标签。</p>
+ * <p>主要功能包括：</p>
+ * <ul>
+ *   <li>按游标拉取之后新增、修改、删除的实体，删除以墓碑（DELETE）返回</li>
+ *   <li>游标早于墓碑保留期时提示客户端全量同步</li>
+ * </ul>
+ * 
+ * @author 星喵博客系统
+ * @version 1.0.0
+ * @since 2024-01-01
+ */
+@RestController
+@RequestMapping("/api/changes")
+@RequiredArgsConstructor
+@Tag(name = "变更流", description = "文章、分类、标签的增量同步接口")
+public class ChangeFeedController {
+
+    private final ChangeFeedService changeFeedService;
+
+    /**
+     * 拉取变更
+     * 
+     * @param cursor 上次返回的游标，首次同步不传
+     * @param limit 每页最多返回的变更数
+     * @return 变更列表和下次使用的游标，游标无效返回400
+     */
+    @GetMapping
+    @Operation(summary = "拉取变更", description = "返回游标之后变更的文章、分类、标签，按变更时间排序。" +
+            "hasMore 为 true 时用返回的游标立即继续拉取，否则按轮询间隔再拉取；resync 为 true 时需先全量同步")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "查询成功",
+                    content = @Content(schema = @Schema(implementation = ChangeFeed.class))),
+        @ApiResponse(responseCode = "400", description = "游标无效")
+    })
+    public ResponseEntity<ChangeFeed> getChanges(
+            @Parameter(description = "上次返回的游标") @RequestParam(value = "cursor", required = false) String cursor,
+            @Parameter(description = "每页最多返回的变更数，最大500", example = "100")
+            @RequestParam(value = "limit", defaultValue = "100") int limit) {
+        try {
+            return ResponseEntity.ok(changeFeedService.getChanges(cursor, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
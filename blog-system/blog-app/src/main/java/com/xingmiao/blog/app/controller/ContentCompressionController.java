@@ -0,0 +1,63 @@
+package com.xingmiao.blog.app.controller;
+
+import com.xingmiao.blog.app.service.ContentCompressionService;
+import com.xingmiao.blog.common.dto.ContentCompressionStats;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * 正文压缩控制器
+ * 
+ * <p>查看和管理文章正文的压缩存储。</p>
+ * <p>主要功能包括：</p>
+ * <ul>
+ *   <li>写入、读取次数和压缩率统计</li>
+ *   <li>触发后台任务压缩尚未压缩的历史正文</li>
+ * </ul>
+ * 
+ * @author 星喵博客系统
+ * @version 1.0.0
+ * @since 2024-01-01
+ */
+@RestController
+@RequestMapping("/api/content-compression")
+@RequiredArgsConstructor
+@Tag(name = "正文压缩", description = "文章正文压缩存储的统计与管理接口")
+public class ContentCompressionController {
+
+    private final ContentCompressionService contentCompressionService;
+
+    /**
+     * 获取压缩统计
+     * 
+     * @return 自启动以来的压缩统计
+     */
+    @GetMapping
+    @Operation(summary = "压缩统计", description = "正文写入、读取次数，写入和后台压缩的字节数与压缩率")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "查询成功")
+    })
+    public ResponseEntity<ContentCompressionStats> getStats() {
+        return ResponseEntity.ok(contentCompressionService.getStats());
+    }
+
+    /**
+     * 压缩历史正文
+     * 
+     * @return 已提交返回202
+     */
+    @PostMapping("/recompress")
+    @Operation(summary = "压缩历史正文", description = "请求后台任务分批压缩仍以明文保存的正文，启用压缩或调整阈值后使用")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "202", description = "已提交")
+    })
+    public ResponseEntity<Void> recompress() {
+        contentCompressionService.requestRecompress();
+        return ResponseEntity.accepted().build();
+    }
+}
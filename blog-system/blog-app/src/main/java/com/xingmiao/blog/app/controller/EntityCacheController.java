@@ -0,0 +1,65 @@
+package com.xingmiao.blog.app.controller;
+
+import com.xingmiao.blog.app.service.EntityCacheService;
+import com.xingmiao.blog.common.dto.CacheRegionStats;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * 实体缓存控制器
+ * 
+ * <p>查看和管理 Hibernate 二级缓存。</p>
+ * <p>主要功能包括：</p>
+ * <ul>
+ *   <li>各缓存区域（分类、标签、系统配置、用户、查询缓存）的命中、未命中、写入次数</li>
+ *   <li>清空全部二级缓存</li>
+ * </ul>
+ * 
+ * @author 星喵博客系统
+ * @version 1.0.0
+ * @since 2024-01-01
+ */
+@RestController
+@RequestMapping("/api/cache/regions")
+@RequiredArgsConstructor
+@Tag(name = "实体缓存", description = "Hibernate 二级缓存统计与管理接口")
+public class EntityCacheController {
+
+    private final EntityCacheService entityCacheService;
+
+    /**
+     * 获取缓存区域统计
+     * 
+     * @return 各区域的命中统计
+     */
+    @GetMapping
+    @Operation(summary = "缓存区域统计", description = "各二级缓存区域的命中、未命中、写入次数和命中率；需开启 blog.entity-cache.statistics-enabled，否则返回空列表")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "查询成功")
+    })
+    public ResponseEntity<List<CacheRegionStats>> getRegionStats() {
+        return ResponseEntity.ok(entityCacheService.getRegionStats());
+    }
+
+    /**
+     * 清空二级缓存
+     * 
+     * @return 成功返回204
+     */
+    @DeleteMapping
+    @Operation(summary = "清空缓存", description = "清空全部二级缓存和查询缓存，直接修改数据库后使用")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "204", description = "已清空")
+    })
+    public ResponseEntity<Void> evictAll() {
+        entityCacheService.evictAll();
+        return ResponseEntity.noContent().build();
+    }
+}
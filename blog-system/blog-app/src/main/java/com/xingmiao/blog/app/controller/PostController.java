@@ -1,12 +1,31 @@
 package com.xingmiao.blog.app.controller;
 
+import com.xingmiao.blog.common.domain.enums.EngagementType;
 import com.xingmiao.blog.common.domain.enums.Visibility;
+import com.xingmiao.blog.common.domain.event.PostEngagementEvent;
+import com.xingmiao.blog.common.dto.BatchItem;
+import com.xingmiao.blog.common.dto.CachedPostResponse;
+import com.xingmiao.blog.common.dto.NearDuplicatePair;
 import com.xingmiao.blog.common.dto.PostCreateRequest;
 import com.xingmiao.blog.common.dto.PostDto;
+import com.xingmiao.blog.common.dto.PostImportResult;
+import com.xingmiao.blog.common.dto.PostListVersion;
 import com.xingmiao.blog.common.dto.PostUpdateRequest;
+import com.xingmiao.blog.common.dto.PostVersion;
+import com.xingmiao.blog.common.dto.RelatedPostItem;
+import com.xingmiao.blog.common.dto.TrendingItem;
 import com.xingmiao.blog.app.repository.PostAccessKeyRepository;
 import com.xingmiao.blog.app.service.AccessTokenService;
+import com.xingmiao.blog.app.service.InvalidPatchException;
+import com.xingmiao.blog.app.service.NearDuplicateService;
+import com.xingmiao.blog.app.service.PostImportService;
+import com.xingmiao.blog.app.service.PostResponseCacheService;
 import com.xingmiao.blog.app.service.PostService;
+import com.xingmiao.blog.app.service.PostVersionService;
+import com.xingmiao.blog.app.service.RelatedPostService;
+import com.xingmiao.blog.app.service.TrendingService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -16,15 +35,38 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springdoc.core.annotations.ParameterObject;
 
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * 博客文章管理控制器
@@ -33,10 +75,22 @@ import jakarta.servlet.http.HttpServletRequest;
  * <p>主要功能包括：</p>
  * <ul>
  *   <li>创建、更新、删除文章</li>
+ *   <li>PATCH 部分更新，version 乐观锁冲突时返回409</li>
+ *   <li>NDJSON 流式批量导入，逐行返回导入结果</li>
+ *   <li>游标流式全量导出（NDJSON / gzip）</li>
  *   <li>根据ID或别名查询文章</li>
+ *   <li>按ID批量查询文章</li>
  *   <li>分页查询文章列表</li>
+ *   <li>列表接口支持 fields 参数只返回部分字段</li>
  *   <li>按分类查询文章</li>
+ *   <li>按时间衰减热度排行的热门文章（全站 / 分类）</li>
+ *   <li>预先计算的相关文章推荐</li>
+ *   <li>正文近似重复检测：创建、修改正文时返回相近文章，支持批量查询</li>
+ *   <li>写入时分析正文：字数、预计阅读时长随文章返回（列表可用），目录随正文返回</li>
+ *   <li>Markdown 正文服务端渲染，详情返回清洗后的 HTML（contentHtml）</li>
  *   <li>密码保护文章的访问控制</li>
+ *   <li>详情和列表支持 ETag / Last-Modified 条件请求，未变化时返回304</li>
+ *   <li>热点文章详情缓存序列化并压缩后的响应字节</li>
  * </ul>
  * 
  * @author 星喵博客系统
@@ -50,8 +104,18 @@ import jakarta.servlet.http.HttpServletRequest;
 public class PostController {
 
     private final PostService postService;
+    private final PostVersionService postVersionService;
+    private final PostResponseCacheService postResponseCacheService;
     private final AccessTokenService accessTokenService;
     private final PostAccessKeyRepository postAccessKeyRepository;
+    private final PostImportService postImportService;
+    private final TrendingService trendingService;
+    private final RelatedPostService relatedPostService;
+    private final NearDuplicateService nearDuplicateService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+
+    private static final int EXPORT_BUFFER_SIZE = 64 * 1024;
 
     /**
      * 创建新文章
@@ -62,7 +126,8 @@ public class PostController {
     @PostMapping
     @Operation(
         summary = "创建文章", 
-        description = "创建一篇新的博客文章。只需要填写标题和内容即可，其他字段都有合理的默认值。",
+        description = "创建一篇新的博客文章。只需要填写标题和内容即可，其他字段都有合理的默认值。" +
+                "响应的 nearDuplicates 列出正文与之相近的已有文章。",
         requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
             description = "文章创建请求",
             required = true,
@@ -95,26 +160,160 @@ public class PostController {
         return ResponseEntity.status(HttpStatus.CREATED).body(postService.create(request));
     }
 
+    /**
+     * 批量导入文章
+     * 
+     * <p>请求体为 NDJSON，每行一个文章创建请求；响应同样为 NDJSON，每条记录一行结果，
+     * 随批次提交逐步写出。单条记录失败不影响其他记录。</p>
+     * 
+     * @param request 请求，逐行读取请求体
+     * @param response 响应，逐行写出导入结果
+     */
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_NDJSON_VALUE,
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(
+        summary = "批量导入文章",
+        description = "以 NDJSON 流式导入文章，每行一个与创建接口相同的请求对象。别名、分类、标签按批校验，" +
+                "有效记录分批写入数据库，导入完成后按分类批量同步到 Dify。响应为 NDJSON，每条记录一行结果：" +
+                "status 为 201 已创建、400 记录无效、409 别名重复、500 写入失败",
+        requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
+            description = "NDJSON 格式的文章创建请求",
+            required = true,
+            content = @Content(
+                mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+                schema = @Schema(implementation = PostCreateRequest.class)
+            )
+        )
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "逐行返回导入结果",
+                    content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+                                       schema = @Schema(implementation = PostImportResult.class)))
+    })
+    public void importPosts(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        PrintWriter writer = response.getWriter();
+        postImportService.importPosts(request.getReader(), result -> {
+            try {
+                writer.write(objectMapper.writeValueAsString(result));
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException(e);
+            }
+            writer.write('\n');
+            writer.flush();
+        });
+    }
+
+    /**
+     * 全量导出文章
+     * 
+     * <p>按ID顺序以游标读取全部未删除文章（含正文、标签和计数），边读边写出 NDJSON，
+     * 不分页也不做计数查询，导出过程中内存占用与文章总数无关。</p>
+     * 
+     * @param format 导出格式：ndjson 或 gzip（gzip 压缩的 NDJSON）
+     * @return 流式响应体，格式不支持时返回400
+     */
+    @GetMapping("/export")
+    @Operation(summary = "全量导出文章", description = "以 NDJSON 流式导出全部未删除文章，每行一个完整的文章对象，" +
+            "用于备份和静态站点构建。format=gzip 时返回 gzip 压缩文件")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "导出成功",
+                    content = {
+                        @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+                                 schema = @Schema(implementation = PostDto.class)),
+                        @Content(mediaType = "application/gzip")
+                    }),
+        @ApiResponse(responseCode = "400", description = "导出格式不支持")
+    })
+    public ResponseEntity<StreamingResponseBody> export(
+            @Parameter(description = "导出格式：ndjson 或 gzip", example = "ndjson")
+            @RequestParam(value = "format", defaultValue = "ndjson") String format) {
+        boolean gzip = "gzip".equalsIgnoreCase(format);
+        if (!gzip && !"ndjson".equalsIgnoreCase(format)) {
+            return ResponseEntity.badRequest().build();
+        }
+        String filename = "posts-" + LocalDate.now().format(DateTimeFormatter.BASIC_ISO_DATE)
+                + (gzip ? ".ndjson.gz" : ".ndjson");
+        StreamingResponseBody body = outputStream -> {
+            OutputStream out = gzip ? new GZIPOutputStream(outputStream, EXPORT_BUFFER_SIZE)
+                    : new BufferedOutputStream(outputStream, EXPORT_BUFFER_SIZE);
+            postService.exportAll(post -> {
+                try {
+                    out.write(objectMapper.writeValueAsBytes(post));
+                    out.write('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            if (out instanceof GZIPOutputStream gzipOut) {
+                gzipOut.finish();
+            }
+            out.flush();
+        };
+        return ResponseEntity.ok()
+                .contentType(gzip ? MediaType.parseMediaType("application/gzip") : MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString())
+                .body(body);
+    }
+
     /**
      * 更新文章
      * 
      * @param id 文章ID
-     * @param request 文章更新请求对象
-     * @return 更新成功返回更新后的文章详情
+     * @param request 文章更新请求对象，null 字段保持不变；带 version 时做乐观锁校验
+     * @return 更新成功返回更新后的文章详情，版本冲突返回409
      */
     @PutMapping("/{id}")
-    @Operation(summary = "更新文章", description = "根据文章ID更新文章信息")
+    @Operation(summary = "更新文章", description = "根据文章ID更新文章信息，请求中为 null 的字段保持不变。" +
+            "携带 version 时若文章已被他人修改则返回409；修改了正文时响应的 nearDuplicates 列出正文相近的文章")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "文章更新成功", 
                     content = @Content(schema = @Schema(implementation = PostDto.class))),
         @ApiResponse(responseCode = "400", description = "请求参数无效"),
         @ApiResponse(responseCode = "404", description = "文章不存在"),
+        @ApiResponse(responseCode = "409", description = "版本冲突，文章已被修改"),
         @ApiResponse(responseCode = "500", description = "服务器内部错误")
     })
     public ResponseEntity<PostDto> update(
             @Parameter(description = "文章ID", required = true) @PathVariable("id") Long id, 
             @Valid @RequestBody PostUpdateRequest request) {
-        return ResponseEntity.ok(postService.update(id, request));
+        try {
+            return ResponseEntity.ok(postService.update(id, request));
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+
+    /**
+     * 部分更新文章（JSON Merge Patch）
+     * 
+     * @param id 文章ID
+     * @param patch 只包含要修改的字段，值为 null 表示清空该字段
+     * @return 更新成功返回更新后的文章详情，版本冲突返回409
+     */
+    @PatchMapping(value = "/{id}", consumes = {"application/merge-patch+json", MediaType.APPLICATION_JSON_VALUE})
+    @Operation(summary = "部分更新文章", description = "只修改请求中出现的字段，值为 null 表示清空（标题、别名、" +
+            "正文、内容类型、状态、可见性不能清空）。携带 version 时若文章已被他人修改则返回409；" +
+            "修改了正文时响应的 nearDuplicates 列出正文相近的文章")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "文章更新成功",
+                    content = @Content(schema = @Schema(implementation = PostDto.class))),
+        @ApiResponse(responseCode = "400", description = "请求参数无效：不支持的字段、清空必填字段、类型错误或超出长度限制"),
+        @ApiResponse(responseCode = "404", description = "文章不存在"),
+        @ApiResponse(responseCode = "409", description = "版本冲突，文章已被修改"),
+        @ApiResponse(responseCode = "500", description = "服务器内部错误")
+    })
+    public ResponseEntity<PostDto> patch(
+            @Parameter(description = "文章ID", required = true) @PathVariable("id") Long id,
+            @RequestBody Map<String, Object> patch) {
+        try {
+            return ResponseEntity.ok(postService.patch(id, patch));
+        } catch (InvalidPatchException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
     }
 
     /**
@@ -141,24 +340,57 @@ public class PostController {
      * 
      * @param id 文章ID
      * @param request HTTP请求对象，用于获取访问令牌
+     * @param webRequest 用于处理 If-None-Match / If-Modified-Since
      * @return 文章详情，如果是密码保护文章需要验证访问令牌
      */
     @GetMapping("/{id}")
-    @Operation(summary = "根据ID查询文章", description = "根据文章ID查询文章详情，支持密码保护文章的访问控制")
+    @Operation(summary = "根据ID查询文章", description = "根据文章ID查询文章详情，Markdown 正文同时返回服务端渲染的 HTML（contentHtml），支持密码保护文章的访问控制；携带 If-None-Match / If-Modified-Since 且文章未变化时返回304")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "查询成功", 
                     content = @Content(schema = @Schema(implementation = PostDto.class))),
+        @ApiResponse(responseCode = "304", description = "文章未变化"),
         @ApiResponse(responseCode = "401", description = "密码保护文章，需要访问令牌"),
         @ApiResponse(responseCode = "404", description = "文章不存在"),
         @ApiResponse(responseCode = "500", description = "服务器内部错误")
     })
-    public ResponseEntity<PostDto> getById(
+    public ResponseEntity<?> getById(
             @Parameter(description = "文章ID", required = true) @PathVariable("id") Long id, 
+            HttpServletRequest request, WebRequest webRequest) {
+        if (hasValidators(webRequest)) {
+            Optional<PostVersion> version = postVersionService.getVersionById(id);
+            if (version.isPresent() && !isProtected(version.get()) && isNotModified(version.get(), webRequest)) {
+                recordView(id);
+                return null;
+            }
+        }
+        return servePost(id, request, webRequest);
+    }
+
+    /**
+     * 按ID批量查询文章
+     * 
+     * @param ids 文章ID列表，最多 {@link BatchItem#MAX_BATCH_SIZE} 个
+     * @param request HTTP请求对象，用于获取各文章的访问令牌
+     * @return 按请求顺序排列的结果，每项带有 200/401/404 状态
+     */
+    @GetMapping("/batch")
+    @Operation(summary = "批量查询文章", description = "一次 IN 查询按ID批量获取文章，按请求顺序返回，不存在的ID标记为404，密码保护且无有效令牌的标记为401")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "查询成功", 
+                    content = @Content(schema = @Schema(implementation = List.class))),
+        @ApiResponse(responseCode = "400", description = "ID数量超过上限"),
+        @ApiResponse(responseCode = "500", description = "服务器内部错误")
+    })
+    public ResponseEntity<List<BatchItem<PostDto>>> getByIds(
+            @Parameter(description = "文章ID列表，逗号分隔", required = true) @RequestParam("ids") List<Long> ids,
             HttpServletRequest request) {
-        String token = getCookieValue(request, "pa_" + id);
-        return postService.getById(id)
-                .map(post -> handleProtectedPost(id, post, token))
-                .orElse(ResponseEntity.notFound().build());
+        if (ids.size() > BatchItem.MAX_BATCH_SIZE) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(BatchItem.inOrder(ids, postService.getByIds(ids), post -> {
+            String token = getCookieValue(request, "pa_" + post.getId());
+            return handleProtectedPost(post.getId(), post, token).getStatusCode().value();
+        }));
     }
 
     /**
@@ -166,66 +398,220 @@ public class PostController {
      * 
      * @param slug 文章别名
      * @param request HTTP请求对象，用于获取访问令牌
+     * @param webRequest 用于处理 If-None-Match / If-Modified-Since
      * @return 文章详情，如果是密码保护文章需要验证访问令牌
      */
     @GetMapping("/slug/{slug}")
-    @Operation(summary = "根据别名查询文章", description = "根据文章别名查询文章详情，支持密码保护文章的访问控制")
+    @Operation(summary = "根据别名查询文章", description = "根据文章别名查询文章详情，Markdown 正文同时返回服务端渲染的 HTML（contentHtml），支持密码保护文章的访问控制；携带 If-None-Match / If-Modified-Since 且文章未变化时返回304")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "查询成功", 
                     content = @Content(schema = @Schema(implementation = PostDto.class))),
+        @ApiResponse(responseCode = "304", description = "文章未变化"),
         @ApiResponse(responseCode = "401", description = "密码保护文章，需要访问令牌"),
         @ApiResponse(responseCode = "404", description = "文章不存在"),
         @ApiResponse(responseCode = "500", description = "服务器内部错误")
     })
-    public ResponseEntity<PostDto> getBySlug(
+    public ResponseEntity<?> getBySlug(
             @Parameter(description = "文章别名", required = true) @PathVariable("slug") String slug, 
-            HttpServletRequest request) {
-        return postService.getBySlug(slug)
-                .map(post -> {
-                    String token = getCookieValue(request, "pa_" + post.getId());
-                    return handleProtectedPost(post.getId(), post, token);
-                })
-                .orElse(ResponseEntity.notFound().build());
+            HttpServletRequest request, WebRequest webRequest) {
+        Optional<PostVersion> version = postVersionService.getVersionBySlug(slug);
+        if (version.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        if (!isProtected(version.get()) && isNotModified(version.get(), webRequest)) {
+            recordView(version.get().getId());
+            return null;
+        }
+        return servePost(version.get().getId(), request, webRequest);
+    }
+
+    /**
+     * 热门文章
+     * 
+     * @param categoryId 分类ID，为空时返回全站排行
+     * @param limit 返回数量，最多50篇
+     * @return 按当前热度降序的文章列表（不含正文）
+     */
+    @GetMapping("/trending")
+    @Operation(summary = "热门文章", description = "按浏览、点赞、评论加权并随时间指数衰减的热度排行，直接读取内存中维护的前K名；传 categoryId 时返回该分类的排行（不含子分类）")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "查询成功", 
+                    content = @Content(schema = @Schema(implementation = List.class))),
+        @ApiResponse(responseCode = "500", description = "服务器内部错误")
+    })
+    public ResponseEntity<List<TrendingItem>> trending(
+            @Parameter(description = "分类ID，不传返回全站排行") @RequestParam(name = "categoryId", required = false) Long categoryId,
+            @Parameter(description = "返回数量") @RequestParam(name = "limit", defaultValue = "10") int limit) {
+        return ResponseEntity.ok(trendingService.getTrending(categoryId, limit));
+    }
+
+    /**
+     * 相关文章
+     * 
+     * @param id 文章ID
+     * @param limit 返回数量
+     * @return 按相似度降序的文章列表（不含正文），尚未计算时为空列表
+     */
+    @GetMapping("/{id}/related")
+    @Operation(summary = "相关文章", description = "按正文、分类、标签的 TF-IDF 相似度预先计算的相关文章，读取时只查询一次保存的近邻列表；新文章在后台任务处理前返回空列表")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "查询成功", 
+                    content = @Content(schema = @Schema(implementation = List.class))),
+        @ApiResponse(responseCode = "500", description = "服务器内部错误")
+    })
+    public ResponseEntity<List<RelatedPostItem>> related(
+            @Parameter(description = "文章ID", required = true) @PathVariable("id") Long id,
+            @Parameter(description = "返回数量") @RequestParam(name = "limit", defaultValue = "5") int limit) {
+        return ResponseEntity.ok(relatedPostService.getRelated(id, limit));
+    }
+
+    /**
+     * 批量查询正文近似重复的文章
+     * 
+     * @param ids 只返回涉及这些文章的结果，为空时返回全部
+     * @return 按距离升序的文章对
+     */
+    @GetMapping("/near-duplicates")
+    @Operation(summary = "近似重复文章", description = "按正文 SimHash 指纹的汉明距离查找内容相近的文章对，使用分段查找表而非两两比较；不传 ids 返回全站所有相近文章对")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "查询成功", 
+                    content = @Content(schema = @Schema(implementation = List.class))),
+        @ApiResponse(responseCode = "500", description = "服务器内部错误")
+    })
+    public ResponseEntity<List<NearDuplicatePair>> nearDuplicates(
+            @Parameter(description = "文章ID列表，逗号分隔") @RequestParam(name = "ids", required = false) List<Long> ids) {
+        return ResponseEntity.ok(nearDuplicateService.findPairs(ids));
     }
 
     /**
      * 分页查询文章列表
      * 
+     * @param fields 需要返回的字段，为空返回全部字段
      * @param pageable 分页参数
+     * @param webRequest 用于处理 If-None-Match / If-Modified-Since
      * @return 分页的文章列表
      */
     @GetMapping
-    @Operation(summary = "分页查询文章列表", description = "分页查询所有文章，支持排序和分页")
+    @Operation(summary = "分页查询文章列表", description = "分页查询所有文章，支持排序和分页；fields 只查询并返回指定字段；文章未变化时条件请求返回304")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "查询成功", 
                     content = @Content(schema = @Schema(implementation = Page.class))),
+        @ApiResponse(responseCode = "304", description = "文章列表未变化"),
         @ApiResponse(responseCode = "500", description = "服务器内部错误")
     })
-    public ResponseEntity<Page<PostDto>> list(
-            @Parameter(description = "分页参数") @ParameterObject Pageable pageable) {
-        return ResponseEntity.ok(postService.list(pageable));
+    public ResponseEntity<Page<?>> list(
+            @Parameter(description = "只返回指定字段，逗号分隔，如 id,title,slug；不传返回全部字段（正文 content 需显式指定，口令保护的文章不返回正文）") @RequestParam(name = "fields", required = false) String fields,
+            @Parameter(description = "分页参数") @ParameterObject Pageable pageable,
+            WebRequest webRequest) {
+        PostListVersion version = postVersionService.getListVersion();
+        String eTag = version.getETag();
+        long lastModified = version.getLastModified();
+        if (webRequest.checkNotModified(eTag, lastModified)) {
+            return null;
+        }
+        Page<?> page = StringUtils.hasText(fields)
+                ? postService.listFields(fields, pageable)
+                : postService.list(pageable);
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .eTag(eTag)
+                .lastModified(lastModified)
+                .body(page);
     }
 
     /**
      * 按分类查询文章
      * 
      * @param categoryId 分类ID
+     * @param includeChildren 是否包含所有子孙分类下的文章
+     * @param fields 需要返回的字段，为空返回全部字段
      * @param pageable 分页参数
      * @return 指定分类下的分页文章列表
      */
     @GetMapping("/category/{categoryId}")
-    @Operation(summary = "按分类查询文章", description = "根据分类ID查询该分类下的所有文章，支持分页")
+    @Operation(summary = "按分类查询文章", description = "根据分类ID查询该分类下的所有文章，支持分页；includeChildren=true 时包含整棵子分类树；fields 只查询并返回指定字段")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "查询成功", 
                     content = @Content(schema = @Schema(implementation = Page.class))),
         @ApiResponse(responseCode = "500", description = "服务器内部错误")
     })
-    public ResponseEntity<Page<PostDto>> listByCategory(
+    public ResponseEntity<Page<?>> listByCategory(
             @Parameter(description = "分类ID", required = true) @PathVariable("categoryId") Long categoryId, 
+            @Parameter(description = "是否包含子分类文章") @RequestParam(name = "includeChildren", defaultValue = "false") boolean includeChildren,
+            @Parameter(description = "只返回指定字段，逗号分隔，如 id,title,slug；不传返回全部字段（正文 content 需显式指定，口令保护的文章不返回正文）") @RequestParam(name = "fields", required = false) String fields,
             @Parameter(description = "分页参数") @ParameterObject Pageable pageable) {
+        if (StringUtils.hasText(fields)) {
+            return ResponseEntity.ok(postService.listByCategoryFields(categoryId, includeChildren, fields, pageable));
+        }
+        if (includeChildren) {
+            return ResponseEntity.ok(postService.listByCategoryTree(categoryId, pageable));
+        }
         return ResponseEntity.ok(postService.listByCategory(categoryId, pageable));
     }
 
+    /**
+     * 输出文章详情：普通文章直接写出缓存的响应字节，密码保护文章走令牌校验
+     * 
+     * @param id 文章ID
+     * @param request HTTP请求对象，用于获取访问令牌
+     * @param webRequest 当前请求，用于判断是否接受 gzip
+     * @return 文章详情响应
+     */
+    private ResponseEntity<?> servePost(Long id, HttpServletRequest request, WebRequest webRequest) {
+        Optional<CachedPostResponse> cached = postResponseCacheService.getOrLoad(id, () -> postService.getById(id));
+        if (cached.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        if (!cached.get().isProtectedPost()) {
+            recordView(id);
+            return cachedResponse(cached.get(), webRequest);
+        }
+        String token = getCookieValue(request, "pa_" + id);
+        ResponseEntity<?> response = postService.getById(id)
+                .map(post -> handleProtectedPost(id, post, token))
+                .orElse(ResponseEntity.notFound().build());
+        if (response.getStatusCode().is2xxSuccessful()) {
+            recordView(id);
+        }
+        return response;
+    }
+
+    /**
+     * 成功输出详情（含304）时计一次浏览，驱动热门排行
+     */
+    private void recordView(Long id) {
+        eventPublisher.publishEvent(new PostEngagementEvent(id, EngagementType.VIEW));
+    }
+
+    /**
+     * 按客户端的 Accept-Encoding 选择 gzip 或原始 JSON 字节
+     */
+    private ResponseEntity<byte[]> cachedResponse(CachedPostResponse cached, WebRequest webRequest) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .cacheControl(CacheControl.noCache())
+                .eTag(cached.getETag())
+                .lastModified(cached.getLastModified())
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (acceptsGzip(webRequest.getHeader(HttpHeaders.ACCEPT_ENCODING))) {
+            return builder.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(cached.getGzip());
+        }
+        return builder.body(cached.getJson());
+    }
+
+    private boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                return parts.length == 1 || !parts[1].trim().matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+
     /**
      * 处理密码保护文章的访问控制
      * 
@@ -236,7 +622,11 @@ public class PostController {
      */
     private ResponseEntity<PostDto> handleProtectedPost(Long postId, PostDto post, String token) {
         if (post.getVisibility() != Visibility.PASSWORD) {
-            return ResponseEntity.ok(post);
+            return ResponseEntity.ok()
+                    .cacheControl(CacheControl.noCache())
+                    .eTag(PostVersion.of(post).getETag())
+                    .lastModified(PostVersion.of(post).getLastModified())
+                    .body(post);
         }
         if (token == null) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
@@ -264,6 +654,31 @@ public class PostController {
         return ResponseEntity.ok(post);
     }
 
+    /**
+     * 请求是否携带了条件请求头，没有时不做额外的版本查询
+     */
+    private boolean hasValidators(WebRequest webRequest) {
+        return webRequest.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                || webRequest.getHeader(HttpHeaders.IF_MODIFIED_SINCE) != null;
+    }
+
+    /**
+     * 密码保护文章不走条件请求：必须先在 servePost 中校验访问令牌，校验通过才返回内容并计浏览
+     */
+    private boolean isProtected(PostVersion version) {
+        return version.getVisibility() == Visibility.PASSWORD;
+    }
+
+    /**
+     * 按版本信息判断文章是否未变化；命中时响应已被设置为304。调用前需先用 {@link #isProtected} 排除密码保护文章
+     * 
+     * @param version 文章版本信息
+     * @param webRequest 当前请求
+     * @return 未变化返回true
+     */
+    private boolean isNotModified(PostVersion version, WebRequest webRequest) {
+        return webRequest.checkNotModified(version.getETag(), version.getLastModified());
+    }
 
     /**
      * 从Cookie中获取指定名称的值
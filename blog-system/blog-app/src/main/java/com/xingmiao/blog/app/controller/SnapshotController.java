@@ -0,0 +1,182 @@
+package com.xingmiao.blog.app.controller;
+
+import com.xingmiao.blog.app.service.SnapshotService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * 静态快照控制器
+ * 
+ * <p>直接从磁盘输出预先生成的 JSON 快照，不访问数据库，用于应对流量高峰。</p>
+ * <p>主要功能包括：</p>
+ * <ul>
+ *   <li>首页、文章详情（按ID或别名）、分类文章列表的快照</li>
+ *   <li>使用 FileChannel.transferTo 输出文件内容</li>
+ *   <li>带 Cache-Control、ETag、Last-Modified，支持304</li>
+ *   <li>手动触发全量重新生成</li>
+ * </ul>
+ * 
+ * @author 星喵博客系统
+ * @version 1.0.0
+ * @since 2024-01-01
+ */
+@RestController
+@RequestMapping("/api/snapshots")
+@RequiredArgsConstructor
+@Tag(name = "静态快照", description = "已发布文章的静态快照接口")
+public class SnapshotController {
+
+    private final SnapshotService snapshotService;
+
+    @Value("${blog.snapshot.max-age:60}")
+    private long maxAgeSeconds;
+
+    /**
+     * 首页快照
+     * 
+     * @param webRequest 用于处理条件请求
+     * @param response HTTP响应，文件内容直接写入
+     */
+    @GetMapping("/home")
+    @Operation(summary = "首页快照", description = "最新发布的公开文章摘要")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "查询成功"),
+        @ApiResponse(responseCode = "304", description = "快照未变化"),
+        @ApiResponse(responseCode = "404", description = "快照尚未生成")
+    })
+    public void home(WebRequest webRequest, HttpServletResponse response) throws IOException {
+        sendSnapshot(snapshotService.getHomeFile(), webRequest, response);
+    }
+
+    /**
+     * 根据ID获取文章快照
+     * 
+     * @param id 文章ID
+     * @param webRequest 用于处理条件请求
+     * @param response HTTP响应，文件内容直接写入
+     */
+    @GetMapping("/posts/{id}")
+    @Operation(summary = "文章快照", description = "根据文章ID获取已发布公开文章的快照")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "查询成功"),
+        @ApiResponse(responseCode = "304", description = "快照未变化"),
+        @ApiResponse(responseCode = "404", description = "文章不存在或不是已发布的公开文章")
+    })
+    public void post(
+            @Parameter(description = "文章ID", required = true) @PathVariable("id") Long id,
+            WebRequest webRequest, HttpServletResponse response) throws IOException {
+        sendSnapshot(snapshotService.getPostFile(id), webRequest, response);
+    }
+
+    /**
+     * 根据别名获取文章快照
+     * 
+     * @param slug 文章别名
+     * @param webRequest 用于处理条件请求
+     * @param response HTTP响应，文件内容直接写入
+     */
+    @GetMapping("/posts/slug/{slug}")
+    @Operation(summary = "文章快照（别名）", description = "根据文章别名获取已发布公开文章的快照")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "查询成功"),
+        @ApiResponse(responseCode = "304", description = "快照未变化"),
+        @ApiResponse(responseCode = "404", description = "文章不存在或不是已发布的公开文章")
+    })
+    public void postBySlug(
+            @Parameter(description = "文章别名", required = true) @PathVariable("slug") String slug,
+            WebRequest webRequest, HttpServletResponse response) throws IOException {
+        sendSnapshot(snapshotService.getPostFileBySlug(slug), webRequest, response);
+    }
+
+    /**
+     * 分类文章列表快照
+     * 
+     * @param id 分类ID
+     * @param webRequest 用于处理条件请求
+     * @param response HTTP响应，文件内容直接写入
+     */
+    @GetMapping("/categories/{id}")
+    @Operation(summary = "分类快照", description = "分类信息及该分类下最新发布的公开文章摘要")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "查询成功"),
+        @ApiResponse(responseCode = "304", description = "快照未变化"),
+        @ApiResponse(responseCode = "404", description = "分类不存在或已停用")
+    })
+    public void category(
+            @Parameter(description = "分类ID", required = true) @PathVariable("id") Long id,
+            WebRequest webRequest, HttpServletResponse response) throws IOException {
+        sendSnapshot(snapshotService.getCategoryFile(id), webRequest, response);
+    }
+
+    /**
+     * 全量重新生成快照
+     * 
+     * @return 已受理返回202，生成过程异步执行
+     */
+    @PostMapping("/rebuild")
+    @Operation(summary = "重新生成快照", description = "异步全量重新生成所有快照并清理失效文件")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "202", description = "已开始生成")
+    })
+    public ResponseEntity<Void> rebuild() {
+        snapshotService.requestRebuild();
+        return ResponseEntity.status(HttpStatus.ACCEPTED).build();
+    }
+
+    /**
+     * 输出快照文件：先按文件修改时间和大小处理条件请求，再用 transferTo 把文件内容写入响应
+     * 
+     * @param file 快照文件，不存在时返回404
+     * @param webRequest 当前请求
+     * @param response HTTP响应
+     */
+    private void sendSnapshot(Optional<Path> file, WebRequest webRequest, HttpServletResponse response) throws IOException {
+        if (file.isEmpty()) {
+            response.sendError(HttpStatus.NOT_FOUND.value());
+            return;
+        }
+        // 快照以原子替换的方式更新，先打开文件，保证长度与输出内容一致
+        try (FileChannel channel = FileChannel.open(file.get(), StandardOpenOption.READ)) {
+            long size = channel.size();
+            long lastModified = Files.getLastModifiedTime(file.get()).toMillis();
+            String eTag = "s" + Long.toHexString(lastModified) + "-" + Long.toHexString(size);
+            if (webRequest.checkNotModified(eTag, lastModified)) {
+                return;
+            }
+
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.setHeader(HttpHeaders.CACHE_CONTROL,
+                    CacheControl.maxAge(Duration.ofSeconds(maxAgeSeconds)).cachePublic().getHeaderValue());
+            response.setContentLengthLong(size);
+
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = 0;
+            while (position < size) {
+                position += channel.transferTo(position, size - position, out);
+            }
+        }
+    }
+}
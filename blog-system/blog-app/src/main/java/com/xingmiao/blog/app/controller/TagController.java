@@ -1,8 +1,12 @@
 package com.xingmiao.blog.app.controller;
 
+import com.xingmiao.blog.common.dto.BatchItem;
+import com.xingmiao.blog.common.dto.PostDto;
+import com.xingmiao.blog.common.dto.TagCloudItem;
 import com.xingmiao.blog.common.dto.TagCreateRequest;
 import com.xingmiao.blog.common.dto.TagDto;
 import com.xingmiao.blog.common.dto.TagUpdateRequest;
+import com.xingmiao.blog.app.service.PostService;
 import com.xingmiao.blog.app.service.TagService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -17,6 +21,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.*;
 import org.springdoc.core.annotations.ParameterObject;
 
@@ -30,9 +35,11 @@ import java.util.List;
  * <ul>
  *   <li>创建、更新、删除标签</li>
  *   <li>根据ID、名称或别名查询标签</li>
- *   <li>分页查询标签列表</li>
+ *   <li>按ID批量查询标签</li>
+ *   <li>分页查询标签列表，支持 fields 参数只返回部分字段</li>
  *   <li>查询所有标签（不分页）</li>
  *   <li>检查标签名称或别名是否存在</li>
+ *   <li>按标签查询文章、加权标签云</li>
  * </ul>
  * 
  * @author 星喵博客系统
@@ -46,6 +53,7 @@ import java.util.List;
 public class TagController {
     
     private final TagService tagService;
+    private final PostService postService;
     
     /**
      * 创建新标签
@@ -111,6 +119,28 @@ public class TagController {
                 .orElse(ResponseEntity.notFound().build());
     }
     
+    /**
+     * 按ID批量查询标签
+     * 
+     * @param ids 标签ID列表，最多 {@link BatchItem#MAX_BATCH_SIZE} 个
+     * @return 按请求顺序排列的结果，不存在的ID标记为404
+     */
+    @GetMapping("/batch")
+    @Operation(summary = "批量查询标签", description = "一次 IN 查询按ID批量获取标签，按请求顺序返回，不存在的ID标记为404")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "查询成功", 
+                    content = @Content(schema = @Schema(implementation = List.class))),
+        @ApiResponse(responseCode = "400", description = "ID数量超过上限"),
+        @ApiResponse(responseCode = "500", description = "服务器内部错误")
+    })
+    public ResponseEntity<List<BatchItem<TagDto>>> getTagsByIds(
+            @Parameter(description = "标签ID列表，逗号分隔", required = true) @RequestParam("ids") List<Long> ids) {
+        if (ids.size() > BatchItem.MAX_BATCH_SIZE) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(BatchItem.inOrder(ids, tagService.getTagsByIds(ids)));
+    }
+    
     /**
      * 根据名称查询标签
      * 
@@ -156,18 +186,23 @@ public class TagController {
     /**
      * 分页查询标签列表
      * 
+     * @param fields 需要返回的字段，为空返回全部字段
      * @param pageable 分页参数
      * @return 分页的标签列表
      */
     @GetMapping
-    @Operation(summary = "分页查询标签列表", description = "分页查询所有标签，支持排序和分页")
+    @Operation(summary = "分页查询标签列表", description = "分页查询所有标签，支持排序和分页；fields 只查询并返回指定字段")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "查询成功", 
                     content = @Content(schema = @Schema(implementation = Page.class))),
         @ApiResponse(responseCode = "500", description = "服务器内部错误")
     })
-    public ResponseEntity<Page<TagDto>> getAllTags(
+    public ResponseEntity<Page<?>> getAllTags(
+            @Parameter(description = "只返回指定字段，逗号分隔，如 id,name,color；不传返回全部字段") @RequestParam(name = "fields", required = false) String fields,
             @Parameter(description = "分页参数") @ParameterObject Pageable pageable) {
+        if (StringUtils.hasText(fields)) {
+            return ResponseEntity.ok(tagService.getAllTagsFields(fields, pageable));
+        }
         Page<TagDto> tags = tagService.getAllTags(pageable);
         return ResponseEntity.ok(tags);
     }
@@ -189,6 +224,49 @@ public class TagController {
         return ResponseEntity.ok(tags);
     }
     
+    /**
+     * 加权标签云
+     * 
+     * @return 有文章的标签列表，按文章数降序，weight 为 1..5 的权重
+     */
+    @GetMapping("/cloud")
+    @Operation(summary = "标签云", description = "返回按文章数加权的标签云，结果缓存，仅在标签或文章标签变化时重新计算")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "查询成功", 
+                    content = @Content(schema = @Schema(implementation = List.class))),
+        @ApiResponse(responseCode = "500", description = "服务器内部错误")
+    })
+    public ResponseEntity<List<TagCloudItem>> getTagCloud() {
+        return ResponseEntity.ok(tagService.getTagCloud());
+    }
+    
+    /**
+     * 按标签别名分页查询文章
+     * 
+     * @param slug 标签别名
+     * @param fields 需要返回的文章字段，为空返回全部字段
+     * @param pageable 分页参数
+     * @return 该标签下的分页文章列表，标签不存在返回404
+     */
+    @GetMapping("/{slug}/posts")
+    @Operation(summary = "按标签查询文章", description = "根据标签别名分页查询关联的文章；fields 只查询并返回指定字段")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "查询成功", 
+                    content = @Content(schema = @Schema(implementation = Page.class))),
+        @ApiResponse(responseCode = "404", description = "标签不存在"),
+        @ApiResponse(responseCode = "500", description = "服务器内部错误")
+    })
+    public ResponseEntity<Page<?>> listPosts(
+            @Parameter(description = "标签别名", required = true) @PathVariable("slug") String slug,
+            @Parameter(description = "只返回指定字段，逗号分隔，如 id,title,slug；不传返回全部字段（正文 content 需显式指定，口令保护的文章不返回正文）") @RequestParam(name = "fields", required = false) String fields,
+            @Parameter(description = "分页参数") @ParameterObject Pageable pageable) {
+        return tagService.getTagBySlug(slug)
+                .<ResponseEntity<Page<?>>>map(tag -> ResponseEntity.ok(StringUtils.hasText(fields)
+                        ? postService.listByTagFields(tag.getId(), fields, pageable)
+                        : postService.listByTag(tag.getId(), pageable)))
+                .orElse(ResponseEntity.notFound().build());
+    }
+    
     /**
      * 删除标签
      * 
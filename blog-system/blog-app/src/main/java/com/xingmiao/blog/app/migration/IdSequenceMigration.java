@@ -0,0 +1,57 @@
+package com.xingmiao.blog.app.migration;
+
+import com.xingmiao.blog.common.domain.IdSequences;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 主键号段迁移：自增主键 → id_sequences 表生成器
+ *
+ * <p>切换前的数据由数据库自增分配ID，启动时把每个号段推进到对应表的最大ID，
+ * 避免新分配的ID与历史数据冲突。只会向前推进，可以重复执行。</p>
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class IdSequenceMigration {
+
+    private static final List<String> SEQUENCES = List.of(IdSequences.POSTS, IdSequences.POST_TAGS,
+            IdSequences.LIKES, IdSequences.COMMENTS, IdSequences.OPERATION_LOGS);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 依赖 EntityManagerFactory 保证在 Hibernate 建表之后执行
+     */
+    @SuppressWarnings("unused")
+    private final EntityManagerFactory entityManagerFactory;
+
+    @PostConstruct
+    public void migrate() {
+        for (String sequence : SEQUENCES) {
+            // 号段名即表名；Hibernate 在号段表中记录的是最后分配的值，因此推进到最大ID即可
+            Long maxId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM " + sequence, Long.class);
+            long required = maxId == null ? 0 : maxId;
+            List<Long> current = jdbcTemplate.queryForList(
+                    "SELECT " + IdSequences.VALUE_COLUMN + " FROM " + IdSequences.TABLE +
+                    " WHERE " + IdSequences.NAME_COLUMN + " = ?", Long.class, sequence);
+            if (current.isEmpty()) {
+                jdbcTemplate.update("INSERT INTO " + IdSequences.TABLE + " (" + IdSequences.NAME_COLUMN + ", " +
+                        IdSequences.VALUE_COLUMN + ") VALUES (?, ?)", sequence, required);
+            } else if (current.get(0) < required) {
+                jdbcTemplate.update("UPDATE " + IdSequences.TABLE + " SET " + IdSequences.VALUE_COLUMN + " = ? " +
+                        "WHERE " + IdSequences.NAME_COLUMN + " = ? AND " + IdSequences.VALUE_COLUMN + " < ?",
+                        required, sequence, required);
+            } else {
+                continue;
+            }
+            log.info("主键号段 {} 已推进到 {}", sequence, required);
+        }
+    }
+}
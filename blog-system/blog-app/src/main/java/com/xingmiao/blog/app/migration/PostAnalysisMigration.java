@@ -0,0 +1,79 @@
+package com.xingmiao.blog.app.migration;
+
+import com.xingmiao.blog.app.analysis.ContentAnalysis;
+import com.xingmiao.blog.app.analysis.ContentAnalyzer;
+import com.xingmiao.blog.app.analysis.TocJson;
+import com.xingmiao.blog.common.domain.converter.CompressedText;
+import com.xingmiao.blog.common.domain.enums.ContentType;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 正文分析补算：为升级前的文章计算字数、阅读时长和目录
+ *
+ * <p>新写入的文章在创建、修改时已完成分析；启动时找出 word_count 为空的文章分批补算，
+ * 直接按列更新，不改动版本号和更新时间；中途失败重启后从剩余的文章继续。</p>
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PostAnalysisMigration {
+
+    private static final int CHUNK_SIZE = 200;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 依赖 EntityManagerFactory 保证在 Hibernate 建表之后执行
+     */
+    @SuppressWarnings("unused")
+    private final EntityManagerFactory entityManagerFactory;
+
+    /**
+     * 正文需要先迁移到 post_contents
+     */
+    @SuppressWarnings("unused")
+    private final PostContentMigration postContentMigration;
+
+    @PostConstruct
+    public void migrate() {
+        List<Long> postIds = jdbcTemplate.queryForList("SELECT id FROM posts WHERE word_count IS NULL", Long.class);
+        for (int from = 0; from < postIds.size(); from += CHUNK_SIZE) {
+            analyze(postIds.subList(from, Math.min(from + CHUNK_SIZE, postIds.size())));
+        }
+        if (!postIds.isEmpty()) {
+            log.info("已补算正文字数、阅读时长和目录，文章数量:{}", postIds.size());
+        }
+    }
+
+    private void analyze(List<Long> postIds) {
+        String placeholders = String.join(",", Collections.nCopies(postIds.size(), "?"));
+        List<Object[]> postRows = new ArrayList<>();
+        List<Object[]> contentRows = new ArrayList<>();
+        jdbcTemplate.query(
+                "SELECT p.id, p.content_type, c.content, c.post_id FROM posts p " +
+                "LEFT JOIN post_contents c ON c.post_id = p.id WHERE p.id IN (" + placeholders + ")",
+                rs -> {
+                    long postId = rs.getLong(1);
+                    String contentType = rs.getString(2);
+                    byte[] content = rs.getBytes(3);
+                    ContentAnalysis analysis = ContentAnalyzer.analyze(content == null ? null : CompressedText.decode(content),
+                            contentType == null ? null : ContentType.valueOf(contentType));
+                    postRows.add(new Object[]{analysis.wordCount(), analysis.readingMinutes(), postId});
+                    if (rs.getObject(4) != null) {
+                        contentRows.add(new Object[]{TocJson.write(analysis.toc()), postId});
+                    }
+                },
+                postIds.toArray());
+        jdbcTemplate.batchUpdate("UPDATE post_contents SET toc = ? WHERE post_id = ?", contentRows);
+        jdbcTemplate.batchUpdate("UPDATE posts SET word_count = ?, reading_minutes = ? WHERE id = ?", postRows);
+    }
+}
@@ -0,0 +1,63 @@
+package com.xingmiao.blog.app.migration;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * 正文列类型迁移：post_contents.content 由 longtext 改为 longblob
+ *
+ * <p>正文按 {@link com.xingmiao.blog.common.domain.converter.CompressedText} 格式存储，开启压缩后可能是二进制。
+ * ddl-auto 不会修改已有列的类型；修改列类型会重建整张表，默认不在启动时执行，可以由运维手动执行：
+ * {@code ALTER TABLE post_contents MODIFY content LONGBLOB NOT NULL}，
+ * 或开启 blog.content-compression.migrate-column 在启动时检查到仍是文本列时修改。
+ * MySQL 转换时原样保留 UTF-8 字节，已有正文按明文格式继续可读，之后由后台任务逐步压缩。</p>
+ *
+ * <p>未压缩的正文是合法的 UTF-8，文本列可以继续使用；开启了压缩而列仍是文本列时拒绝启动，避免写入的压缩数据被按字符集转换损坏。</p>
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PostContentBlobMigration {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 依赖 EntityManagerFactory 保证在 Hibernate 建表之后执行
+     */
+    @SuppressWarnings("unused")
+    private final EntityManagerFactory entityManagerFactory;
+
+    /**
+     * 正文需要先迁移到 post_contents
+     */
+    @SuppressWarnings("unused")
+    private final PostContentMigration postContentMigration;
+
+    @Value("${blog.content-compression.migrate-column:false}")
+    private boolean migrateColumn;
+
+    @Value("${blog.content-compression.enabled:false}")
+    private boolean compressionEnabled;
+
+    @PostConstruct
+    public void migrate() {
+        String type = SchemaInspector.columnType(jdbcTemplate, "post_contents", "content");
+        if (type == null || type.contains("BLOB") || type.contains("BINARY")) {
+            return;
+        }
+        if (!migrateColumn) {
+            if (compressionEnabled) {
+                throw new RuntimeException("正文压缩需要 post_contents.content 为 LONGBLOB，当前为 " + type +
+                        "，请先修改列类型或开启 blog.content-compression.migrate-column");
+            }
+            return;
+        }
+        jdbcTemplate.execute("ALTER TABLE post_contents MODIFY content LONGBLOB NOT NULL");
+        log.info("post_contents.content 列已由 {} 改为 LONGBLOB", type);
+    }
+}
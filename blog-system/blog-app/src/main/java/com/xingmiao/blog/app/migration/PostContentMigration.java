@@ -0,0 +1,70 @@
+package com.xingmiao.blog.app.migration;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * 正文拆表迁移：posts.content → post_contents.content
+ *
+ * <p>ddl-auto 只会建出 post_contents 表，不会搬数据也不会删除旧列。启动时（表结构更新之后、接收请求之前）
+ * 检查 posts 上是否还有旧的 content 列：有则把尚未迁移的正文复制过去。复制按文章ID去重，可以重复执行。</p>
+ *
+ * <p>不支持新旧版本混跑的滚动升级：复制只补齐缺少的行，第一个新版本节点启动之后旧版本节点对正文的修改、
+ * 新建的文章都不会再同步过来，旧版本节点也看不到新版本节点的修改。升级前须先停止全部旧版本节点。</p>
+ *
+ * <p>旧列默认保留作为备份，不做破坏性变更；新版本不再写入该列，所以把它放宽为可空。
+ * 确认数据无误后开启 blog.migration.drop-legacy-columns，下次启动时核对每篇有正文的文章都已有
+ * post_contents 行，核对通过才删除旧列，否则保留旧列并输出警告。</p>
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PostContentMigration {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 依赖 EntityManagerFactory 保证在 Hibernate 建表之后执行
+     */
+    @SuppressWarnings("unused")
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Value("${blog.migration.drop-legacy-columns:false}")
+    private boolean dropLegacyColumns;
+
+    @PostConstruct
+    public void migrate() {
+        if (!SchemaInspector.columnExists(jdbcTemplate, "posts", "content")) {
+            return;
+        }
+        int copied = jdbcTemplate.update(
+                "INSERT INTO post_contents (post_id, content) " +
+                "SELECT p.id, p.content FROM posts p " +
+                "WHERE p.content IS NOT NULL " +
+                "AND NOT EXISTS (SELECT 1 FROM post_contents c WHERE c.post_id = p.id)");
+        if (copied > 0) {
+            log.info("文章正文已复制到 post_contents，复制 {} 条", copied);
+        }
+        if (!dropLegacyColumns) {
+            if (!SchemaInspector.columnNullable(jdbcTemplate, "posts", "content")) {
+                jdbcTemplate.execute("ALTER TABLE posts MODIFY content LONGTEXT NULL");
+                log.info("posts.content 列已放宽为可空，删除旧列需开启 blog.migration.drop-legacy-columns");
+            }
+            return;
+        }
+        Long missing = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM posts p WHERE p.content IS NOT NULL " +
+                "AND NOT EXISTS (SELECT 1 FROM post_contents c WHERE c.post_id = p.id)", Long.class);
+        if (missing == null || missing > 0) {
+            log.warn("仍有 {} 篇文章的正文不在 post_contents 中，保留 posts.content 列", missing);
+            return;
+        }
+        jdbcTemplate.execute("ALTER TABLE posts DROP COLUMN content");
+        log.info("正文已全部迁移到 post_contents，已删除 posts.content 列");
+    }
+}
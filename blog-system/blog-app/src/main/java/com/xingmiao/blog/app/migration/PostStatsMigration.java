@@ -0,0 +1,74 @@
+package com.xingmiao.blog.app.migration;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 计数拆表迁移：posts.view_count / like_count / comment_count → post_stats
+ *
+ * <p>启动时为缺少计数行的文章补一行：旧列还在时取旧列上的计数，否则取 0，保证点赞等原子增减语句总能命中一行。
+ * 按文章ID去重，可以重复执行。</p>
+ *
+ * <p>不支持新旧版本混跑的滚动升级：计数行只在缺少时补建，补建之后旧版本节点写入 posts 旧列的浏览、点赞
+ * 不会再计入 post_stats。升级前须先停止全部旧版本节点。</p>
+ *
+ * <p>旧列默认保留作为备份（均可空，新版本不再写入），开启 blog.migration.drop-legacy-columns 后，
+ * 核对每篇文章都已有计数行才删除旧列，否则保留旧列并输出警告。</p>
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PostStatsMigration {
+
+    private static final List<String> LEGACY_COLUMNS = List.of("view_count", "like_count", "comment_count");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 依赖 EntityManagerFactory 保证在 Hibernate 建表之后执行
+     */
+    @SuppressWarnings("unused")
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Value("${blog.migration.drop-legacy-columns:false}")
+    private boolean dropLegacyColumns;
+
+    @PostConstruct
+    public void migrate() {
+        List<String> legacy = LEGACY_COLUMNS.stream()
+                .filter(column -> SchemaInspector.columnExists(jdbcTemplate, "posts", column))
+                .toList();
+        String select = LEGACY_COLUMNS.stream()
+                .map(column -> legacy.contains(column) ? "COALESCE(p." + column + ", 0)" : "0")
+                .reduce((a, b) -> a + ", " + b)
+                .orElseThrow();
+        int inserted = jdbcTemplate.update(
+                "INSERT INTO post_stats (post_id, view_count, like_count, comment_count) " +
+                "SELECT p.id, " + select + " FROM posts p " +
+                "WHERE NOT EXISTS (SELECT 1 FROM post_stats s WHERE s.post_id = p.id)");
+        if (inserted > 0) {
+            log.info("文章计数已迁移到 post_stats，补建 {} 行", inserted);
+        }
+        if (legacy.isEmpty() || !dropLegacyColumns) {
+            return;
+        }
+        Long missing = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM posts p WHERE NOT EXISTS (SELECT 1 FROM post_stats s WHERE s.post_id = p.id)",
+                Long.class);
+        if (missing == null || missing > 0) {
+            log.warn("仍有 {} 篇文章没有 post_stats 计数行，保留 posts 上的计数旧列:{}", missing, legacy);
+            return;
+        }
+        for (String column : legacy) {
+            jdbcTemplate.execute("ALTER TABLE posts DROP COLUMN " + column);
+        }
+        log.info("计数已全部迁移到 post_stats，已删除 posts 上的旧列:{}", legacy);
+    }
+}
@@ -0,0 +1,54 @@
+package com.xingmiao.blog.app.migration;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+
+/**
+ * 迁移用的表结构检查
+ */
+final class SchemaInspector {
+
+    private SchemaInspector() {
+    }
+
+    /**
+     * 当前库中指定表是否存在指定列
+     */
+    static boolean columnExists(JdbcTemplate jdbcTemplate, String table, String column) {
+        Boolean exists = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+            DatabaseMetaData metaData = connection.getMetaData();
+            try (ResultSet rs = metaData.getColumns(connection.getCatalog(), connection.getSchema(), table, column)) {
+                return rs.next();
+            }
+        });
+        return Boolean.TRUE.equals(exists);
+    }
+
+    /**
+     * 指定列的数据库类型名（大写），列不存在时返回 null
+     */
+    static String columnType(JdbcTemplate jdbcTemplate, String table, String column) {
+        return jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+            DatabaseMetaData metaData = connection.getMetaData();
+            try (ResultSet rs = metaData.getColumns(connection.getCatalog(), connection.getSchema(), table, column)) {
+                return rs.next() ? rs.getString("TYPE_NAME").toUpperCase() : null;
+            }
+        });
+    }
+
+    /**
+     * 指定列是否允许 NULL，列不存在时返回 false
+     */
+    static boolean columnNullable(JdbcTemplate jdbcTemplate, String table, String column) {
+        Boolean nullable = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+            DatabaseMetaData metaData = connection.getMetaData();
+            try (ResultSet rs = metaData.getColumns(connection.getCatalog(), connection.getSchema(), table, column)) {
+                return rs.next() && rs.getInt("NULLABLE") == DatabaseMetaData.columnNullable;
+            }
+        });
+        return Boolean.TRUE.equals(nullable);
+    }
+}
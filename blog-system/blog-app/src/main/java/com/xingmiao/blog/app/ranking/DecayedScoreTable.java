@@ -0,0 +1,226 @@
+package com.xingmiao.blog.app.ranking;
+
+/**
+ * 指数衰减分数表：文章ID → (分类ID, 分数)
+ *
+ * <p>以 long / double 原始数组做开放寻址（线性探测），不为每篇文章装箱分配对象。
+ * 分数按「相对基准时间放大」的形式存储：t 时刻加 w 记为 w·e^{λ(t−t0)}，读取当前值时乘以 e^{−λ(now−t0)}。
+ * 所有文章按同一比例衰减，相对顺序不随时间变化，因此只有分数变化时才需要调整排行。
+ * 放大倍数过大时整体重新定基，并顺带丢弃已衰减到可以忽略的文章。</p>
+ *
+ * <p>非线程安全，由调用方加锁。文章ID必须为正数，0 表示空槽。</p>
+ */
+public final class DecayedScoreTable {
+
+    /**
+     * 放大指数超过该值时重新定基（e^20 ≈ 4.9e8，远未到 double 精度上限）
+     */
+    private static final double REBASE_EXPONENT = 20;
+
+    private static final int MIN_CAPACITY = 64;
+
+    private final double lambda;
+    private final double pruneBelow;
+    private long baseTime;
+
+    private long[] keys;
+    private long[] categories;
+    private double[] scores;
+    private int size;
+
+    /**
+     * @param halfLifeMillis 分数衰减一半所需的毫秒数
+     * @param pruneBelow 重新定基时丢弃当前分数低于该值的文章
+     * @param baseTime 基准时间（毫秒）
+     */
+    public DecayedScoreTable(long halfLifeMillis, double pruneBelow, long baseTime) {
+        this.lambda = Math.log(2) / halfLifeMillis;
+        this.pruneBelow = pruneBelow;
+        this.baseTime = baseTime;
+        allocate(MIN_CAPACITY);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long baseTime() {
+        return baseTime;
+    }
+
+    public boolean contains(long postId) {
+        return keys[slot(postId)] == postId;
+    }
+
+    /**
+     * 文章所属分类，未收录时返回 -1
+     */
+    public long categoryOf(long postId) {
+        int slot = slot(postId);
+        return keys[slot] == postId ? categories[slot] : -1;
+    }
+
+    /**
+     * 存储值（放大后的分数），只用于比较；未收录时返回 0
+     */
+    public double storedScore(long postId) {
+        int slot = slot(postId);
+        return keys[slot] == postId ? scores[slot] : 0;
+    }
+
+    /**
+     * 将存储值换算为 now 时刻的实际分数
+     */
+    public double decay(double storedScore, long now) {
+        return storedScore * Math.exp(-lambda * (now - baseTime));
+    }
+
+    /**
+     * 在 now 时刻给文章加分（负数为减分，最低到 0），返回新的存储值
+     */
+    public double add(long postId, long categoryId, double weight, long now) {
+        int slot = slot(postId);
+        if (keys[slot] != postId) {
+            if ((size + 1) * 4 > keys.length * 3) {
+                resize(keys.length * 2);
+                slot = slot(postId);
+            }
+            keys[slot] = postId;
+            scores[slot] = 0;
+            size++;
+        }
+        categories[slot] = categoryId;
+        scores[slot] = Math.max(0, scores[slot] + weight * Math.exp(lambda * (now - baseTime)));
+        return scores[slot];
+    }
+
+    /**
+     * 直接写入存储值，用于从检查点恢复
+     */
+    public void put(long postId, long categoryId, double storedScore) {
+        add(postId, categoryId, 0, baseTime);
+        int slot = slot(postId);
+        scores[slot] = storedScore;
+    }
+
+    public void setCategory(long postId, long categoryId) {
+        int slot = slot(postId);
+        if (keys[slot] == postId) {
+            categories[slot] = categoryId;
+        }
+    }
+
+    public void remove(long postId) {
+        int slot = slot(postId);
+        if (keys[slot] != postId) {
+            return;
+        }
+        keys[slot] = 0;
+        size--;
+        // 回移删除：把探测链上后续的元素前移，保持线性探测不断链
+        int mask = keys.length - 1;
+        int next = (slot + 1) & mask;
+        while (keys[next] != 0) {
+            int home = hash(keys[next]) & mask;
+            if (((next - home) & mask) >= ((next - slot) & mask)) {
+                keys[slot] = keys[next];
+                categories[slot] = categories[next];
+                scores[slot] = scores[next];
+                keys[next] = 0;
+                slot = next;
+            }
+            next = (next + 1) & mask;
+        }
+    }
+
+    /**
+     * 放大倍数过大时把所有分数换算到 now 为新基准，并丢弃低于阈值的文章
+     *
+     * @return 是否发生了重新定基（存储值整体改变，调用方需重建排行）
+     */
+    public boolean rebaseIfNeeded(long now) {
+        if (lambda * (now - baseTime) < REBASE_EXPONENT) {
+            return false;
+        }
+        double factor = Math.exp(-lambda * (now - baseTime));
+        long[] oldKeys = keys;
+        long[] oldCategories = categories;
+        double[] oldScores = scores;
+        int live = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != 0 && oldScores[i] * factor >= pruneBelow) {
+                live++;
+            }
+        }
+        allocate(capacityFor(live));
+        baseTime = now;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != 0 && oldScores[i] * factor >= pruneBelow) {
+                insert(oldKeys[i], oldCategories[i], oldScores[i] * factor);
+            }
+        }
+        return true;
+    }
+
+    public void forEach(Entry consumer) {
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != 0) {
+                consumer.accept(keys[i], categories[i], scores[i]);
+            }
+        }
+    }
+
+    @FunctionalInterface
+    public interface Entry {
+        void accept(long postId, long categoryId, double storedScore);
+    }
+
+    private int slot(long postId) {
+        int mask = keys.length - 1;
+        int slot = hash(postId) & mask;
+        while (keys[slot] != 0 && keys[slot] != postId) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private static int hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    private void resize(int capacity) {
+        long[] oldKeys = keys;
+        long[] oldCategories = categories;
+        double[] oldScores = scores;
+        allocate(capacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != 0) {
+                insert(oldKeys[i], oldCategories[i], oldScores[i]);
+            }
+        }
+    }
+
+    private void insert(long postId, long categoryId, double storedScore) {
+        int slot = slot(postId);
+        keys[slot] = postId;
+        categories[slot] = categoryId;
+        scores[slot] = storedScore;
+        size++;
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        categories = new long[capacity];
+        scores = new double[capacity];
+        size = 0;
+    }
+
+    private static int capacityFor(int entries) {
+        int capacity = MIN_CAPACITY;
+        while (capacity * 3 < entries * 4) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+}
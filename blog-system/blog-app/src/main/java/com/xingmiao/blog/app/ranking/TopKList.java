@@ -0,0 +1,81 @@
+package com.xingmiao.blog.app.ranking;
+
+import java.util.Arrays;
+
+/**
+ * 按分数降序保存的前 K 名，更新和读取都是 O(K)
+ *
+ * <p>只在分数变化时调整：已在榜内的重新定位，不在榜内的分数超过末位才挤入。
+ * 榜内文章分数下降（取消点赞）时不会补入榜外文章，排行在这种情况下是近似的。非线程安全。</p>
+ */
+public final class TopKList {
+
+    private final long[] ids;
+    private final double[] scores;
+    private int size;
+
+    public TopKList(int capacity) {
+        this.ids = new long[capacity];
+        this.scores = new double[capacity];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long idAt(int index) {
+        return ids[index];
+    }
+
+    public double scoreAt(int index) {
+        return scores[index];
+    }
+
+    public void update(long id, double score) {
+        int index = indexOf(id);
+        if (index >= 0) {
+            removeAt(index);
+        } else if (size == ids.length && score <= scores[size - 1]) {
+            return;
+        }
+        if (size == ids.length) {
+            size--;
+        }
+        int position = size;
+        while (position > 0 && scores[position - 1] < score) {
+            ids[position] = ids[position - 1];
+            scores[position] = scores[position - 1];
+            position--;
+        }
+        ids[position] = id;
+        scores[position] = score;
+        size++;
+    }
+
+    public void remove(long id) {
+        int index = indexOf(id);
+        if (index >= 0) {
+            removeAt(index);
+        }
+    }
+
+    public void clear() {
+        Arrays.fill(ids, 0, size, 0);
+        size = 0;
+    }
+
+    private int indexOf(long id) {
+        for (int i = 0; i < size; i++) {
+            if (ids[i] == id) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void removeAt(int index) {
+        System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+        System.arraycopy(scores, index + 1, scores, index, size - index - 1);
+        size--;
+    }
+}
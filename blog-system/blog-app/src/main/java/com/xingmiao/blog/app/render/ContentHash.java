@@ -0,0 +1,24 @@
+package com.xingmiao.blog.app.render;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * 正文摘要：SHA-256 的十六进制表示，写入正文时计算并保存（post_contents.content_hash）
+ */
+public final class ContentHash {
+
+    private ContentHash() {
+    }
+
+    public static String of(String content) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest((content == null ? "" : content).getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
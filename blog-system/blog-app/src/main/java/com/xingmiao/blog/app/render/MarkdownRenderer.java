@@ -0,0 +1,120 @@
+package com.xingmiao.blog.app.render;
+
+import com.xingmiao.blog.app.analysis.HeadingAnchors;
+import org.commonmark.Extension;
+import org.commonmark.ext.gfm.tables.TablesExtension;
+import org.commonmark.node.AbstractVisitor;
+import org.commonmark.node.Code;
+import org.commonmark.node.Heading;
+import org.commonmark.node.Node;
+import org.commonmark.node.Text;
+import org.commonmark.parser.Parser;
+import org.commonmark.renderer.html.AttributeProvider;
+import org.commonmark.renderer.html.HtmlRenderer;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.jsoup.safety.Safelist;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Markdown → 清洗后的 HTML
+ *
+ * <p>CommonMark + GFM 表格；标题按 {@link HeadingAnchors} 生成 id。写入时的目录也从 {@link #parse} 得到的语法树上
+ * 按相同顺序提取，引用、列表中的标题和 Setext 标题与渲染结果一一对应。
+ * 正文允许内嵌 HTML，渲染结果再经白名单清洗，去掉脚本、事件属性和 javascript: 链接。</p>
+ *
+ * <p>渲染规则（扩展、白名单、锚点规则）有变化时递增 {@link #VERSION}，启动后后台任务会重新渲染全部文章。
+ * 解析器和渲染器线程安全，可以并发调用。</p>
+ */
+public final class MarkdownRenderer {
+
+    /**
+     * 渲染规则版本，保存在渲染结果上
+     */
+    public static final int VERSION = 1;
+
+    private static final List<Extension> EXTENSIONS = List.of(TablesExtension.create());
+
+    private static final Parser PARSER = Parser.builder().extensions(EXTENSIONS).build();
+
+    private static final HtmlRenderer RENDERER = HtmlRenderer.builder()
+            .extensions(EXTENSIONS)
+            .attributeProviderFactory(context -> new HeadingIdProvider())
+            .build();
+
+    private static final Safelist SAFELIST = Safelist.relaxed()
+            .addAttributes("h1", "id")
+            .addAttributes("h2", "id")
+            .addAttributes("h3", "id")
+            .addAttributes("h4", "id")
+            .addAttributes("h5", "id")
+            .addAttributes("h6", "id")
+            .addAttributes("code", "class")
+            .addAttributes("th", "align")
+            .addAttributes("td", "align")
+            .preserveRelativeLinks(true);
+
+    /**
+     * 清洗时用于校验相对链接的占位地址，输出中相对链接保持原样
+     */
+    private static final String BASE_URI = "https://localhost/";
+
+    private static final Document.OutputSettings OUTPUT = new Document.OutputSettings().prettyPrint(false);
+
+    private MarkdownRenderer() {
+    }
+
+    public static String render(String markdown) {
+        if (markdown == null || markdown.isEmpty()) {
+            return "";
+        }
+        String html = RENDERER.render(PARSER.parse(markdown));
+        return Jsoup.clean(html, BASE_URI, SAFELIST, OUTPUT);
+    }
+
+    /**
+     * 解析为语法树，与渲染使用同一个解析器
+     */
+    public static Node parse(String markdown) {
+        return PARSER.parse(markdown);
+    }
+
+    /**
+     * 标题的纯文字（去掉强调、链接等标记），标题 id 和目录条目都按它生成
+     */
+    public static String headingText(Node heading) {
+        StringBuilder text = new StringBuilder();
+        heading.accept(new AbstractVisitor() {
+            @Override
+            public void visit(Text node) {
+                text.append(node.getLiteral());
+            }
+
+            @Override
+            public void visit(Code node) {
+                text.append(node.getLiteral());
+            }
+        });
+        return text.toString().strip();
+    }
+
+    /**
+     * 每次渲染一个实例，按标题出现顺序生成不重复的 id
+     */
+    private static final class HeadingIdProvider implements AttributeProvider {
+
+        private final HeadingAnchors anchors = new HeadingAnchors();
+
+        @Override
+        public void setAttributes(Node node, String tagName, Map<String, String> attributes) {
+            if (node instanceof Heading) {
+                String text = headingText(node);
+                if (!text.isEmpty()) {
+                    attributes.put("id", anchors.next(text));
+                }
+            }
+        }
+    }
+}
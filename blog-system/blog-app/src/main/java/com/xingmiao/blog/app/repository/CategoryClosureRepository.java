@@ -0,0 +1,52 @@
+package com.xingmiao.blog.app.repository;
+
+import com.xingmiao.blog.common.domain.entity.CategoryClosure;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface CategoryClosureRepository extends JpaRepository<CategoryClosure, Long> {
+
+    /**
+     * 查询子树中所有分类ID（包含自身）
+     */
+    @Query("SELECT c.descendantId FROM CategoryClosure c WHERE c.ancestorId = :ancestorId")
+    List<Long> findDescendantIds(@Param("ancestorId") Long ancestorId);
+
+    /**
+     * 新建分类时复制父节点的全部祖先路径（自身路径 depth=0 由调用方单独写入）
+     */
+    @Modifying
+    @Query(value = "INSERT INTO category_closures (ancestor_id, descendant_id, depth) " +
+            "SELECT ancestor_id, :id, depth + 1 FROM category_closures WHERE descendant_id = :parentId",
+           nativeQuery = true)
+    int insertAncestorPaths(@Param("id") Long id, @Param("parentId") Long parentId);
+
+    /**
+     * 断开子树与其外部祖先的路径（子树内部路径保持不变）
+     */
+    @Modifying
+    @Query("DELETE FROM CategoryClosure c WHERE c.descendantId IN :subtree AND c.ancestorId NOT IN :subtree")
+    int detachSubtree(@Param("subtree") Collection<Long> subtree);
+
+    /**
+     * 将子树挂到新父节点下：新父节点的每个祖先 × 子树的每个节点
+     */
+    @Modifying
+    @Query(value = "INSERT INTO category_closures (ancestor_id, descendant_id, depth) " +
+            "SELECT sup.ancestor_id, sub.descendant_id, sup.depth + sub.depth + 1 " +
+            "FROM category_closures sup JOIN category_closures sub ON sub.ancestor_id = :id " +
+            "WHERE sup.descendant_id = :parentId", nativeQuery = true)
+    int attachSubtree(@Param("id") Long id, @Param("parentId") Long parentId);
+
+    /**
+     * 删除节点自身的全部路径；调用前需先用 {@link #detachSubtree} 断开子树与外部祖先的路径
+     */
+    @Modifying
+    @Query("DELETE FROM CategoryClosure c WHERE c.ancestorId = :id OR c.descendantId = :id")
+    int deleteNode(@Param("id") Long id);
+}
@@ -1,17 +1,93 @@
 package com.xingmiao.blog.app.repository;
 
+import com.xingmiao.blog.common.domain.CacheRegions;
 import com.xingmiao.blog.common.domain.entity.Category;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface CategoryRepository extends JpaRepository<Category, Long> {
+
+    /**
+     * 按自然键查询走查询缓存，结果实体从二级缓存组装
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Category> findByName(String name);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Category> findBySlug(String slug);
+
     boolean existsByName(String name);
     boolean existsBySlug(String slug);
+
+    /**
+     * 列表查询一并加载父分类，关闭 open-in-view 后不再逐条懒加载
+     */
+    @EntityGraph(attributePaths = "parent")
     List<Category> findByParent_Id(Long parentId);
-}
 
+    @Override
+    @EntityGraph(attributePaths = "parent")
+    List<Category> findAll();
+
+    @Override
+    @EntityGraph(attributePaths = "parent")
+    Page<Category> findAll(Pageable pageable);
 
+    @Override
+    @EntityGraph(attributePaths = "parent")
+    List<Category> findAllById(Iterable<Long> ids);
+
+    /**
+     * 子树整体移动后批量调整层级
+     */
+    @Modifying
+    @Query("UPDATE Category c SET c.level = c.level + :delta WHERE c.id IN :ids")
+    int shiftLevel(@Param("ids") Collection<Long> ids, @Param("delta") int delta);
+
+    /**
+     * 原子增减文章计数
+     *
+     * <p>用原生语句并声明独立的查询空间：JPQL 批量更新会清空整个分类缓存区域，
+     * 这里只由调用方失效受影响的分类。</p>
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = CacheRegions.POST_COUNT_SPACE))
+    @Query(value = "UPDATE categories SET post_count = COALESCE(post_count, 0) + :delta WHERE id = :id",
+           nativeQuery = true)
+    int incrementPostCount(@Param("id") Long id, @Param("delta") int delta);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = CacheRegions.POST_COUNT_SPACE))
+    @Query(value = "UPDATE categories SET post_count = :postCount WHERE id = :id", nativeQuery = true)
+    int updatePostCount(@Param("id") Long id, @Param("postCount") int postCount);
+
+    /**
+     * 全部分类ID，批量导入时预加载用于校验
+     */
+    @Query("SELECT c.id FROM Category c")
+    List<Long> findAllIds();
+
+    /**
+     * 变更流：按 (updatedAt, id) 顺序读取游标之后、截止时间之前变更过的分类，走 idx_categories_updated_at_id
+     *
+     * @return [id, updatedAt]
+     */
+    @Query("SELECT c.id, c.updatedAt FROM Category c " +
+            "WHERE (c.updatedAt > :after OR (c.updatedAt = :after AND c.id > :afterId)) AND c.updatedAt <= :until " +
+            "ORDER BY c.updatedAt, c.id")
+    List<Object[]> findChangedAfter(@Param("after") LocalDateTime after, @Param("afterId") Long afterId,
+                                    @Param("until") LocalDateTime until, Pageable pageable);
+}
@@ -0,0 +1,140 @@
+package com.xingmiao.blog.app.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 稀疏字段查询（?fields=）
+ *
+ * <p>只 SELECT 请求的列，结果以 DTO 属性名为键的 Map 返回，避免列表查询读出 longtext 等大字段。
+ * 字段白名单由调用方以「DTO属性名 → 实体属性路径」的形式给出，如 {@code categoryId → category.id}。</p>
+ */
+@Repository
+public class FieldProjectionRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * 解析 fields 参数，按白名单过滤未知字段并始终包含 id；参数为空时返回 null 表示不做裁剪
+     */
+    public static Set<String> parseFields(String fields, Set<String> allowed) {
+        if (fields == null || fields.isBlank()) {
+            return null;
+        }
+        Set<String> selected = new LinkedHashSet<>();
+        selected.add("id");
+        Arrays.stream(fields.split(","))
+                .map(String::trim)
+                .filter(allowed::contains)
+                .forEach(selected::add);
+        return selected;
+    }
+
+    /**
+     * 按 fields 参数从白名单中挑出要查询的「属性名 → 路径」；参数为空时返回全部
+     */
+    public static Map<String, String> selectPaths(String fields, Map<String, String> fieldPaths) {
+        Set<String> selected = parseFields(fields, fieldPaths.keySet());
+        if (selected == null) {
+            return fieldPaths;
+        }
+        Map<String, String> paths = new LinkedHashMap<>();
+        for (String field : selected) {
+            paths.put(field, fieldPaths.get(field));
+        }
+        return paths;
+    }
+
+    public <T> List<Map<String, Object>> findFields(Class<T> type, Map<String, String> fieldPaths,
+                                                    Specification<T> spec, Sort sort) {
+        return buildQuery(type, fieldPaths, spec, sort).getResultList().stream()
+                .map(tuple -> toMap(tuple, fieldPaths))
+                .collect(Collectors.toList());
+    }
+
+    public <T> Page<Map<String, Object>> findFields(Class<T> type, Map<String, String> fieldPaths,
+                                                    Specification<T> spec, Pageable pageable) {
+        TypedQuery<Tuple> query = buildQuery(type, fieldPaths, spec, pageable.getSort());
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize());
+        }
+        List<Map<String, Object>> content = query.getResultList().stream()
+                .map(tuple -> toMap(tuple, fieldPaths))
+                .collect(Collectors.toList());
+        return new PageImpl<>(content, pageable, count(type, spec));
+    }
+
+    private <T> TypedQuery<Tuple> buildQuery(Class<T> type, Map<String, String> fieldPaths,
+                                             Specification<T> spec, Sort sort) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<T> root = query.from(type);
+
+        List<Selection<?>> selections = new ArrayList<>();
+        fieldPaths.forEach((field, path) -> selections.add(resolve(root, path).alias(field)));
+        query.multiselect(selections);
+
+        Predicate predicate = spec == null ? null : spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        if (sort != null && sort.isSorted()) {
+            query.orderBy(QueryUtils.toOrders(sort, root, cb));
+        }
+        return entityManager.createQuery(query);
+    }
+
+    private <T> long count(Class<T> type, Specification<T> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<T> root = query.from(type);
+        query.select(cb.count(root));
+        Predicate predicate = spec == null ? null : spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    private Path<?> resolve(Root<?> root, String path) {
+        Path<?> current = root;
+        for (String segment : path.split("\\.")) {
+            current = current.get(segment);
+        }
+        return current;
+    }
+
+    private Map<String, Object> toMap(Tuple tuple, Map<String, String> fieldPaths) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        for (String field : fieldPaths.keySet()) {
+            row.put(field, tuple.get(field));
+        }
+        return row;
+    }
+}
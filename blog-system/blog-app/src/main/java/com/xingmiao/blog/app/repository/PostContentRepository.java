@@ -0,0 +1,69 @@
+package com.xingmiao.blog.app.repository;
+
+import com.xingmiao.blog.common.domain.entity.PostContent;
+import com.xingmiao.blog.common.domain.enums.Visibility;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface PostContentRepository extends JpaRepository<PostContent, Long> {
+
+    @Query("SELECT c.content FROM PostContent c WHERE c.postId = :postId")
+    Optional<String> findContentByPostId(@Param("postId") Long postId);
+
+    /**
+     * 详情所需的正文、目录和渲染结果，返回 [content, toc, contentHash, PostRender（可为 null）]，没有正文记录时为空列表
+     */
+    @Query("SELECT c.content, c.toc, c.contentHash, r FROM PostContent c LEFT JOIN PostRender r ON r.postId = c.postId " +
+           "WHERE c.postId = :postId")
+    List<Object[]> findBodyByPostId(@Param("postId") Long postId);
+
+    /**
+     * 批量查询详情所需的正文、目录和渲染结果，返回 [postId, content, toc, contentHash, PostRender（可为 null）]
+     */
+    @Query("SELECT c.postId, c.content, c.toc, c.contentHash, r FROM PostContent c LEFT JOIN PostRender r ON r.postId = c.postId " +
+           "WHERE c.postId IN :postIds")
+    List<Object[]> findBodiesByPostIds(@Param("postIds") Collection<Long> postIds);
+
+    /**
+     * 批量查询多篇文章的正文，返回 [postId, content, toc]
+     */
+    @Query("SELECT c.postId, c.content, c.toc FROM PostContent c WHERE c.postId IN :postIds")
+    List<Object[]> findContentsByPostIds(@Param("postIds") Collection<Long> postIds);
+
+    /**
+     * 稀疏字段查询批量补齐正文，返回 [postId, content]；指定可见性（口令保护）的文章不返回正文
+     */
+    @Query("SELECT c.postId, c.content FROM PostContent c JOIN c.post p " +
+           "WHERE c.postId IN :postIds AND p.visibility <> :hidden")
+    List<Object[]> findVisibleContentsByPostIds(@Param("postIds") Collection<Long> postIds,
+                                                @Param("hidden") Visibility hidden);
+
+    /**
+     * 未删除文章的正文指纹 [postId, simhash]
+     */
+    @Query("SELECT c.postId, c.simhash FROM PostContent c JOIN c.post p WHERE p.deletedAt IS NULL AND c.simhash IS NOT NULL")
+    List<Object[]> findAllSimHashes();
+
+    /**
+     * 批量查询未删除文章的正文指纹 [postId, simhash]，已删除或不存在的文章不返回
+     */
+    @Query("SELECT c.postId, c.simhash FROM PostContent c JOIN c.post p WHERE c.postId IN :postIds AND p.deletedAt IS NULL")
+    List<Object[]> findSimHashes(@Param("postIds") Collection<Long> postIds);
+
+    @Query("SELECT c.postId FROM PostContent c WHERE c.simhash IS NULL")
+    List<Long> findIdsWithoutSimHash();
+
+    @Modifying
+    @Query("UPDATE PostContent c SET c.simhash = :simhash WHERE c.postId = :postId")
+    int updateSimHash(@Param("postId") Long postId, @Param("simhash") Long simhash);
+
+    @Modifying
+    @Query("UPDATE PostContent c SET c.contentHash = :contentHash WHERE c.postId = :postId")
+    int updateContentHash(@Param("postId") Long postId, @Param("contentHash") String contentHash);
+}
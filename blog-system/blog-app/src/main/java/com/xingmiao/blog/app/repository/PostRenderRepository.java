@@ -0,0 +1,34 @@
+package com.xingmiao.blog.app.repository;
+
+import com.xingmiao.blog.common.domain.entity.PostRender;
+import com.xingmiao.blog.common.domain.enums.ContentType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface PostRenderRepository extends JpaRepository<PostRender, Long> {
+
+    /**
+     * 没有渲染结果或渲染规则版本不是当前版本的未删除文章
+     */
+    @Query("SELECT p.id FROM Post p LEFT JOIN PostRender r ON r.postId = p.id " +
+           "WHERE p.contentType = :contentType AND p.deletedAt IS NULL " +
+           "AND (r.postId IS NULL OR r.rendererVersion <> :version) ORDER BY p.id")
+    List<Long> findIdsToRender(@Param("contentType") ContentType contentType, @Param("version") int version);
+
+    /**
+     * 渲染所需的数据，返回 [postId, contentType, deletedAt, content, contentHash, PostRender（可为 null）]
+     */
+    @Query("SELECT p.id, p.contentType, p.deletedAt, c.content, c.contentHash, r FROM Post p " +
+           "JOIN PostContent c ON c.postId = p.id LEFT JOIN PostRender r ON r.postId = p.id " +
+           "WHERE p.id IN :postIds")
+    List<Object[]> findSources(@Param("postIds") Collection<Long> postIds);
+
+    @Modifying
+    @Query("DELETE FROM PostRender r WHERE r.postId IN :postIds")
+    int deleteByPostIdIn(@Param("postIds") Collection<Long> postIds);
+}
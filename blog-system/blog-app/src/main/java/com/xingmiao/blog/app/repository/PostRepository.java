@@ -2,18 +2,70 @@ package com.xingmiao.blog.app.repository;
 
 import com.xingmiao.blog.common.domain.entity.Post;
 import com.xingmiao.blog.common.domain.enums.PostStatus;
+import com.xingmiao.blog.common.domain.enums.SyncStatus;
 import com.xingmiao.blog.common.domain.enums.Visibility;
+import com.xingmiao.blog.common.dto.PostVersion;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+/**
+ * 文章仓库
+ *
+ * <p>返回实体的列表和详情查询都通过实体图一并加载分类，关闭 open-in-view 后转换 DTO 或访问分类时不再逐条懒加载。</p>
+ */
 public interface PostRepository extends JpaRepository<Post, Long> {
     Optional<Post> findBySlug(String slug);
+    
+    /**
+     * 全部文章别名（含回收站），批量导入时预加载用于查重
+     */
+    @Query("SELECT p.slug FROM Post p")
+    List<String> findAllSlugs();
+    
+    /**
+     * 未删除文章的分类ID，返回 [id, categoryId]（无分类时 categoryId 为 null），文章不存在时为空列表
+     */
+    @Query("SELECT p.id, c.id FROM Post p LEFT JOIN p.category c WHERE p.id = :id AND p.deletedAt IS NULL")
+    List<Object[]> findCategoryIdById(@Param("id") Long id);
+    
+    /**
+     * 变更流：按 (updatedAt, id) 顺序读取游标之后、截止时间之前变更过的文章（含软删除），走 idx_posts_updated_at_id
+     *
+     * @return [id, updatedAt, deletedAt]
+     */
+    @Query("SELECT p.id, p.updatedAt, p.deletedAt FROM Post p " +
+            "WHERE (p.updatedAt > :after OR (p.updatedAt = :after AND p.id > :afterId)) AND p.updatedAt <= :until " +
+            "ORDER BY p.updatedAt, p.id")
+    List<Object[]> findChangedAfter(@Param("after") LocalDateTime after, @Param("afterId") Long afterId,
+                                    @Param("until") LocalDateTime until, Pageable pageable);
+    
+    /**
+     * 以只读游标按ID顺序读取全部未删除文章，供全量导出使用
+     *
+     * <p>通过 {@link com.xingmiao.blog.app.config.CursorFetch} 打开时走 MySQL 服务端游标，按 fetchSize 每次只取一批行；
+     * 游标打开期间同一连接上仍可执行其他查询。调用方须在事务内使用并关闭流。</p>
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT p FROM Post p LEFT JOIN FETCH p.category WHERE p.deletedAt IS NULL ORDER BY p.id")
+    Stream<Post> streamAllForExport();
     Page<Post> findByCategory_Id(Long categoryId, Pageable pageable);
     Page<Post> findByStatusAndVisibility(PostStatus status, Visibility visibility, Pageable pageable);
     
@@ -23,41 +75,100 @@ public interface PostRepository extends JpaRepository<Post, Long> {
     @Query("SELECT p FROM Post p LEFT JOIN FETCH p.category WHERE p.id = :id")
     Optional<Post> findByIdWithCategory(@Param("id") Long id);
     
+    /**
+     * 只查询文章版本信息（不读取正文），用于条件请求
+     */
+    @Query("SELECT new com.xingmiao.blog.common.dto.PostVersion(p.id, p.visibility, p.updatedAt, " +
+           "s.updatedAt, s.likeCount, s.commentCount) " +
+           "FROM Post p LEFT JOIN PostStats s ON s.postId = p.id WHERE p.id = :id AND p.deletedAt IS NULL")
+    Optional<PostVersion> findVersionById(@Param("id") Long id);
+    
+    @Query("SELECT new com.xingmiao.blog.common.dto.PostVersion(p.id, p.visibility, p.updatedAt, " +
+           "s.updatedAt, s.likeCount, s.commentCount) " +
+           "FROM Post p LEFT JOIN PostStats s ON s.postId = p.id WHERE p.slug = :slug AND p.deletedAt IS NULL")
+    Optional<PostVersion> findVersionBySlug(@Param("slug") String slug);
+
+    /**
+     * 文章列表的数据版本：[未删除文章数, 最大更新时间]，走 idx_deleted_at / idx_posts_updated_at_id
+     */
+    @Query("SELECT COUNT(p), MAX(p.updatedAt) FROM Post p WHERE p.deletedAt IS NULL")
+    List<Object[]> findListVersion();
+
+    /**
+     * 互动计数最后变化的时间，走 idx_post_stats_updated_at
+     */
+    @Query("SELECT MAX(s.updatedAt) FROM PostStats s")
+    LocalDateTime findStatsUpdatedAt();
+    
+    @Query("SELECT p.id FROM Post p WHERE p.status = :status AND p.visibility = :visibility AND p.deletedAt IS NULL")
+    List<Long> findIdsByStatusAndVisibility(@Param("status") PostStatus status, @Param("visibility") Visibility visibility);
+    
     // ========== 软删除相关查询方法 ==========
     
     /**
      * 查询未删除的文章（正常文章）
      */
+    @EntityGraph(attributePaths = "category")
     Page<Post> findByDeletedAtIsNull(Pageable pageable);
     
     /**
      * 查询回收站中的文章（已软删除）
      */
+    @EntityGraph(attributePaths = "category")
     Page<Post> findByDeletedAtIsNotNull(Pageable pageable);
     
     /**
      * 根据ID查询未删除的文章
      */
+    @EntityGraph(attributePaths = "category")
     Optional<Post> findByIdAndDeletedAtIsNull(Long id);
     
     /**
      * 根据ID查询回收站中的文章
      */
+    @EntityGraph(attributePaths = "category")
     Optional<Post> findByIdAndDeletedAtIsNotNull(Long id);
     
+    /**
+     * 按ID批量查询未删除的文章（单条 IN 查询）
+     */
+    @EntityGraph(attributePaths = "category")
+    List<Post> findByIdInAndDeletedAtIsNull(Collection<Long> ids);
+    
     /**
      * 根据slug查询未删除的文章
      */
+    @EntityGraph(attributePaths = "category")
     Optional<Post> findBySlugAndDeletedAtIsNull(String slug);
     
     /**
      * 按分类查询未删除的文章
      */
+    @EntityGraph(attributePaths = "category")
     Page<Post> findByCategory_IdAndDeletedAtIsNull(Long categoryId, Pageable pageable);
     
+    /**
+     * 按分类子树查询未删除的文章（经闭包表一次连接，与树深度无关）
+     */
+    @EntityGraph(attributePaths = "category")
+    @Query(value = "SELECT p FROM Post p JOIN CategoryClosure cc ON cc.descendantId = p.category.id " +
+            "WHERE cc.ancestorId = :categoryId AND p.deletedAt IS NULL",
+           countQuery = "SELECT COUNT(p) FROM Post p JOIN CategoryClosure cc ON cc.descendantId = p.category.id " +
+            "WHERE cc.ancestorId = :categoryId AND p.deletedAt IS NULL")
+    Page<Post> findByCategorySubtree(@Param("categoryId") Long categoryId, Pageable pageable);
+    
+    /**
+     * 按标签查询未删除的文章，走 post_tags(tag_id, post_id) 索引
+     */
+    @EntityGraph(attributePaths = "category")
+    @Query(value = "SELECT p FROM Post p JOIN PostTag pt ON pt.post = p WHERE pt.tag.id = :tagId AND p.deletedAt IS NULL",
+           countQuery = "SELECT COUNT(p) FROM Post p JOIN PostTag pt ON pt.post = p WHERE pt.tag.id = :tagId AND p.deletedAt IS NULL")
+    Page<Post> findByTagId(@Param("tagId") Long tagId, Pageable pageable);
+    
     /**
      * 按状态和可见性查询未删除的文章
      */
+    @EntityGraph(attributePaths = "category")
     Page<Post> findByStatusAndVisibilityAndDeletedAtIsNull(PostStatus status, Visibility visibility, Pageable pageable);
     
     /**
@@ -65,10 +176,38 @@ public interface PostRepository extends JpaRepository<Post, Long> {
      */
     long countByCategory_IdAndDeletedAtIsNull(Long categoryId);
     
+    /**
+     * 按分类聚合指定状态的未删除文章数量，仅供计数校准任务使用
+     */
+    @Query("SELECT p.category.id, COUNT(p) FROM Post p WHERE p.category IS NOT NULL " +
+            "AND p.deletedAt IS NULL AND p.status = :status GROUP BY p.category.id")
+    List<Object[]> countGroupByCategory(@Param("status") PostStatus status);
+    
     /**
      * 查找回收站中指定分类下的所有文章
      */
     List<Post> findByCategory_IdAndDeletedAtIsNotNull(Long categoryId);
+    
+    /**
+     * 写入同步结果（文档ID、状态、错误信息）
+     *
+     * <p>同步状态不属于文章内容，直接按列更新：不递增乐观锁版本、不改更新时间，
+     * 也不会覆盖同步期间编辑者提交的修改。</p>
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE Post p SET p.difyDocumentId = :documentId, p.syncStatus = :status, p.syncError = :error " +
+            "WHERE p.id = :id")
+    int updateSyncState(@Param("id") Long id, @Param("documentId") String documentId,
+                        @Param("status") SyncStatus status, @Param("error") String error);
+    
+    @Modifying
+    @Transactional
+    @Query("UPDATE Post p SET p.syncStatus = :status, p.syncError = :error WHERE p.id = :id")
+    int updateSyncStatus(@Param("id") Long id, @Param("status") SyncStatus status, @Param("error") String error);
+    
+    @Modifying
+    @Transactional
+    @Query("UPDATE Post p SET p.syncError = :error WHERE p.id = :id")
+    int updateSyncError(@Param("id") Long id, @Param("error") String error);
 }
-
-
@@ -0,0 +1,27 @@
+package com.xingmiao.blog.app.repository;
+
+import com.xingmiao.blog.common.domain.entity.PostStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+
+public interface PostStatsRepository extends JpaRepository<PostStats, Long> {
+
+    /**
+     * 原子增减点赞数，不会减到 0 以下；同时刷新计数更新时间，使详情和列表的 ETag 失效
+     */
+    @Modifying
+    @Query("UPDATE PostStats s SET s.likeCount = CASE WHEN s.likeCount + :delta < 0 THEN 0 " +
+            "ELSE s.likeCount + :delta END, s.updatedAt = LOCAL DATETIME WHERE s.postId = :postId")
+    int incrementLikeCount(@Param("postId") Long postId, @Param("delta") long delta);
+
+    /**
+     * 原子增加一批文章的浏览数（浏览数不参与 ETag，不刷新计数更新时间）
+     */
+    @Modifying
+    @Query("UPDATE PostStats s SET s.viewCount = s.viewCount + :delta WHERE s.postId IN :postIds")
+    int incrementViewCounts(@Param("postIds") Collection<Long> postIds, @Param("delta") long delta);
+}
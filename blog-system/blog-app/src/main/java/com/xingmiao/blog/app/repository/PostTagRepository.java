@@ -0,0 +1,34 @@
+package com.xingmiao.blog.app.repository;
+
+import com.xingmiao.blog.common.domain.entity.PostTag;
+import com.xingmiao.blog.common.domain.enums.PostStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface PostTagRepository extends JpaRepository<PostTag, Long> {
+
+    @Query("SELECT pt.tag.id FROM PostTag pt WHERE pt.post.id = :postId")
+    List<Long> findTagIdsByPostId(@Param("postId") Long postId);
+
+    /**
+     * 批量查询多篇文章的标签，返回 [postId, tagId]
+     */
+    @Query("SELECT pt.post.id, pt.tag.id FROM PostTag pt WHERE pt.post.id IN :postIds")
+    List<Object[]> findTagIdsByPostIds(@Param("postIds") Collection<Long> postIds);
+
+    @Modifying
+    @Query("DELETE FROM PostTag pt WHERE pt.post.id = :postId AND pt.tag.id IN :tagIds")
+    int deleteByPostIdAndTagIds(@Param("postId") Long postId, @Param("tagIds") Collection<Long> tagIds);
+
+    /**
+     * 按标签聚合指定状态的未删除文章数量，仅供计数校准任务使用
+     */
+    @Query("SELECT pt.tag.id, COUNT(pt) FROM PostTag pt " +
+            "WHERE pt.post.deletedAt IS NULL AND pt.post.status = :status GROUP BY pt.tag.id")
+    List<Object[]> countGroupByTag(@Param("status") PostStatus status);
+}
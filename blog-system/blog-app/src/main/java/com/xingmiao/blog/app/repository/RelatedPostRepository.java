@@ -0,0 +1,37 @@
+package com.xingmiao.blog.app.repository;
+
+import com.xingmiao.blog.common.domain.entity.RelatedPost;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface RelatedPostRepository extends JpaRepository<RelatedPost, Long> {
+
+    /**
+     * 单篇文章的近邻列表，走 idx_related_posts_post_id_sort_order
+     */
+    @Query("SELECT r.relatedPostId, r.score FROM RelatedPost r WHERE r.postId = :postId ORDER BY r.sortOrder")
+    List<Object[]> findNeighbours(@Param("postId") Long postId);
+
+    /**
+     * 全量重算前读出已保存的列表 [postId, relatedPostId, score]，只写入有变化的文章；调用方须在事务内使用并关闭流
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT r.postId, r.relatedPostId, r.score FROM RelatedPost r ORDER BY r.postId, r.sortOrder")
+    Stream<Object[]> streamAll();
+
+    @Modifying
+    @Query("DELETE FROM RelatedPost r WHERE r.postId IN :postIds")
+    int deleteByPostIdIn(@Param("postIds") Collection<Long> postIds);
+}
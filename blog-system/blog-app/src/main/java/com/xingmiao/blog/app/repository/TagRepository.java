@@ -1,17 +1,70 @@
 package com.xingmiao.blog.app.repository;
 
+import com.xingmiao.blog.common.domain.CacheRegions;
 import com.xingmiao.blog.common.domain.entity.Tag;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface TagRepository extends JpaRepository<Tag, Long> {
+
+    /**
+     * 按自然键查询走查询缓存，结果实体从二级缓存组装
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Tag> findByName(String name);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Tag> findBySlug(String slug);
+
     boolean existsByName(String name);
     boolean existsBySlug(String slug);
-}
 
+    /**
+     * 标签云数据源，走 idx_post_count 索引
+     */
+    List<Tag> findByPostCountGreaterThanOrderByPostCountDesc(Integer postCount);
+
+    /**
+     * 原子增减文章计数
+     *
+     * <p>与分类计数相同，用原生语句并声明独立的查询空间，只由调用方失效受影响的标签。</p>
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = CacheRegions.POST_COUNT_SPACE))
+    @Query(value = "UPDATE tags SET post_count = COALESCE(post_count, 0) + :delta WHERE id IN (:ids)",
+           nativeQuery = true)
+    int incrementPostCount(@Param("ids") Collection<Long> ids, @Param("delta") int delta);
 
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = CacheRegions.POST_COUNT_SPACE))
+    @Query(value = "UPDATE tags SET post_count = :postCount WHERE id = :id", nativeQuery = true)
+    int updatePostCount(@Param("id") Long id, @Param("postCount") int postCount);
 
+    /**
+     * 全部标签ID，批量导入时预加载用于校验
+     */
+    @Query("SELECT t.id FROM Tag t")
+    List<Long> findAllIds();
 
+    /**
+     * 变更流：按 (updatedAt, id) 顺序读取游标之后、截止时间之前变更过的标签，走 idx_tags_updated_at_id
+     *
+     * @return [id, updatedAt]
+     */
+    @Query("SELECT t.id, t.updatedAt FROM Tag t " +
+            "WHERE (t.updatedAt > :after OR (t.updatedAt = :after AND t.id > :afterId)) AND t.updatedAt <= :until " +
+            "ORDER BY t.updatedAt, t.id")
+    List<Object[]> findChangedAfter(@Param("after") LocalDateTime after, @Param("afterId") Long afterId,
+                                    @Param("until") LocalDateTime until, Pageable pageable);
+}
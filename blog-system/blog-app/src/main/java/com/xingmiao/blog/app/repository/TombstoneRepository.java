@@ -0,0 +1,27 @@
+package com.xingmiao.blog.app.repository;
+
+import com.xingmiao.blog.common.domain.entity.Tombstone;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface TombstoneRepository extends JpaRepository<Tombstone, Long> {
+
+    /**
+     * 变更流：按 (deletedAt, id) 顺序读取游标之后、截止时间之前的墓碑，走 idx_tombstones_deleted_at_id
+     */
+    @Query("SELECT t FROM Tombstone t " +
+            "WHERE (t.deletedAt > :after OR (t.deletedAt = :after AND t.id > :afterId)) AND t.deletedAt <= :until " +
+            "ORDER BY t.deletedAt, t.id")
+    List<Tombstone> findChangedAfter(@Param("after") LocalDateTime after, @Param("afterId") Long afterId,
+                                     @Param("until") LocalDateTime until, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM Tombstone t WHERE t.deletedAt < :before")
+    int deleteByDeletedAtBefore(@Param("before") LocalDateTime before);
+}
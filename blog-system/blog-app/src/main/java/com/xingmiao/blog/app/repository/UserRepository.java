@@ -1,12 +1,21 @@
 package com.xingmiao.blog.app.repository;
 
 import com.xingmiao.blog.common.domain.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
+
+    /**
+     * 按自然键查询走查询缓存，结果实体从二级缓存组装
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<User> findByUsername(String username);
+
     boolean existsByUsername(String username);
 }
 
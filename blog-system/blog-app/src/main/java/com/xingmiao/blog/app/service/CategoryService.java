@@ -6,7 +6,9 @@ import com.xingmiao.blog.common.dto.CategoryUpdateRequest;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 public interface CategoryService {
@@ -21,8 +23,15 @@ public interface CategoryService {
 
     Optional<CategoryDto> getCategoryBySlug(String slug);
 
+    Map<Long, CategoryDto> getCategoriesByIds(Collection<Long> ids);
+
     Page<CategoryDto> getAllCategories(Pageable pageable);
 
+    /**
+     * 稀疏字段分页查询：只查询 fields 中列出的属性（逗号分隔的 CategoryDto 属性名，id 始终返回）
+     */
+    Page<Map<String, Object>> getAllCategoriesFields(String fields, Pageable pageable);
+
     List<CategoryDto> getAllCategories();
 
     void deleteCategory(Long id);
@@ -32,6 +41,11 @@ public interface CategoryService {
     boolean existsBySlug(String slug);
 
     List<CategoryDto> getChildren(Long parentId);
+
+    /**
+     * 根据 parent_id 全量重建分类闭包表
+     */
+    void rebuildCategoryClosure();
 }
 
 
@@ -0,0 +1,27 @@
+package com.xingmiao.blog.app.service;
+
+import com.xingmiao.blog.common.dto.ChangeFeed;
+
+/**
+ * 变更流服务
+ *
+ * <p>增量客户端（静态站点构建、移动端）用游标拉取文章、分类、标签的变更，不必重新下载全量列表。
+ * 游标由变更时间（updatedAt / 墓碑删除时间）、来源和ID组成，单调递增；每个来源都按
+ * (时间, id) 索引做范围扫描，轮询成本与表大小无关。物理删除记录在墓碑表中，软删除的文章以 DELETE 返回。</p>
+ */
+public interface ChangeFeedService {
+
+    /**
+     * 拉取游标之后的变更
+     *
+     * @param cursor 上次返回的游标，为空时从头开始
+     * @param limit 本页最多返回的变更数
+     * @throws IllegalArgumentException 游标无法解析
+     */
+    ChangeFeed getChanges(String cursor, int limit);
+
+    /**
+     * 清理超过保留期的墓碑
+     */
+    void purgeTombstones();
+}
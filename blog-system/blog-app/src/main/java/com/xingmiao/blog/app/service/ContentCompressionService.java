@@ -0,0 +1,21 @@
+package com.xingmiao.blog.app.service;
+
+import com.xingmiao.blog.common.dto.ContentCompressionStats;
+
+/**
+ * 正文压缩存储
+ *
+ * <p>正文写入时由实体转换器按配置压缩；启用压缩前保存的明文正文由后台任务分批压缩，读取两种格式都兼容。</p>
+ */
+public interface ContentCompressionService {
+
+    /**
+     * 压缩统计：写入、读取次数和压缩率
+     */
+    ContentCompressionStats getStats();
+
+    /**
+     * 请求后台任务压缩全部尚未压缩的正文
+     */
+    void requestRecompress();
+}
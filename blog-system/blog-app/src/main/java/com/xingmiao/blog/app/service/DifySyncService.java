@@ -1,5 +1,7 @@
 package com.xingmiao.blog.app.service;
 
+import java.util.List;
+
 public interface DifySyncService {
     // Category相关方法
     String createKnowledgeBaseInDifyByCategoryId(Long categoryId);
@@ -38,6 +40,11 @@ public interface DifySyncService {
      * - 已同步 => 更新
      */
     void syncPost(Long postId);
+    
+    /**
+     * 批量同步同一分类下的文章（批量导入后每个分类提交一个任务，任务内逐篇同步）
+     */
+    void syncPosts(Long categoryId, List<Long> postIds);
 }
 
 
@@ -0,0 +1,26 @@
+package com.xingmiao.blog.app.service;
+
+import com.xingmiao.blog.common.dto.CacheRegionStats;
+
+import java.util.List;
+
+/**
+ * 实体二级缓存服务
+ *
+ * <p>分类、标签、系统配置、用户等引用型实体缓存在 Hibernate 二级缓存中（JCache + Caffeine），
+ * 按自然键（slug、名称、用户名）的查询走查询缓存。</p>
+ */
+public interface EntityCacheService {
+
+    /**
+     * 各缓存区域的命中统计，包括查询缓存区域
+     *
+     * <p>需要开启 {@code blog.entity-cache.statistics-enabled}，未开启时返回空列表。</p>
+     */
+    List<CacheRegionStats> getRegionStats();
+
+    /**
+     * 清空全部二级缓存和查询缓存，用于绕过应用直接修改数据库之后
+     */
+    void evictAll();
+}
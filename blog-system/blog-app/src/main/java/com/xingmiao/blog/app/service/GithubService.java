@@ -1,8 +1,11 @@
 package com.xingmiao.blog.app.service;
 
+import com.xingmiao.blog.app.cache.RefreshAheadCache;
 import com.xingmiao.blog.common.dto.GithubContributionResponse;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
 import org.springframework.stereotype.Service;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -15,6 +18,7 @@ import java.net.http.HttpResponse;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Executor;
 
 @Slf4j
 @Service
@@ -27,21 +31,33 @@ public class GithubService {
     private String githubToken;
     private final ObjectMapper objectMapper = new ObjectMapper();
 
-    public GithubService() {
+    /**
+     * 贡献数据缓存：并发未命中只请求一次 GitHub，接近过期时返回旧值并在后台刷新
+     */
+    private final RefreshAheadCache<String, List<GithubContributionResponse.ContributionData>> contributionsCache;
+
+    public GithubService(@Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME) Executor executor,
+                         @Value("${github.contributions.ttl:1h}") Duration ttl,
+                         @Value("${github.contributions.refresh-after:45m}") Duration refreshAfter,
+                         @Value("${github.contributions.max-entries:100}") int maxEntries) {
         this.httpClient = HttpClient.newBuilder()
                 .connectTimeout(Duration.ofSeconds(10))
                 .build();
+        this.contributionsCache = new RefreshAheadCache<>(ttl, refreshAfter, maxEntries, executor);
     }
 
 
 
     public List<GithubContributionResponse.ContributionData> getContributionsData(String username, String from, String to) {
-        try {
-            return fetchContributionsDataGraphQL(username, from, to);
-        } catch (Exception e) {
-            log.error("获取贡献数据失败: {}", e.getMessage(), e);
-            throw new RuntimeException("获取贡献数据失败: " + e.getMessage());
-        }
+        String key = username + "|" + from + "|" + to;
+        return contributionsCache.get(key, k -> {
+            try {
+                return List.copyOf(fetchContributionsDataGraphQL(username, from, to));
+            } catch (Exception e) {
+                log.error("获取贡献数据失败: {}", e.getMessage(), e);
+                throw new RuntimeException("获取贡献数据失败: " + e.getMessage());
+            }
+        });
     }
 
     private List<GithubContributionResponse.ContributionData> fetchContributionsDataGraphQL(String username, String from, String to) throws IOException, InterruptedException {
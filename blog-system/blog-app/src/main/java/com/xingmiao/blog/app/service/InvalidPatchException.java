@@ -0,0 +1,15 @@
+package com.xingmiao.blog.app.service;
+
+/**
+ * 部分更新请求无效：包含不支持的字段、清空了必填字段、字段类型错误或未通过校验，接口返回400
+ */
+public class InvalidPatchException extends RuntimeException {
+
+    public InvalidPatchException(String message) {
+        super(message);
+    }
+
+    public InvalidPatchException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,33 @@
+package com.xingmiao.blog.app.service;
+
+import com.xingmiao.blog.common.dto.NearDuplicate;
+import com.xingmiao.blog.common.dto.NearDuplicatePair;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 正文近似重复检测
+ *
+ * <p>为每篇未删除文章的正文维护 64 位 SimHash 指纹，按分段查找表查找汉明距离不超过阈值的文章，
+ * 检查一篇文章只比较少量候选，不随文章总数线性增长。指纹保存在 post_contents.simhash，启动时加载到内存。</p>
+ */
+public interface NearDuplicateService {
+
+    /**
+     * 与给定正文指纹相近的文章
+     *
+     * @param postId 被检查的文章ID（结果中排除自身）
+     * @param fingerprint 正文指纹
+     * @return 按距离升序的相近文章，正文太短没有指纹时为空
+     */
+    List<NearDuplicate> findNearDuplicates(Long postId, long fingerprint);
+
+    /**
+     * 批量查询相近的文章对
+     *
+     * @param postIds 只返回涉及这些文章的文章对，为空时返回全部
+     * @return 按距离升序的文章对，每对只出现一次
+     */
+    List<NearDuplicatePair> findPairs(Collection<Long> postIds);
+}
@@ -0,0 +1,46 @@
+package com.xingmiao.blog.app.service;
+
+import com.xingmiao.blog.common.domain.entity.Post;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * 文章计数服务
+ *
+ * <p>增量维护分类和标签的文章数，读取时无需聚合查询。只有已发布且未删除的文章计入；
+ * 回收站中的文章不计数，因此硬删除不会改变计数。定时校准任务负责修正漂移。</p>
+ */
+public interface PostCounterService {
+
+    /**
+     * 文章是否计入统计
+     */
+    boolean isCounted(Post post);
+
+    /**
+     * 文章新增计入（创建、恢复）
+     */
+    void onCounted(Long categoryId, Collection<Long> tagIds);
+
+    /**
+     * 多篇文章同时计入（批量导入），参数为每个分类、标签新增的文章数
+     */
+    void onCounted(Map<Long, Integer> categoryCounts, Map<Long, Integer> tagCounts);
+
+    /**
+     * 文章移出计数（软删除）
+     */
+    void onUncounted(Long categoryId, Collection<Long> tagIds);
+
+    /**
+     * 根据变更前后的状态调整计数（更新、换分类、改标签、发布/取消发布）
+     */
+    void onChanged(Long oldCategoryId, Collection<Long> oldTagIds, boolean wasCounted,
+                   Long newCategoryId, Collection<Long> newTagIds, boolean nowCounted);
+
+    /**
+     * 按实际数据重新校准所有计数
+     */
+    void reconcile();
+}
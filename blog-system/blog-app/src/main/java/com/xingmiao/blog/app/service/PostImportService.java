@@ -0,0 +1,26 @@
+package com.xingmiao.blog.app.service;
+
+import com.xingmiao.blog.common.dto.PostImportResult;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.function.Consumer;
+
+/**
+ * 文章批量导入服务
+ *
+ * <p>逐行读取 NDJSON 格式的 {@code PostCreateRequest}，不把整个请求体读入内存。别名、分类和标签
+ * 按导入开始时预加载的集合校验，有效记录攒满一批后在一个事务中批量插入；每条记录的结果在所在批次
+ * 提交后按行号顺序回调。全部导入完成后每个分类提交一个 Dify 同步任务。</p>
+ */
+public interface PostImportService {
+
+    /**
+     * 导入文章
+     *
+     * @param reader NDJSON 输入，每行一条记录，空行忽略
+     * @param listener 单条记录的结果回调
+     * @return 成功创建的文章数量
+     */
+    int importPosts(BufferedReader reader, Consumer<PostImportResult> listener) throws IOException;
+}
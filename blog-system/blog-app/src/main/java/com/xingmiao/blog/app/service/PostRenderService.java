@@ -0,0 +1,39 @@
+package com.xingmiao.blog.app.service;
+
+import com.xingmiao.blog.common.domain.entity.Post;
+import com.xingmiao.blog.common.domain.entity.PostContent;
+import com.xingmiao.blog.common.domain.entity.PostRender;
+
+/**
+ * Markdown 正文的服务端渲染
+ *
+ * <p>写入正文时同步渲染为清洗后的 HTML 并按文章保存，详情接口直接返回；保存的结果按正文摘要和渲染规则版本校验，
+ * 过期（导入、绕过写入路径的修改、升级渲染规则）时读取方临时渲染，后台任务批量重新渲染并保存。</p>
+ */
+public interface PostRenderService {
+
+    /**
+     * 写入路径：正文或格式变化后在当前事务中渲染并保存，非 Markdown 文章删除旧的渲染结果
+     *
+     * @param post 文章（已持久化）
+     * @param body 当前正文记录，摘要为空时补算
+     * @return 渲染后的 HTML，非 Markdown 文章返回 null
+     */
+    String render(Post post, PostContent body);
+
+    /**
+     * 读取路径：保存的结果与当前正文一致时直接返回，否则临时渲染并交给后台任务保存
+     *
+     * @param post 文章
+     * @param content 当前正文
+     * @param contentHash 当前正文的摘要，为空时临时计算
+     * @param stored 已保存的渲染结果，可为 null
+     * @return 渲染后的 HTML，非 Markdown 文章返回 null
+     */
+    String resolve(Post post, String content, String contentHash, PostRender stored);
+
+    /**
+     * 请求后台任务重新渲染全部过期的文章
+     */
+    void requestRerender();
+}
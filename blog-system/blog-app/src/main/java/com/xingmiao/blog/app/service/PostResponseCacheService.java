@@ -0,0 +1,30 @@
+package com.xingmiao.blog.app.service;
+
+import com.xingmiao.blog.common.dto.CachedPostResponse;
+import com.xingmiao.blog.common.dto.PostDto;
+
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * 热点文章响应缓存
+ *
+ * <p>按文章ID缓存最终的 JSON 字节（原文与 gzip 两份），命中时直接写出，跳过 DTO 转换、序列化和压缩。
+ * 文章写入提交后自动失效，容量按 LRU 淘汰。</p>
+ */
+public interface PostResponseCacheService {
+
+    /**
+     * 读取缓存，未命中时通过 loader 加载并写入缓存
+     *
+     * @param postId 文章ID
+     * @param loader 加载文章DTO，文章不存在时返回空
+     * @return 缓存的响应；文章不存在时为空
+     */
+    Optional<CachedPostResponse> getOrLoad(Long postId, Supplier<Optional<PostDto>> loader);
+
+    /**
+     * 清空全部缓存
+     */
+    void evictAll();
+}
@@ -7,16 +7,64 @@ import com.xingmiao.blog.common.dto.PostUpdateRequest;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface PostService {
     PostDto create(PostCreateRequest request);
     PostDto update(Long id, PostUpdateRequest request);
+
+    /**
+     * 部分更新（JSON Merge Patch）：只修改请求中出现的字段，值为 null 表示清空；
+     * 带 version 时与当前版本不一致则抛出乐观锁异常；请求无效时抛出 {@link InvalidPatchException}
+     */
+    PostDto patch(Long id, Map<String, Object> patch);
     void delete(Long id);
     Optional<PostDto> getById(Long id);
     Optional<PostDto> getBySlug(String slug);
+    Map<Long, PostDto> getByIds(Collection<Long> ids);
+
+    /**
+     * 按ID批量查询文章详情，内容与 {@link #getById(Long)} 相同（含渲染后的正文HTML），
+     * 已删除或不存在的ID不出现在结果中
+     */
+    Map<Long, PostDto> getDetailsByIds(Collection<Long> ids);
+
+    /**
+     * 按ID批量查询文章摘要信息（不读取正文），用于列表类展示
+     */
+    Map<Long, PostDto> getSummariesByIds(Collection<Long> ids);
     Page<PostDto> list(Pageable pageable);
+
+    /**
+     * 按ID顺序逐篇输出全部未删除文章（含正文），用游标读取，不做分页和计数
+     *
+     * @return 导出的文章数量
+     */
+    long exportAll(Consumer<PostDto> consumer);
     Page<PostDto> listByCategory(Long categoryId, Pageable pageable);
+    Page<PostDto> listByCategoryTree(Long categoryId, Pageable pageable);
+    Page<PostDto> listByTag(Long tagId, Pageable pageable);
+
+    /**
+     * 稀疏字段查询：只查询 fields 中列出的属性（逗号分隔的 PostDto 属性名，id 始终返回）
+     */
+    Page<Map<String, Object>> listFields(String fields, Pageable pageable);
+    Page<Map<String, Object>> listByCategoryFields(Long categoryId, boolean includeChildren, String fields, Pageable pageable);
+    Page<Map<String, Object>> listByTagFields(Long tagId, String fields, Pageable pageable);
+
+    /**
+     * 稀疏字段查询已发布的公开文章，categoryId 为空时不按分类过滤
+     */
+    Page<Map<String, Object>> listPublishedFields(Long categoryId, String fields, Pageable pageable);
+
+    /**
+     * 所有已发布的公开文章ID
+     */
+    List<Long> getPublishedIds();
     Boolean SyncToDify(Post post);
     boolean existsById(Long id);
 }
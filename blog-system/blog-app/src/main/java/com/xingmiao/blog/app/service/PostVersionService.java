@@ -0,0 +1,27 @@
+package com.xingmiao.blog.app.service;
+
+import com.xingmiao.blog.common.dto.PostListVersion;
+import com.xingmiao.blog.common.dto.PostVersion;
+
+import java.util.Optional;
+
+/**
+ * 文章版本服务
+ *
+ * <p>为 HTTP 条件请求提供校验值：单篇文章使用 id + updatedAt + 互动计数，文章列表使用未删除文章数、
+ * 最大更新时间和互动计数的最大更新时间。校验值都由数据计算，与处理请求的实例无关。</p>
+ */
+public interface PostVersionService {
+
+    /**
+     * 查询单篇文章的版本信息（不读取正文）
+     */
+    Optional<PostVersion> getVersionById(Long id);
+
+    Optional<PostVersion> getVersionBySlug(String slug);
+
+    /**
+     * 文章列表的版本信息
+     */
+    PostListVersion getListVersion();
+}
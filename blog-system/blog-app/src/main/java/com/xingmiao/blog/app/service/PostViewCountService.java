@@ -0,0 +1,20 @@
+package com.xingmiao.blog.app.service;
+
+/**
+ * 文章浏览计数
+ *
+ * <p>详情接口每次浏览都发布浏览事件，逐次更新 post_stats 会让热门文章的计数行成为写热点。
+ * 浏览数先在内存中按文章累加，由后台任务定期合并写入；进程退出前写出剩余的增量，异常退出时最多丢失一个周期的浏览。</p>
+ */
+public interface PostViewCountService {
+
+    /**
+     * 记一次浏览（只在内存中累加）
+     */
+    void recordView(Long postId);
+
+    /**
+     * 把累加的浏览数写入 post_stats
+     */
+    void flushViews();
+}
@@ -0,0 +1,28 @@
+package com.xingmiao.blog.app.service;
+
+import com.xingmiao.blog.common.dto.RelatedPostItem;
+
+import java.util.List;
+
+/**
+ * 相关文章推荐
+ *
+ * <p>后台任务按正文、分类、标签的 TF-IDF 余弦相似度为每篇已发布的公开文章预先计算近邻列表并保存，
+ * 读取时只查一次列表。文章变更后只重算它自己以及近邻列表可能受影响的文章，每天全量重算一次修正文档频率的漂移。</p>
+ */
+public interface RelatedPostService {
+
+    /**
+     * 相关文章
+     *
+     * @param postId 文章ID
+     * @param limit 返回数量
+     * @return 按相似度降序的已发布公开文章（不含正文），尚未计算时为空
+     */
+    List<RelatedPostItem> getRelated(Long postId, int limit);
+
+    /**
+     * 请求后台任务全量重算
+     */
+    void requestRebuild();
+}
@@ -0,0 +1,31 @@
+package com.xingmiao.blog.app.service;
+
+import java.nio.file.Path;
+import java.util.Optional;
+
+/**
+ * 静态快照服务
+ *
+ * <p>把已发布的公开文章、分类文章列表和首页预先渲染为本地 JSON 文件，流量高峰时直接从磁盘输出，不访问数据库。
+ * 文章和分类写入提交后标记为脏数据，由定时任务合并后增量重新生成。</p>
+ */
+public interface SnapshotService {
+
+    /**
+     * 请求全量重新生成所有快照并清理已失效的文件，由后台任务执行
+     */
+    void requestRebuild();
+
+    /**
+     * 标记分类快照需要重新生成（分类新增、修改、删除后调用）
+     */
+    void markCategoryDirty(Long categoryId);
+
+    Optional<Path> getHomeFile();
+
+    Optional<Path> getPostFile(Long postId);
+
+    Optional<Path> getPostFileBySlug(String slug);
+
+    Optional<Path> getCategoryFile(Long categoryId);
+}
@@ -1,12 +1,15 @@
 package com.xingmiao.blog.app.service;
 
+import com.xingmiao.blog.common.dto.TagCloudItem;
 import com.xingmiao.blog.common.dto.TagCreateRequest;
 import com.xingmiao.blog.common.dto.TagDto;
 import com.xingmiao.blog.common.dto.TagUpdateRequest;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 public interface TagService {
@@ -36,16 +39,31 @@ public interface TagService {
      */
     Optional<TagDto> getTagBySlug(String slug);
     
+    /**
+     * 根据ID批量获取标签
+     */
+    Map<Long, TagDto> getTagsByIds(Collection<Long> ids);
+    
     /**
      * 分页获取所有标签
      */
     Page<TagDto> getAllTags(Pageable pageable);
     
+    /**
+     * 稀疏字段分页查询：只查询 fields 中列出的属性（逗号分隔的 TagDto 属性名，id 始终返回）
+     */
+    Page<Map<String, Object>> getAllTagsFields(String fields, Pageable pageable);
+    
     /**
      * 获取所有标签（不分页）
      */
     List<TagDto> getAllTags();
     
+    /**
+     * 获取加权标签云（缓存，标签或文章关联变化时失效）
+     */
+    List<TagCloudItem> getTagCloud();
+    
     /**
      * 删除标签
      */
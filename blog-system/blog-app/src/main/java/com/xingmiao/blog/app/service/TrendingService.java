@@ -0,0 +1,28 @@
+package com.xingmiao.blog.app.service;
+
+import com.xingmiao.blog.common.dto.TrendingItem;
+
+import java.util.List;
+
+/**
+ * 热门文章排行
+ *
+ * <p>由浏览、点赞、评论事件驱动，在内存中为每篇文章维护指数衰减的热度分数，
+ * 并为全站和每个分类增量维护前 K 名，读取时不查询统计表也不排序。分数定期写入磁盘检查点，重启后恢复。</p>
+ */
+public interface TrendingService {
+
+    /**
+     * 热门文章
+     *
+     * @param categoryId 分类ID，为空时返回全站排行
+     * @param limit 返回数量
+     * @return 按当前热度降序的已发布公开文章（不含正文）
+     */
+    List<TrendingItem> getTrending(Long categoryId, int limit);
+
+    /**
+     * 将当前分数写入检查点文件
+     */
+    void checkpoint();
+}
@@ -1,26 +1,39 @@
 package com.xingmiao.blog.app.service.impl;
 
 import com.xingmiao.blog.common.domain.entity.Category;
+import com.xingmiao.blog.common.domain.entity.CategoryClosure;
 import com.xingmiao.blog.common.domain.entity.Post;
 import com.xingmiao.blog.common.dto.CategoryCreateRequest;
 import com.xingmiao.blog.common.dto.CategoryDto;
 import com.xingmiao.blog.common.dto.CategoryUpdateRequest;
+import com.xingmiao.blog.app.repository.CategoryClosureRepository;
+import com.xingmiao.blog.app.repository.FieldProjectionRepository;
 import com.xingmiao.blog.app.repository.CategoryRepository;
 import com.xingmiao.blog.app.repository.PostRepository;
 import com.xingmiao.blog.app.service.DifySyncService;
+import com.xingmiao.blog.app.service.SnapshotService;
 import com.xingmiao.blog.common.domain.enums.SyncStatus;
 import org.springframework.transaction.support.TransactionSynchronization;
 import org.springframework.transaction.support.TransactionSynchronizationManager;
 import com.xingmiao.blog.app.service.CategoryService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -29,9 +42,25 @@ import java.util.stream.Collectors;
 @Transactional
 public class CategoryServiceImpl implements CategoryService {
 
+    /**
+     * 稀疏字段白名单：CategoryDto 属性名 → Category 实体属性路径
+     */
+    private static final Map<String, String> FIELD_PATHS = new LinkedHashMap<>();
+
+    static {
+        for (String field : List.of("id", "name", "slug", "level", "sortOrder", "isActive", "postCount",
+                "description", "createdAt", "updatedAt")) {
+            FIELD_PATHS.put(field, field);
+        }
+        FIELD_PATHS.put("parentId", "parent.id");
+    }
+
     private final CategoryRepository categoryRepository;
+    private final FieldProjectionRepository fieldProjectionRepository;
+    private final CategoryClosureRepository categoryClosureRepository;
     private final PostRepository postRepository;
     private final DifySyncService difySyncService;
+    private final SnapshotService snapshotService;
 
     @Override
     public CategoryDto createCategory(CategoryCreateRequest request) {
@@ -62,11 +91,15 @@ public class CategoryServiceImpl implements CategoryService {
 
         category.setSyncStatus(SyncStatus.UNSYNCED);
         Category saved = categoryRepository.save(category);
+        if (Boolean.TRUE.equals(saved.getIsActive())) {
+            insertClosureNode(saved.getId(), parent == null ? null : parent.getId());
+        }
         // 事务提交后异步执行
         TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
             @Override
             public void afterCommit() {
                 difySyncService.syncCategory(saved.getId());
+                snapshotService.markCategoryDirty(saved.getId());
             }
         });
         return convertToDto(saved);
@@ -94,16 +127,23 @@ public class CategoryServiceImpl implements CategoryService {
         if (request.getParentId() != null) {
             Category newParent = categoryRepository.findById(request.getParentId())
                     .orElseThrow(() -> new RuntimeException("父级分类不存在: " + request.getParentId()));
-            category.setParent(newParent);
-            category.setLevel((newParent.getLevel() == null ? 1 : newParent.getLevel()) + 1);
+            Long oldParentId = category.getParent() == null ? null : category.getParent().getId();
+            if (!newParent.getId().equals(oldParentId)) {
+                moveSubtree(category, newParent);
+            }
         }
 
         if (request.getSortOrder() != null) {
             category.setSortOrder(request.getSortOrder());
         }
 
-        if (request.getIsActive() != null) {
+        if (request.getIsActive() != null && !request.getIsActive().equals(category.getIsActive())) {
             category.setIsActive(request.getIsActive());
+            if (request.getIsActive()) {
+                attachClosureNode(category);
+            } else {
+                detachClosureNode(category.getId());
+            }
         }
 
         if (request.getDescription() != null) {
@@ -116,6 +156,7 @@ public class CategoryServiceImpl implements CategoryService {
             @Override
             public void afterCommit() {
                 difySyncService.syncCategory(updated.getId());
+                snapshotService.markCategoryDirty(updated.getId());
             }
         });
         return convertToDto(updated);
@@ -139,12 +180,29 @@ public class CategoryServiceImpl implements CategoryService {
         return categoryRepository.findBySlug(slug).map(this::convertToDto);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Map<Long, CategoryDto> getCategoriesByIds(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        return categoryRepository.findAllById(new HashSet<>(ids)).stream()
+                .collect(Collectors.toMap(Category::getId, this::convertToDto));
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Page<CategoryDto> getAllCategories(Pageable pageable) {
         return categoryRepository.findAll(pageable).map(this::convertToDto);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Page<Map<String, Object>> getAllCategoriesFields(String fields, Pageable pageable) {
+        return fieldProjectionRepository.findFields(Category.class,
+                FieldProjectionRepository.selectPaths(fields, FIELD_PATHS), null, pageable);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public List<CategoryDto> getAllCategories() {
@@ -172,16 +230,18 @@ public class CategoryServiceImpl implements CategoryService {
                     id, category.getName(), trashPosts.size());
         }
         
-        // 3. 软删除分类（设置isActive为false）
+        // 3. 软删除分类（设置isActive为false），并从闭包表中摘除
         category.setIsActive(false);
         category.setSyncStatus(SyncStatus.UNSYNCED);
         categoryRepository.save(category);
+        detachClosureNode(id);
         
         // 4. 异步同步到Dify（删除知识库）
         TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
             @Override
             public void afterCommit() {
                 difySyncService.syncCategory(id);
+                snapshotService.markCategoryDirty(id);
             }
         });
         
@@ -208,6 +268,157 @@ public class CategoryServiceImpl implements CategoryService {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public void rebuildCategoryClosure() {
+        List<Category> categories = categoryRepository.findAll();
+        Map<Long, Long> parentIds = new HashMap<>();
+        for (Category c : categories) {
+            if (Boolean.TRUE.equals(c.getIsActive())) {
+                parentIds.put(c.getId(), c.getParent() == null ? null : c.getParent().getId());
+            }
+        }
+
+        List<CategoryClosure> rows = new ArrayList<>();
+        for (Long id : parentIds.keySet()) {
+            Set<Long> visited = new HashSet<>();
+            Long ancestor = id;
+            int depth = 0;
+            // 沿父链向上，遇到环或已失效的父节点即停止
+            while (ancestor != null && parentIds.containsKey(ancestor) && visited.add(ancestor)) {
+                rows.add(CategoryClosure.builder()
+                        .ancestorId(ancestor)
+                        .descendantId(id)
+                        .depth(depth++)
+                        .build());
+                ancestor = parentIds.get(ancestor);
+            }
+        }
+
+        categoryClosureRepository.deleteAllInBatch();
+        categoryClosureRepository.saveAll(rows);
+        log.info("分类闭包表重建完成，分类数量:{} 路径数量:{}", parentIds.size(), rows.size());
+    }
+
+    /**
+     * 启动时若闭包表为空（首次升级），根据 parent_id 重建
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initCategoryClosure() {
+        if (categoryClosureRepository.count() == 0 && categoryRepository.count() > 0) {
+            rebuildCategoryClosure();
+        }
+    }
+
+    /**
+     * 将分类及其整棵子树移动到新的父分类下，同步维护闭包表和层级
+     *
+     * <p>环路按 parent_id 校验：已停用的分类不在闭包表中，闭包表无法发现经过停用分类的环路。
+     * 已停用的分类只调整层级。</p>
+     */
+    private void moveSubtree(Category category, Category newParent) {
+        checkNotInSubtree(category, newParent);
+        if (!Boolean.TRUE.equals(category.getIsActive())) {
+            shiftLevels(category, newParent, subtreeIdsByParent(category.getId()));
+            return;
+        }
+
+        List<Long> subtree = categoryClosureRepository.findDescendantIds(category.getId());
+        if (subtree.isEmpty()) {
+            // 闭包中缺失该节点（历史数据），按新节点补录
+            subtree = List.of(category.getId());
+            insertClosureNode(category.getId(), newParent.getId());
+        } else {
+            categoryClosureRepository.detachSubtree(subtree);
+            categoryClosureRepository.attachSubtree(category.getId(), newParent.getId());
+        }
+        shiftLevels(category, newParent, subtree);
+    }
+
+    /**
+     * 沿新父分类的 parent_id 链向上，经过要移动的分类即说明新父分类在其子树中（历史数据中已有的环路也会停止）
+     */
+    private void checkNotInSubtree(Category category, Category newParent) {
+        Set<Long> visited = new HashSet<>();
+        for (Category ancestor = newParent; ancestor != null && visited.add(ancestor.getId());
+             ancestor = ancestor.getParent()) {
+            if (ancestor.getId().equals(category.getId())) {
+                throw new RuntimeException("不能将分类移动到自身或其子分类下: " + newParent.getId());
+            }
+        }
+    }
+
+    private void shiftLevels(Category category, Category newParent, List<Long> subtree) {
+        int oldLevel = category.getLevel() == null ? 1 : category.getLevel();
+        int newLevel = (newParent.getLevel() == null ? 1 : newParent.getLevel()) + 1;
+        category.setParent(newParent);
+        category.setLevel(newLevel);
+
+        List<Long> descendants = subtree.stream()
+                .filter(descendantId -> !descendantId.equals(category.getId()))
+                .toList();
+        if (!descendants.isEmpty() && newLevel != oldLevel) {
+            categoryRepository.shiftLevel(descendants, newLevel - oldLevel);
+        }
+    }
+
+    /**
+     * 停用或删除分类时从闭包表中摘除，与 {@link #rebuildCategoryClosure()} 的规则一致：
+     * 先断开整棵子树与外部祖先的路径，再删除该节点自身的路径；仍启用的子分类各自成为独立的子树
+     */
+    private void detachClosureNode(Long id) {
+        List<Long> subtree = categoryClosureRepository.findDescendantIds(id);
+        if (subtree.isEmpty()) {
+            return;
+        }
+        categoryClosureRepository.detachSubtree(subtree);
+        categoryClosureRepository.deleteNode(id);
+    }
+
+    /**
+     * 重新启用分类时加回闭包表，并把仍启用的直接子分类（各自为独立子树）重新挂到该节点下
+     */
+    private void attachClosureNode(Category category) {
+        if (!categoryClosureRepository.findDescendantIds(category.getId()).isEmpty()) {
+            return;
+        }
+        Category parent = category.getParent();
+        insertClosureNode(category.getId(),
+                parent != null && Boolean.TRUE.equals(parent.getIsActive()) ? parent.getId() : null);
+        for (Category child : categoryRepository.findByParent_Id(category.getId())) {
+            if (Boolean.TRUE.equals(child.getIsActive())) {
+                categoryClosureRepository.attachSubtree(child.getId(), category.getId());
+            }
+        }
+    }
+
+    /**
+     * 按 parent_id 逐层查询子树（包含自身），用于不在闭包表中的已停用分类
+     */
+    private List<Long> subtreeIdsByParent(Long id) {
+        List<Long> subtree = new ArrayList<>(List.of(id));
+        Set<Long> visited = new HashSet<>(subtree);
+        for (int i = 0; i < subtree.size(); i++) {
+            for (Category child : categoryRepository.findByParent_Id(subtree.get(i))) {
+                // 历史数据中的 parent_id 环路不会重复展开
+                if (visited.add(child.getId())) {
+                    subtree.add(child.getId());
+                }
+            }
+        }
+        return subtree;
+    }
+
+    private void insertClosureNode(Long id, Long parentId) {
+        categoryClosureRepository.save(CategoryClosure.builder()
+                .ancestorId(id)
+                .descendantId(id)
+                .depth(0)
+                .build());
+        if (parentId != null) {
+            categoryClosureRepository.insertAncestorPaths(id, parentId);
+        }
+    }
+
     private CategoryDto convertToDto(Category category) {
         return CategoryDto.builder()
                 .id(category.getId())
@@ -217,6 +428,7 @@ public class CategoryServiceImpl implements CategoryService {
                 .level(category.getLevel())
                 .sortOrder(category.getSortOrder())
                 .isActive(category.getIsActive())
+                .postCount(category.getPostCount())
                 .description(category.getDescription())
                 .createdAt(category.getCreatedAt())
                 .updatedAt(category.getUpdatedAt())
@@ -0,0 +1,246 @@
+package com.xingmiao.blog.app.service.impl;
+
+import com.xingmiao.blog.app.config.DataSourceRouting;
+import com.xingmiao.blog.app.repository.CategoryRepository;
+import com.xingmiao.blog.app.repository.PostRepository;
+import com.xingmiao.blog.app.repository.TagRepository;
+import com.xingmiao.blog.app.repository.TombstoneRepository;
+import com.xingmiao.blog.app.service.CategoryService;
+import com.xingmiao.blog.app.service.ChangeFeedService;
+import com.xingmiao.blog.app.service.PostService;
+import com.xingmiao.blog.app.service.TagService;
+import com.xingmiao.blog.common.domain.entity.Tombstone;
+import com.xingmiao.blog.common.domain.enums.ChangeEntityType;
+import com.xingmiao.blog.common.domain.enums.ChangeOperation;
+import com.xingmiao.blog.common.domain.enums.Visibility;
+import com.xingmiao.blog.common.domain.event.EntityDeletedEvent;
+import com.xingmiao.blog.common.dto.ChangeFeed;
+import com.xingmiao.blog.common.dto.ChangeItem;
+import com.xingmiao.blog.common.dto.PostDto;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ChangeFeedServiceImpl implements ChangeFeedService {
+
+    /**
+     * 单页允许的最大变更数
+     */
+    public static final int MAX_LIMIT = 500;
+
+    private static final LocalDateTime BEGINNING = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final PostRepository postRepository;
+    private final CategoryRepository categoryRepository;
+    private final TagRepository tagRepository;
+    private final TombstoneRepository tombstoneRepository;
+    private final PostService postService;
+    private final CategoryService categoryService;
+    private final TagService tagService;
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 只返回早于「当前时间 - 该秒数」的变更：updatedAt 在刷新时赋值，提交可能晚于赋值，
+     * 留出窗口避免客户端游标越过尚未提交的变更
+     */
+    @Value("${blog.changes.settle-seconds:5}")
+    private long settleSeconds;
+
+    @Value("${blog.changes.tombstone-retention-days:30}")
+    private long tombstoneRetentionDays;
+
+    /**
+     * 变更来源，声明顺序即同一时间点内的排序顺序
+     */
+    private enum Source {
+        CATEGORY, TAG, POST, TOMBSTONE
+    }
+
+    /**
+     * 变更在流中的位置
+     */
+    private record Position(LocalDateTime at, Source source, long id) {
+
+        private static final Comparator<Position> ORDER = Comparator.comparing(Position::at)
+                .thenComparing(Position::source)
+                .thenComparingLong(Position::id);
+
+        /**
+         * 某个来源在本位置之后的扫描起点：时间相同时，排在游标来源之前的来源整体跳过，之后的来源整体包含
+         */
+        long afterIdFor(Source other) {
+            int order = other.compareTo(source);
+            return order == 0 ? id : order < 0 ? Long.MAX_VALUE : Long.MIN_VALUE;
+        }
+
+        String encode() {
+            String raw = at + "|" + source + "|" + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static Position decode(String cursor) {
+            if (cursor == null || cursor.isBlank()) {
+                return new Position(BEGINNING, Source.CATEGORY, Long.MIN_VALUE);
+            }
+            try {
+                String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+                return new Position(LocalDateTime.parse(parts[0]), Source.valueOf(parts[1]), Long.parseLong(parts[2]));
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("无效的游标:" + cursor, e);
+            }
+        }
+    }
+
+    private record Change(Position position, ChangeEntityType type, Long entityId, boolean deleted) {
+    }
+
+    @Override
+    public ChangeFeed getChanges(String cursor, int limit) {
+        Position after = Position.decode(cursor);
+        int size = Math.max(1, Math.min(limit, MAX_LIMIT));
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime until = now.minusSeconds(settleSeconds);
+        boolean resync = cursor != null && !cursor.isBlank()
+                && after.at().isBefore(now.minusDays(tombstoneRetentionDays));
+
+        // 游标按时间推进，副本延迟会让客户端永久错过变更，始终读主库
+        return DataSourceRouting.onPrimary(() -> {
+            List<Change> changes = scan(after, until, size + 1);
+            boolean hasMore = changes.size() > size;
+            List<Change> page = hasMore ? changes.subList(0, size) : changes;
+            // 空页说明截止时间之前的变更都已读完，游标推进到截止时间，长期没有变更时游标也不会过期
+            String next = page.isEmpty() ? watermark(after, until).encode()
+                    : page.get(page.size() - 1).position().encode();
+            return ChangeFeed.builder()
+                    .changes(toItems(page))
+                    .cursor(next)
+                    .hasMore(hasMore)
+                    .resync(resync)
+                    .build();
+        });
+    }
+
+    /**
+     * 截止时间上的游标：排在同一时间点所有来源之后
+     */
+    private Position watermark(Position after, LocalDateTime until) {
+        return until.isAfter(after.at()) ? new Position(until, Source.TOMBSTONE, Long.MAX_VALUE) : after;
+    }
+
+    /**
+     * 每个来源各取 limit 条后归并，取整体最前的 limit 条
+     */
+    private List<Change> scan(Position after, LocalDateTime until, int limit) {
+        Pageable first = PageRequest.of(0, limit);
+        List<Change> changes = new ArrayList<>();
+        for (Object[] row : categoryRepository.findChangedAfter(after.at(), after.afterIdFor(Source.CATEGORY), until, first)) {
+            changes.add(upsert(Source.CATEGORY, ChangeEntityType.CATEGORY, row, false));
+        }
+        for (Object[] row : tagRepository.findChangedAfter(after.at(), after.afterIdFor(Source.TAG), until, first)) {
+            changes.add(upsert(Source.TAG, ChangeEntityType.TAG, row, false));
+        }
+        for (Object[] row : postRepository.findChangedAfter(after.at(), after.afterIdFor(Source.POST), until, first)) {
+            // 软删除的文章仍在表中，以删除返回
+            changes.add(upsert(Source.POST, ChangeEntityType.POST, row, row[2] != null));
+        }
+        for (Tombstone tombstone : tombstoneRepository.findChangedAfter(after.at(), after.afterIdFor(Source.TOMBSTONE), until, first)) {
+            changes.add(new Change(new Position(tombstone.getDeletedAt(), Source.TOMBSTONE, tombstone.getId()),
+                    tombstone.getEntityType(), tombstone.getEntityId(), true));
+        }
+        changes.sort(Comparator.comparing(Change::position, Position.ORDER));
+        return changes.size() > limit ? new ArrayList<>(changes.subList(0, limit)) : changes;
+    }
+
+    private Change upsert(Source source, ChangeEntityType type, Object[] row, boolean deleted) {
+        Long id = (Long) row[0];
+        return new Change(new Position((LocalDateTime) row[1], source, id), type, id, deleted);
+    }
+
+    /**
+     * 批量加载新增或修改的实体；加载时已不存在的（扫描后被删除）按删除返回，随后的墓碑会再确认一次
+     */
+    private List<ChangeItem> toItems(List<Change> page) {
+        Map<Long, PostDto> posts = postService.getByIds(idsOf(page, ChangeEntityType.POST));
+        posts.values().forEach(this::maskProtected);
+        Map<Long, ?> categories = categoryService.getCategoriesByIds(idsOf(page, ChangeEntityType.CATEGORY));
+        Map<Long, ?> tags = tagService.getTagsByIds(idsOf(page, ChangeEntityType.TAG));
+
+        List<ChangeItem> items = new ArrayList<>(page.size());
+        for (Change change : page) {
+            Object data = null;
+            if (!change.deleted()) {
+                data = switch (change.type()) {
+                    case POST -> posts.get(change.entityId());
+                    case CATEGORY -> categories.get(change.entityId());
+                    case TAG -> tags.get(change.entityId());
+                };
+            }
+            items.add(ChangeItem.builder()
+                    .type(change.type())
+                    .id(change.entityId())
+                    .operation(data == null ? ChangeOperation.DELETE : ChangeOperation.UPSERT)
+                    .changedAt(change.position().at())
+                    .data(data)
+                    .build());
+        }
+        return items;
+    }
+
+    /**
+     * 变更流不校验访问令牌：不返回访问密码，密码保护文章不返回正文和目录，与列表、批量接口一致
+     */
+    private void maskProtected(PostDto post) {
+        post.setPassword(null);
+        if (post.getVisibility() == Visibility.PASSWORD) {
+            post.setContent(null);
+            post.setContentHtml(null);
+            post.setToc(null);
+        }
+    }
+
+    private List<Long> idsOf(List<Change> page, ChangeEntityType type) {
+        return page.stream()
+                .filter(change -> !change.deleted() && change.type() == type)
+                .map(Change::entityId)
+                .distinct()
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * 在删除所在事务内写入墓碑，与删除一起提交或回滚
+     */
+    @EventListener
+    public void onEntityDeleted(EntityDeletedEvent event) {
+        jdbcTemplate.update("INSERT INTO tombstones (entity_type, entity_id, deleted_at) VALUES (?, ?, ?)",
+                event.getEntityType().name(), event.getEntityId(), LocalDateTime.now());
+    }
+
+    @Override
+    @Transactional
+    @Scheduled(cron = "${blog.changes.tombstone-purge-cron:0 50 4 * * ?}")
+    public void purgeTombstones() {
+        int purged = tombstoneRepository.deleteByDeletedAtBefore(LocalDateTime.now().minusDays(tombstoneRetentionDays));
+        if (purged > 0) {
+            log.info("已清理过期墓碑 {} 条", purged);
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.xingmiao.blog.app.service.impl;
+
+import com.xingmiao.blog.app.config.DataSourceRouting;
+import com.xingmiao.blog.app.service.ContentCompressionService;
+import com.xingmiao.blog.common.domain.converter.CompressedText;
+import com.xingmiao.blog.common.dto.ContentCompressionStats;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+@Service
+@Slf4j
+public class ContentCompressionServiceImpl implements ContentCompressionService {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int minBytes;
+    private final int level;
+    private final int chunkSize;
+
+    private final LongAdder recompressedRows = new LongAdder();
+    private final LongAdder recompressedRawBytes = new LongAdder();
+    private final LongAdder recompressedStoredBytes = new LongAdder();
+
+    private volatile boolean recompressRequested;
+
+    public ContentCompressionServiceImpl(JdbcTemplate jdbcTemplate,
+                                         PlatformTransactionManager transactionManager,
+                                         @Value("${blog.content-compression.enabled:false}") boolean enabled,
+                                         @Value("${blog.content-compression.min-bytes:512}") int minBytes,
+                                         @Value("${blog.content-compression.level:6}") int level,
+                                         @Value("${blog.content-compression.chunk-size:100}") int chunkSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.minBytes = minBytes;
+        this.level = level;
+        this.chunkSize = Math.max(chunkSize, 1);
+    }
+
+    @Override
+    public ContentCompressionStats getStats() {
+        long[] counters = CompressedText.counters();
+        return ContentCompressionStats.builder()
+                .enabled(enabled)
+                .compressedWrites(counters[0])
+                .plainWrites(counters[1])
+                .rawBytes(counters[2])
+                .storedBytes(counters[3])
+                .compressedReads(counters[4])
+                .plainReads(counters[5])
+                .recompressedRows(recompressedRows.sum())
+                .recompressedRawBytes(recompressedRawBytes.sum())
+                .recompressedStoredBytes(recompressedStoredBytes.sum())
+                .build();
+    }
+
+    @Override
+    public void requestRecompress() {
+        recompressRequested = true;
+    }
+
+    /**
+     * 启动后检查一次：压缩启用压缩之前保存的正文
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initRecompress() {
+        requestRecompress();
+    }
+
+    /**
+     * 后台任务：按文章ID顺序分批扫描正文，压缩仍以明文保存的部分（读写主库）
+     */
+    @Scheduled(fixedDelayString = "${blog.content-compression.flush-delay-ms:10000}")
+    public synchronized void flushDirty() {
+        if (!recompressRequested) {
+            return;
+        }
+        recompressRequested = false;
+        if (!enabled) {
+            return;
+        }
+        DataSourceRouting.onPrimary(this::recompress);
+    }
+
+    private void recompress() {
+        long start = System.currentTimeMillis();
+        long rawBefore = recompressedRawBytes.sum();
+        long storedBefore = recompressedStoredBytes.sum();
+        int compressed = 0;
+        long[] lastId = {0};
+        while (true) {
+            Integer rows = transactionTemplate.execute(status -> recompressChunk(lastId));
+            if (rows == null || rows < 0) {
+                break;
+            }
+            compressed += rows;
+        }
+        if (compressed > 0) {
+            log.info("历史正文压缩完成，文章数:{} 字节数:{} → {} 耗时:{}ms", compressed,
+                    recompressedRawBytes.sum() - rawBefore, recompressedStoredBytes.sum() - storedBefore,
+                    System.currentTimeMillis() - start);
+        }
+    }
+
+    /**
+     * 锁定并压缩 lastId 之后的一批正文，推进 lastId
+     *
+     * @return 本批压缩的正文数，没有剩余正文时返回 -1
+     */
+    private int recompressChunk(long[] lastId) {
+        List<Object[]> rows = jdbcTemplate.query(
+                "SELECT post_id, content FROM post_contents WHERE post_id > ? ORDER BY post_id LIMIT ? FOR UPDATE",
+                (rs, i) -> new Object[]{rs.getLong(1), rs.getBytes(2)},
+                lastId[0], chunkSize);
+        if (rows.isEmpty()) {
+            return -1;
+        }
+        lastId[0] = (Long) rows.get(rows.size() - 1)[0];
+
+        List<Object[]> updates = new ArrayList<>();
+        for (Object[] row : rows) {
+            byte[] stored = (byte[]) row[1];
+            if (stored == null || stored.length < minBytes || CompressedText.isCompressed(stored)) {
+                continue;
+            }
+            byte[] compressed = CompressedText.encode(new String(stored, StandardCharsets.UTF_8), true, minBytes, level);
+            if (!CompressedText.isCompressed(compressed)) {
+                // 压缩没有收益，保持明文
+                continue;
+            }
+            updates.add(new Object[]{compressed, row[0]});
+            recompressedRawBytes.add(stored.length);
+            recompressedStoredBytes.add(compressed.length);
+        }
+        if (!updates.isEmpty()) {
+            jdbcTemplate.batchUpdate("UPDATE post_contents SET content = ? WHERE post_id = ?", updates);
+            recompressedRows.add(updates.size());
+        }
+        return updates.size();
+    }
+}
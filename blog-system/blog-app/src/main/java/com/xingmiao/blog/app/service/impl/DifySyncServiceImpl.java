@@ -1,6 +1,7 @@
 package com.xingmiao.blog.app.service.impl;
 
 import com.xingmiao.blog.app.repository.CategoryRepository;
+import com.xingmiao.blog.app.repository.PostContentRepository;
 import com.xingmiao.blog.app.repository.PostRepository;
 import com.xingmiao.blog.app.service.DifySyncService;
 import com.xingmiao.blog.common.domain.entity.Category;
@@ -8,11 +9,13 @@ import com.xingmiao.blog.common.domain.entity.Post;
 import com.xingmiao.blog.common.domain.enums.PostStatus;
 import com.xingmiao.blog.common.domain.enums.SyncStatus;
 import com.xingmiao.blog.common.domain.enums.Visibility;
+import com.xingmiao.blog.common.domain.event.PostChangedEvent;
 import com.xingmiao.blog.ai.client.DifyApiClient;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -31,8 +34,10 @@ public class DifySyncServiceImpl implements DifySyncService {
 
     private final CategoryRepository categoryRepository;
     private final PostRepository postRepository;
+    private final PostContentRepository postContentRepository;
     private final DifyApiClient difyApiClient;
     private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Async
@@ -429,6 +434,22 @@ public class DifySyncServiceImpl implements DifySyncService {
         }
     }
 
+    @Override
+    @Async
+    public void syncPosts(Long categoryId, List<Long> postIds) {
+        log.info("开始批量同步文章，分类ID:{} 文章数量:{}", categoryId, postIds.size());
+        int failed = 0;
+        for (Long postId : postIds) {
+            try {
+                // 同类内部调用不经过代理，逐篇同步在当前任务线程中执行
+                syncPost(postId);
+            } catch (Exception e) {
+                failed++;
+                log.error("批量同步文章失败，文章ID:{}", postId, e);
+            }
+        }
+        log.info("批量同步文章完成，分类ID:{} 文章数量:{} 失败:{}", categoryId, postIds.size(), failed);
+    }
 
     // ========== Post辅助方法 ==========
     
@@ -500,7 +521,7 @@ public class DifySyncServiceImpl implements DifySyncService {
             content.append("摘要: ").append(post.getExcerpt()).append("\n\n");
         }
         
-        content.append("内容: ").append(post.getContent()).append("\n\n");
+        content.append("内容: ").append(postContentRepository.findContentByPostId(post.getId()).orElse("")).append("\n\n");
         
         if (post.getMetaKeywords() != null && !post.getMetaKeywords().isEmpty()) {
             content.append("标签: ").append(post.getMetaKeywords()).append("\n\n");
@@ -514,14 +535,15 @@ public class DifySyncServiceImpl implements DifySyncService {
     }
     
     /**
-     * 应用文章同步成功
+     * 应用文章同步成功（按列更新，不触碰文章版本号）
      */
     @Transactional
     protected void applyPostUpsertSuccess(Post post, String difyDocumentId) {
         post.setDifyDocumentId(difyDocumentId);
         post.setSyncStatus(SyncStatus.SYNCED);
         post.setSyncError(null);
-        postRepository.save(post);
+        publishSyncChanged(post.getId(),
+                postRepository.updateSyncState(post.getId(), difyDocumentId, SyncStatus.SYNCED, null));
     }
     
     /**
@@ -529,11 +551,7 @@ public class DifySyncServiceImpl implements DifySyncService {
      */
     @Transactional
     protected void applyPostUpsertFailure(Long postId, String errorMsg) {
-        postRepository.findById(postId).ifPresent(p -> {
-            p.setSyncStatus(SyncStatus.UNSYNCED);
-            p.setSyncError(truncate(errorMsg));
-            postRepository.save(p);
-        });
+        publishSyncChanged(postId, postRepository.updateSyncStatus(postId, SyncStatus.UNSYNCED, truncate(errorMsg)));
     }
     
     /**
@@ -544,7 +562,7 @@ public class DifySyncServiceImpl implements DifySyncService {
         post.setDifyDocumentId(null);
         post.setSyncStatus(SyncStatus.UNSYNCED);
         post.setSyncError(null);
-        postRepository.save(post);
+        publishSyncChanged(post.getId(), postRepository.updateSyncState(post.getId(), null, SyncStatus.UNSYNCED, null));
     }
     
     /**
@@ -552,10 +570,16 @@ public class DifySyncServiceImpl implements DifySyncService {
      */
     @Transactional
     protected void applyPostDeleteFailure(Long postId, String errorMsg) {
-        postRepository.findById(postId).ifPresent(p -> {
-            p.setSyncError(truncate(errorMsg));
-            postRepository.save(p);
-        });
+        publishSyncChanged(postId, postRepository.updateSyncError(postId, truncate(errorMsg)));
+    }
+
+    /**
+     * 同步状态是 JPQL 批量更新，不经过实体监听器，单独发布变更事件，提交后刷新响应缓存、快照和列表版本
+     */
+    private void publishSyncChanged(Long postId, int updated) {
+        if (updated > 0) {
+            eventPublisher.publishEvent(new PostChangedEvent(postId, false));
+        }
     }
 
 }
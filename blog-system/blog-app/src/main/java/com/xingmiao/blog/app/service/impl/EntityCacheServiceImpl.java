@@ -0,0 +1,55 @@
+package com.xingmiao.blog.app.service.impl;
+
+import com.xingmiao.blog.app.service.EntityCacheService;
+import com.xingmiao.blog.common.dto.CacheRegionStats;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class EntityCacheServiceImpl implements EntityCacheService {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Override
+    public List<CacheRegionStats> getRegionStats() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        if (!statistics.isStatisticsEnabled()) {
+            // 未开启统计时计数恒为 0，返回空列表而不是误导性的零命中
+            return List.of();
+        }
+        List<CacheRegionStats> result = new ArrayList<>();
+        String[] regions = statistics.getSecondLevelCacheRegionNames();
+        Arrays.sort(regions);
+        for (String region : regions) {
+            CacheRegionStatistics stats = statistics.getCacheRegionStatistics(region);
+            if (stats == null) {
+                continue;
+            }
+            result.add(CacheRegionStats.builder()
+                    .region(region)
+                    .hitCount(stats.getHitCount())
+                    .missCount(stats.getMissCount())
+                    .putCount(stats.getPutCount())
+                    .build());
+        }
+        return result;
+    }
+
+    @Override
+    public void evictAll() {
+        entityManagerFactory.getCache().evictAll();
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictQueryRegions();
+        log.info("已清空 Hibernate 二级缓存和查询缓存");
+    }
+}
@@ -1,11 +1,15 @@
 package com.xingmiao.blog.app.service.impl;
 
 import com.xingmiao.blog.common.domain.entity.Like;
+import com.xingmiao.blog.common.domain.enums.EngagementType;
 import com.xingmiao.blog.common.domain.enums.LikeTargetType;
+import com.xingmiao.blog.common.domain.event.PostChangedEvent;
+import com.xingmiao.blog.common.domain.event.PostEngagementEvent;
 import com.xingmiao.blog.app.repository.LikeRepository;
-import com.xingmiao.blog.app.repository.PostRepository;
+import com.xingmiao.blog.app.repository.PostStatsRepository;
 import com.xingmiao.blog.app.service.LikeService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -16,7 +20,8 @@ import java.time.LocalDateTime;
 public class LikeServiceImpl implements LikeService {
 
     private final LikeRepository likeRepository;
-    private final PostRepository postRepository;
+    private final PostStatsRepository postStatsRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional
@@ -33,12 +38,10 @@ public class LikeServiceImpl implements LikeService {
                 .build();
         likeRepository.save(like);
         
-        // 如果是文章点赞，更新文章的点赞数
-        if (targetType == LikeTargetType.POST) {
-            postRepository.findById(targetId).ifPresent(post -> {
-                post.setLikeCount((post.getLikeCount() != null ? post.getLikeCount() : 0L) + 1);
-                postRepository.save(post);
-            });
+        // 如果是文章点赞，原子递增 post_stats 中的点赞数（不锁文章行），提交后刷新文章响应缓存
+        if (targetType == LikeTargetType.POST && postStatsRepository.incrementLikeCount(targetId, 1) > 0) {
+            eventPublisher.publishEvent(new PostChangedEvent(targetId, false));
+            eventPublisher.publishEvent(new PostEngagementEvent(targetId, EngagementType.LIKE));
         }
     }
 
@@ -49,13 +52,10 @@ public class LikeServiceImpl implements LikeService {
                 .ifPresent(like -> {
                     likeRepository.delete(like);
                     
-                    // 如果是文章取消点赞，更新文章的点赞数
-                    if (targetType == LikeTargetType.POST) {
-                        postRepository.findById(targetId).ifPresent(post -> {
-                            Long currentLikeCount = post.getLikeCount() != null ? post.getLikeCount() : 0L;
-                            post.setLikeCount(Math.max(0L, currentLikeCount - 1));
-                            postRepository.save(post);
-                        });
+                    // 如果是文章取消点赞，原子递减点赞数
+                    if (targetType == LikeTargetType.POST && postStatsRepository.incrementLikeCount(targetId, -1) > 0) {
+                        eventPublisher.publishEvent(new PostChangedEvent(targetId, false));
+                        eventPublisher.publishEvent(new PostEngagementEvent(targetId, EngagementType.UNLIKE));
                     }
                 });
     }
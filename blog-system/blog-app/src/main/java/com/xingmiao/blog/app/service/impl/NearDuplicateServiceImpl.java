@@ -0,0 +1,217 @@
+package com.xingmiao.blog.app.service.impl;
+
+import com.xingmiao.blog.app.config.DataSourceRouting;
+import com.xingmiao.blog.app.repository.PostContentRepository;
+import com.xingmiao.blog.app.repository.PostRepository;
+import com.xingmiao.blog.app.service.NearDuplicateService;
+import com.xingmiao.blog.app.similarity.SimHash;
+import com.xingmiao.blog.app.similarity.SimHashIndex;
+import com.xingmiao.blog.common.domain.entity.Post;
+import com.xingmiao.blog.common.domain.event.PostChangedEvent;
+import com.xingmiao.blog.common.dto.NearDuplicate;
+import com.xingmiao.blog.common.dto.NearDuplicatePair;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@Slf4j
+public class NearDuplicateServiceImpl implements NearDuplicateService {
+
+    /**
+     * 创建、修改响应中最多列出的相近文章数
+     */
+    private static final int MAX_REPORTED = 10;
+
+    /**
+     * 补算、同步指纹时每批处理的文章数
+     */
+    private static final int CHUNK_SIZE = 200;
+
+    private final PostRepository postRepository;
+    private final PostContentRepository postContentRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final SimHashIndex index;
+
+    /**
+     * 已提交但尚未同步到查找表的文章
+     */
+    private final Set<Long> pendingPosts = ConcurrentHashMap.newKeySet();
+
+    public NearDuplicateServiceImpl(PostRepository postRepository,
+                                    PostContentRepository postContentRepository,
+                                    PlatformTransactionManager transactionManager,
+                                    @Value("${blog.near-duplicate.max-distance:6}") int maxDistance) {
+        this.postRepository = postRepository;
+        this.postContentRepository = postContentRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.index = new SimHashIndex(maxDistance);
+    }
+
+    @Override
+    public List<NearDuplicate> findNearDuplicates(Long postId, long fingerprint) {
+        if (fingerprint == SimHash.NONE) {
+            return List.of();
+        }
+        applyPending();
+        List<SimHashIndex.Match> matches = index.query(fingerprint, postId == null ? 0 : postId);
+        if (matches.isEmpty()) {
+            return List.of();
+        }
+        if (matches.size() > MAX_REPORTED) {
+            matches = matches.subList(0, MAX_REPORTED);
+        }
+        Map<Long, Post> posts = postRepository.findAllById(matches.stream().map(SimHashIndex.Match::postId).toList())
+                .stream()
+                .collect(Collectors.toMap(Post::getId, Function.identity()));
+        List<NearDuplicate> duplicates = new ArrayList<>();
+        for (SimHashIndex.Match match : matches) {
+            Post post = posts.get(match.postId());
+            if (post == null || post.getDeletedAt() != null) {
+                continue;
+            }
+            duplicates.add(NearDuplicate.builder()
+                    .postId(post.getId())
+                    .title(post.getTitle())
+                    .slug(post.getSlug())
+                    .distance(match.distance())
+                    .build());
+        }
+        return duplicates;
+    }
+
+    @Override
+    public List<NearDuplicatePair> findPairs(Collection<Long> postIds) {
+        applyPending();
+        List<NearDuplicatePair> pairs = new ArrayList<>();
+        if (postIds == null || postIds.isEmpty()) {
+            index.forEachPair((postId, otherPostId, distance) -> pairs.add(pair(postId, otherPostId, distance)));
+        } else {
+            Set<Long> requested = new HashSet<>(postIds);
+            for (Long postId : requested) {
+                long fingerprint = index.fingerprintOf(postId);
+                if (fingerprint == SimHash.NONE) {
+                    continue;
+                }
+                for (SimHashIndex.Match match : index.query(fingerprint, postId)) {
+                    // 两篇都在请求中时只由ID较小的一篇报告
+                    if (!requested.contains(match.postId()) || postId < match.postId()) {
+                        pairs.add(pair(Math.min(postId, match.postId()), Math.max(postId, match.postId()), match.distance()));
+                    }
+                }
+            }
+        }
+        pairs.sort(Comparator.comparing(NearDuplicatePair::getDistance)
+                .thenComparing(NearDuplicatePair::getPostId)
+                .thenComparing(NearDuplicatePair::getDuplicatePostId));
+        return pairs;
+    }
+
+    /**
+     * 启动后补算缺失的指纹（升级前的历史文章），再把全部指纹加载到查找表
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadIndex() {
+        DataSourceRouting.onPrimary(() -> {
+            backfill();
+            int loaded = 0;
+            for (Object[] row : postContentRepository.findAllSimHashes()) {
+                long fingerprint = (Long) row[1];
+                if (fingerprint != SimHash.NONE) {
+                    index.put((Long) row[0], fingerprint);
+                    loaded++;
+                }
+            }
+            log.info("正文指纹已加载，文章数量:{}", loaded);
+        });
+    }
+
+    /**
+     * 文章写入提交后标记为待同步：覆盖创建、修改正文、导入、删除、恢复等所有写入路径；
+     * 点赞、同步状态等不涉及内容的变更直接忽略。不在请求线程上逐篇查询，导入等批量写入合并为一次查询
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostChanged(PostChangedEvent event) {
+        if (event.getPostId() != null && event.isContentChanged()) {
+            pendingPosts.add(event.getPostId());
+        }
+    }
+
+    /**
+     * 后台任务：把待同步的文章指纹批量写入查找表
+     */
+    @Scheduled(fixedDelayString = "${blog.near-duplicate.flush-delay-ms:5000}")
+    public void flushPending() {
+        applyPending();
+    }
+
+    /**
+     * 批量读取待同步文章的指纹（读主库）；查询结果中没有的文章已删除，从查找表移除。
+     * 查询前先把取出的文章从待同步集合移除，期间新提交的变更留给下一次
+     */
+    private void applyPending() {
+        if (pendingPosts.isEmpty()) {
+            return;
+        }
+        List<Long> postIds = new ArrayList<>(pendingPosts);
+        pendingPosts.removeAll(postIds);
+        Map<Long, Long> fingerprints = new HashMap<>();
+        for (int from = 0; from < postIds.size(); from += CHUNK_SIZE) {
+            List<Long> chunk = postIds.subList(from, Math.min(from + CHUNK_SIZE, postIds.size()));
+            for (Object[] row : DataSourceRouting.onPrimary(() -> postContentRepository.findSimHashes(chunk))) {
+                if (row[1] != null) {
+                    fingerprints.put((Long) row[0], (Long) row[1]);
+                }
+            }
+        }
+        for (Long postId : postIds) {
+            Long fingerprint = fingerprints.get(postId);
+            if (fingerprint != null && fingerprint != SimHash.NONE) {
+                index.put(postId, fingerprint);
+            } else {
+                index.remove(postId);
+            }
+        }
+    }
+
+    private void backfill() {
+        List<Long> postIds = postContentRepository.findIdsWithoutSimHash();
+        for (int from = 0; from < postIds.size(); from += CHUNK_SIZE) {
+            List<Long> chunk = postIds.subList(from, Math.min(from + CHUNK_SIZE, postIds.size()));
+            transactionTemplate.executeWithoutResult(status -> {
+                for (Object[] row : postContentRepository.findContentsByPostIds(chunk)) {
+                    postContentRepository.updateSimHash((Long) row[0], SimHash.fingerprint((String) row[1]));
+                }
+            });
+        }
+        if (!postIds.isEmpty()) {
+            log.info("已补算正文指纹，文章数量:{}", postIds.size());
+        }
+    }
+
+    private NearDuplicatePair pair(long postId, long otherPostId, int distance) {
+        return NearDuplicatePair.builder()
+                .postId(postId)
+                .duplicatePostId(otherPostId)
+                .distance(distance)
+                .build();
+    }
+}
@@ -0,0 +1,200 @@
+package com.xingmiao.blog.app.service.impl;
+
+import com.xingmiao.blog.app.config.CacheConfig;
+import com.xingmiao.blog.app.repository.CategoryRepository;
+import com.xingmiao.blog.app.repository.PostRepository;
+import com.xingmiao.blog.app.repository.PostTagRepository;
+import com.xingmiao.blog.app.repository.TagRepository;
+import com.xingmiao.blog.app.service.PostCounterService;
+import com.xingmiao.blog.common.domain.entity.Category;
+import com.xingmiao.blog.common.domain.entity.Post;
+import com.xingmiao.blog.common.domain.entity.Tag;
+import com.xingmiao.blog.common.domain.enums.PostStatus;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class PostCounterServiceImpl implements PostCounterService {
+
+    private final CategoryRepository categoryRepository;
+    private final TagRepository tagRepository;
+    private final PostRepository postRepository;
+    private final PostTagRepository postTagRepository;
+    private final CacheManager cacheManager;
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Override
+    public boolean isCounted(Post post) {
+        return post.getDeletedAt() == null && post.getStatus() == PostStatus.PUBLISHED;
+    }
+
+    @Override
+    public void onCounted(Long categoryId, Collection<Long> tagIds) {
+        adjustCategory(categoryId, 1);
+        adjustTags(tagIds, 1);
+    }
+
+    @Override
+    public void onCounted(Map<Long, Integer> categoryCounts, Map<Long, Integer> tagCounts) {
+        categoryCounts.forEach(this::adjustCategory);
+        // 相同增量的标签合并为一条更新语句
+        Map<Integer, List<Long>> tagsByDelta = new HashMap<>();
+        tagCounts.forEach((tagId, delta) -> tagsByDelta.computeIfAbsent(delta, d -> new ArrayList<>()).add(tagId));
+        tagsByDelta.forEach((delta, tagIds) -> adjustTags(tagIds, delta));
+    }
+
+    @Override
+    public void onUncounted(Long categoryId, Collection<Long> tagIds) {
+        adjustCategory(categoryId, -1);
+        adjustTags(tagIds, -1);
+    }
+
+    @Override
+    public void onChanged(Long oldCategoryId, Collection<Long> oldTagIds, boolean wasCounted,
+                          Long newCategoryId, Collection<Long> newTagIds, boolean nowCounted) {
+        if (wasCounted && nowCounted) {
+            if (!Objects.equals(oldCategoryId, newCategoryId)) {
+                adjustCategory(oldCategoryId, -1);
+                adjustCategory(newCategoryId, 1);
+            }
+            Set<Long> removed = new HashSet<>(oldTagIds);
+            removed.removeAll(newTagIds);
+            Set<Long> added = new HashSet<>(newTagIds);
+            added.removeAll(oldTagIds);
+            adjustTags(removed, -1);
+            adjustTags(added, 1);
+            return;
+        }
+        if (wasCounted) {
+            onUncounted(oldCategoryId, oldTagIds);
+        }
+        if (nowCounted) {
+            onCounted(newCategoryId, newTagIds);
+        }
+    }
+
+    @Override
+    @Scheduled(cron = "${blog.counters.reconcile-cron:0 30 4 * * ?}")
+    public void reconcile() {
+        Map<Long, Integer> actualCategories = toCountMap(postRepository.countGroupByCategory(PostStatus.PUBLISHED));
+        int fixedCategories = 0;
+        for (Category category : categoryRepository.findAll()) {
+            int expected = actualCategories.getOrDefault(category.getId(), 0);
+            if (!Objects.equals(category.getPostCount(), expected)) {
+                categoryRepository.updatePostCount(category.getId(), expected);
+                evictAfterCommit(Category.class, List.of(category.getId()));
+                fixedCategories++;
+            }
+        }
+
+        Map<Long, Integer> actualTags = toCountMap(postTagRepository.countGroupByTag(PostStatus.PUBLISHED));
+        int fixedTags = 0;
+        for (Tag tag : tagRepository.findAll()) {
+            int expected = actualTags.getOrDefault(tag.getId(), 0);
+            if (!Objects.equals(tag.getPostCount(), expected)) {
+                tagRepository.updatePostCount(tag.getId(), expected);
+                evictAfterCommit(Tag.class, List.of(tag.getId()));
+                fixedTags++;
+            }
+        }
+
+        if (fixedTags > 0) {
+            evictTagCloudAfterCommit();
+        }
+        if (fixedCategories > 0 || fixedTags > 0) {
+            log.info("文章计数校准完成，修正分类数量:{} 修正标签数量:{}", fixedCategories, fixedTags);
+        }
+    }
+
+    /**
+     * 启动时校准一次，覆盖升级前的历史数据
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconcileOnStartup() {
+        reconcile();
+    }
+
+    private void adjustCategory(Long categoryId, int delta) {
+        if (categoryId != null) {
+            categoryRepository.incrementPostCount(categoryId, delta);
+            evictAfterCommit(Category.class, List.of(categoryId));
+        }
+    }
+
+    private void adjustTags(Collection<Long> tagIds, int delta) {
+        if (tagIds == null || tagIds.isEmpty()) {
+            return;
+        }
+        tagRepository.incrementPostCount(tagIds, delta);
+        evictAfterCommit(Tag.class, List.copyOf(tagIds));
+        evictTagCloudAfterCommit();
+    }
+
+    /**
+     * 计数由原生语句直接更新，二级缓存中只有这些实体过期；事务提交后逐条失效，
+     * 避免提交前其他事务读到旧值重新放入缓存
+     */
+    private void evictAfterCommit(Class<?> entityClass, List<Long> ids) {
+        jakarta.persistence.Cache cache = entityManagerFactory.getCache();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            ids.forEach(id -> cache.evict(entityClass, id));
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                ids.forEach(id -> cache.evict(entityClass, id));
+            }
+        });
+    }
+
+    /**
+     * 标签云权重依赖文章数，计数变化后（事务提交后）使缓存失效
+     */
+    private void evictTagCloudAfterCommit() {
+        Cache cache = cacheManager.getCache(CacheConfig.TAG_CLOUD);
+        if (cache == null) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            cache.clear();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                cache.clear();
+            }
+        });
+    }
+
+    private Map<Long, Integer> toCountMap(List<Object[]> rows) {
+        Map<Long, Integer> counts = new HashMap<>();
+        for (Object[] row : rows) {
+            counts.put((Long) row[0], ((Long) row[1]).intValue());
+        }
+        return counts;
+    }
+}
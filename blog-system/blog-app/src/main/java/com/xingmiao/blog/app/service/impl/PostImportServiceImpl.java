@@ -0,0 +1,243 @@
+package com.xingmiao.blog.app.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.xingmiao.blog.app.analysis.ContentAnalysis;
+import com.xingmiao.blog.app.analysis.ContentAnalyzer;
+import com.xingmiao.blog.app.analysis.TocJson;
+import com.xingmiao.blog.app.render.ContentHash;
+import com.xingmiao.blog.app.repository.CategoryRepository;
+import com.xingmiao.blog.app.repository.PostContentRepository;
+import com.xingmiao.blog.app.repository.PostRepository;
+import com.xingmiao.blog.app.repository.PostStatsRepository;
+import com.xingmiao.blog.app.repository.PostTagRepository;
+import com.xingmiao.blog.app.repository.TagRepository;
+import com.xingmiao.blog.app.service.DifySyncService;
+import com.xingmiao.blog.app.service.PostCounterService;
+import com.xingmiao.blog.app.service.PostImportService;
+import com.xingmiao.blog.app.service.PostRenderService;
+import com.xingmiao.blog.app.similarity.SimHash;
+import com.xingmiao.blog.common.domain.entity.Post;
+import com.xingmiao.blog.common.domain.entity.PostContent;
+import com.xingmiao.blog.common.domain.entity.PostStats;
+import com.xingmiao.blog.common.domain.entity.PostTag;
+import com.xingmiao.blog.common.dto.PostCreateRequest;
+import com.xingmiao.blog.common.dto.PostImportResult;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PostImportServiceImpl implements PostImportService {
+
+    private final PostRepository postRepository;
+    private final PostContentRepository postContentRepository;
+    private final PostStatsRepository postStatsRepository;
+    private final PostTagRepository postTagRepository;
+    private final CategoryRepository categoryRepository;
+    private final TagRepository tagRepository;
+    private final PostCounterService postCounterService;
+    private final DifySyncService difySyncService;
+    private final PostRenderService postRenderService;
+    private final PlatformTransactionManager transactionManager;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+
+    /**
+     * 每批提交的记录数，与 JDBC 批量大小一致
+     */
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int batchSize;
+
+    @Override
+    public int importPosts(BufferedReader reader, Consumer<PostImportResult> listener) throws IOException {
+        Set<String> slugs = new HashSet<>(postRepository.findAllSlugs());
+        Set<Long> categoryIds = new HashSet<>(categoryRepository.findAllIds());
+        Set<Long> tagIds = new HashSet<>(tagRepository.findAllIds());
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        Batch batch = new Batch();
+        Map<Long, List<Long>> createdByCategory = new LinkedHashMap<>();
+        int created = 0;
+        int lineNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (!StringUtils.hasText(line)) {
+                continue;
+            }
+            PostCreateRequest request;
+            try {
+                request = objectMapper.readValue(line, PostCreateRequest.class);
+            } catch (JsonProcessingException e) {
+                batch.results.add(PostImportResult.failed(lineNumber, 400, null, "JSON格式错误:" + e.getOriginalMessage()));
+                continue;
+            }
+            String error = validate(request, categoryIds, tagIds);
+            if (error != null) {
+                batch.results.add(PostImportResult.failed(lineNumber, 400, request.getSlug(), error));
+            } else if (!slugs.add(request.getSlug())) {
+                batch.results.add(PostImportResult.failed(lineNumber, 409, request.getSlug(),
+                        "当前Slug已经存在，Slug不能重复:" + request.getSlug()));
+            } else {
+                batch.add(lineNumber, request);
+                if (batch.requests.size() >= batchSize) {
+                    created += flush(batch, transactionTemplate, slugs, createdByCategory, listener);
+                    batch = new Batch();
+                }
+            }
+        }
+        created += flush(batch, transactionTemplate, slugs, createdByCategory, listener);
+
+        // 每个分类一个同步任务；没有分类的文章没有对应知识库，不需要同步
+        createdByCategory.forEach(difySyncService::syncPosts);
+        // 导入时不逐篇渲染 Markdown，交给后台任务批量处理
+        if (created > 0) {
+            postRenderService.requestRerender();
+        }
+        log.info("文章批量导入完成，读取 {} 行，创建 {} 篇", lineNumber, created);
+        return created;
+    }
+
+    private String validate(PostCreateRequest request, Set<Long> categoryIds, Set<Long> tagIds) {
+        Set<ConstraintViolation<PostCreateRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            return violations.stream().map(ConstraintViolation::getMessage).sorted().collect(Collectors.joining("; "));
+        }
+        if (!StringUtils.hasText(request.getSlug())) {
+            return "别名不能为空";
+        }
+        if (request.getCategoryId() != null && !categoryIds.contains(request.getCategoryId())) {
+            return "当前分类不存在,CategoryId:" + request.getCategoryId();
+        }
+        if (request.getTagIds() != null) {
+            Set<Long> missing = new LinkedHashSet<>(request.getTagIds());
+            missing.removeAll(tagIds);
+            if (!missing.isEmpty()) {
+                return "标签不存在,TagId:" + missing;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 在一个事务中写入整批记录并按行号顺序回调结果；事务失败时整批记为失败，并释放占用的别名
+     */
+    private int flush(Batch batch, TransactionTemplate transactionTemplate, Set<String> slugs,
+                      Map<Long, List<Long>> createdByCategory, Consumer<PostImportResult> listener) {
+        int created = 0;
+        if (!batch.requests.isEmpty()) {
+            try {
+                List<Post> posts = transactionTemplate.execute(status -> insert(batch.requests));
+                for (int i = 0; i < posts.size(); i++) {
+                    Post post = posts.get(i);
+                    batch.results.add(PostImportResult.created(batch.lines.get(i), post.getId(), post.getSlug()));
+                    if (post.getCategory() != null) {
+                        createdByCategory.computeIfAbsent(post.getCategory().getId(), id -> new ArrayList<>())
+                                .add(post.getId());
+                    }
+                }
+                created = posts.size();
+            } catch (RuntimeException e) {
+                log.error("文章批量导入写入失败，行号:{}-{}", batch.lines.get(0), batch.lines.get(batch.lines.size() - 1), e);
+                for (int i = 0; i < batch.requests.size(); i++) {
+                    String slug = batch.requests.get(i).getSlug();
+                    slugs.remove(slug);
+                    batch.results.add(PostImportResult.failed(batch.lines.get(i), 500, slug, "写入失败:" + e.getMessage()));
+                }
+            }
+        }
+        batch.results.sort((a, b) -> Integer.compare(a.getLine(), b.getLine()));
+        batch.results.forEach(listener);
+        return created;
+    }
+
+    private List<Post> insert(List<PostCreateRequest> requests) {
+        List<Post> posts = new ArrayList<>(requests.size());
+        List<PostContent> contents = new ArrayList<>(requests.size());
+        List<PostStats> stats = new ArrayList<>(requests.size());
+        List<PostTag> postTags = new ArrayList<>();
+        Map<Long, Integer> categoryCounts = new HashMap<>();
+        Map<Long, Integer> tagCounts = new HashMap<>();
+
+        for (PostCreateRequest request : requests) {
+            Post post = Post.builder()
+                    .title(request.getTitle())
+                    .slug(request.getSlug())
+                    .excerpt(request.getExcerpt())
+                    .contentType(request.getContentType())
+                    .status(request.getStatus())
+                    .visibility(request.getVisibility())
+                    .password(request.getPassword())
+                    .category(request.getCategoryId() == null ? null : categoryRepository.getReferenceById(request.getCategoryId()))
+                    .coverImageUrl(request.getCoverImageUrl())
+                    .metaTitle(request.getMetaTitle())
+                    .metaDescription(request.getMetaDescription())
+                    .metaKeywords(request.getMetaKeywords())
+                    .build();
+            ContentAnalysis analysis = ContentAnalyzer.analyze(request.getContent(), request.getContentType());
+            post.setWordCount(analysis.wordCount());
+            post.setReadingMinutes(analysis.readingMinutes());
+            posts.add(post);
+            contents.add(PostContent.builder().post(post).content(request.getContent())
+                    .simhash(SimHash.fingerprint(request.getContent()))
+                    .contentHash(ContentHash.of(request.getContent()))
+                    .toc(TocJson.write(analysis.toc())).build());
+            stats.add(PostStats.builder().post(post).build());
+
+            Set<Long> postTagIds = request.getTagIds() == null ? Set.of() : new LinkedHashSet<>(request.getTagIds());
+            for (Long tagId : postTagIds) {
+                postTags.add(PostTag.builder().post(post).tag(tagRepository.getReferenceById(tagId)).build());
+            }
+            if (postCounterService.isCounted(post)) {
+                if (request.getCategoryId() != null) {
+                    categoryCounts.merge(request.getCategoryId(), 1, Integer::sum);
+                }
+                postTagIds.forEach(tagId -> tagCounts.merge(tagId, 1, Integer::sum));
+            }
+        }
+
+        // 主键从号段预取，以下插入在提交时按表合并为 JDBC 批量语句
+        postRepository.saveAll(posts);
+        postContentRepository.saveAll(contents);
+        postStatsRepository.saveAll(stats);
+        postTagRepository.saveAll(postTags);
+        postCounterService.onCounted(categoryCounts, tagCounts);
+        return posts;
+    }
+
+    /**
+     * 一批待写入的记录，以及该批次范围内已经确定的失败结果
+     */
+    private static class Batch {
+        private final List<PostCreateRequest> requests = new ArrayList<>();
+        private final List<Integer> lines = new ArrayList<>();
+        private final List<PostImportResult> results = new ArrayList<>();
+
+        void add(int line, PostCreateRequest request) {
+            lines.add(line);
+            requests.add(request);
+        }
+    }
+}
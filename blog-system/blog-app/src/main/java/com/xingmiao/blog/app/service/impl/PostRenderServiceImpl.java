@@ -0,0 +1,187 @@
+package com.xingmiao.blog.app.service.impl;
+
+import com.xingmiao.blog.app.config.DataSourceRouting;
+import com.xingmiao.blog.app.render.ContentHash;
+import com.xingmiao.blog.app.render.MarkdownRenderer;
+import com.xingmiao.blog.app.repository.PostContentRepository;
+import com.xingmiao.blog.app.repository.PostRenderRepository;
+import com.xingmiao.blog.app.repository.PostRepository;
+import com.xingmiao.blog.app.service.PostRenderService;
+import com.xingmiao.blog.common.domain.entity.Post;
+import com.xingmiao.blog.common.domain.entity.PostContent;
+import com.xingmiao.blog.common.domain.entity.PostRender;
+import com.xingmiao.blog.common.domain.enums.ContentType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Service
+@Slf4j
+public class PostRenderServiceImpl implements PostRenderService {
+
+    private final PostRenderRepository postRenderRepository;
+    private final PostContentRepository postContentRepository;
+    private final PostRepository postRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    /**
+     * 读取时发现过期、等待后台任务保存的文章
+     */
+    private final Set<Long> dirtyPosts = ConcurrentHashMap.newKeySet();
+    private volatile boolean rerenderRequested;
+
+    public PostRenderServiceImpl(PostRenderRepository postRenderRepository,
+                                 PostContentRepository postContentRepository,
+                                 PostRepository postRepository,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${blog.render.chunk-size:100}") int chunkSize) {
+        this.postRenderRepository = postRenderRepository;
+        this.postContentRepository = postContentRepository;
+        this.postRepository = postRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = Math.max(chunkSize, 1);
+    }
+
+    @Override
+    public String render(Post post, PostContent body) {
+        if (body.getContentHash() == null) {
+            body.setContentHash(ContentHash.of(body.getContent()));
+        }
+        if (!isMarkdown(post.getContentType())) {
+            if (postRenderRepository.existsById(post.getId())) {
+                postRenderRepository.deleteById(post.getId());
+            }
+            return null;
+        }
+        PostRender stored = postRenderRepository.findById(post.getId()).orElse(null);
+        return isCurrent(stored, body.getContentHash())
+                ? stored.getHtml() : save(post, body.getContent(), body.getContentHash(), stored);
+    }
+
+    @Override
+    public String resolve(Post post, String content, String contentHash, PostRender stored) {
+        if (content == null || !isMarkdown(post.getContentType())) {
+            return null;
+        }
+        if (stored != null && isCurrent(stored, contentHash != null ? contentHash : ContentHash.of(content))) {
+            return stored.getHtml();
+        }
+        dirtyPosts.add(post.getId());
+        return MarkdownRenderer.render(content);
+    }
+
+    @Override
+    public void requestRerender() {
+        rerenderRequested = true;
+    }
+
+    /**
+     * 启动后检查一次：升级渲染规则后，或历史文章尚未渲染时在后台批量渲染
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initRender() {
+        requestRerender();
+    }
+
+    /**
+     * 后台任务：保存读取时临时渲染的文章，执行待处理的批量重新渲染（读主库）
+     */
+    @Scheduled(fixedDelayString = "${blog.render.flush-delay-ms:5000}")
+    public synchronized void flushDirty() {
+        DataSourceRouting.onPrimary(this::flush);
+    }
+
+    private void flush() {
+        List<Long> postIds = new ArrayList<>(dirtyPosts);
+        dirtyPosts.removeAll(postIds);
+        boolean bulk = rerenderRequested;
+        if (bulk) {
+            rerenderRequested = false;
+            Set<Long> pending = new LinkedHashSet<>(postIds);
+            pending.addAll(postRenderRepository.findIdsToRender(ContentType.MARKDOWN, MarkdownRenderer.VERSION));
+            postIds = new ArrayList<>(pending);
+        }
+        if (postIds.isEmpty()) {
+            return;
+        }
+
+        long start = System.currentTimeMillis();
+        int[] rendered = {0};
+        for (int from = 0; from < postIds.size(); from += chunkSize) {
+            List<Long> chunk = postIds.subList(from, Math.min(from + chunkSize, postIds.size()));
+            transactionTemplate.executeWithoutResult(status -> rendered[0] += renderChunk(chunk));
+        }
+        if (bulk && rendered[0] > 0) {
+            log.info("Markdown 正文批量渲染完成，渲染规则版本:{} 文章数:{} 耗时:{}ms",
+                    MarkdownRenderer.VERSION, rendered[0], System.currentTimeMillis() - start);
+        }
+    }
+
+    /**
+     * 渲染一批文章中过期的部分，已删除或不再是 Markdown 的文章删除渲染结果
+     *
+     * @return 重新渲染的文章数
+     */
+    private int renderChunk(List<Long> postIds) {
+        int rendered = 0;
+        List<Long> obsolete = new ArrayList<>();
+        for (Object[] row : postRenderRepository.findSources(postIds)) {
+            Long postId = (Long) row[0];
+            PostRender stored = (PostRender) row[5];
+            if (!isMarkdown((ContentType) row[1]) || row[2] != null) {
+                if (stored != null) {
+                    obsolete.add(postId);
+                }
+                continue;
+            }
+            String content = (String) row[3];
+            String contentHash = (String) row[4];
+            if (contentHash == null) {
+                // 升级前写入的正文没有摘要，顺带补上
+                contentHash = ContentHash.of(content);
+                postContentRepository.updateContentHash(postId, contentHash);
+            }
+            if (!isCurrent(stored, contentHash)) {
+                save(postRepository.getReferenceById(postId), content, contentHash, stored);
+                rendered++;
+            }
+        }
+        if (!obsolete.isEmpty()) {
+            postRenderRepository.deleteByPostIdIn(obsolete);
+        }
+        return rendered;
+    }
+
+    private String save(Post post, String content, String contentHash, PostRender stored) {
+        PostRender render = stored != null ? stored : PostRender.builder().post(post).build();
+        render.setContentHash(contentHash);
+        render.setRendererVersion(MarkdownRenderer.VERSION);
+        render.setHtml(MarkdownRenderer.render(content));
+        render.setRenderedAt(LocalDateTime.now());
+        postRenderRepository.save(render);
+        return render.getHtml();
+    }
+
+    private static boolean isCurrent(PostRender stored, String contentHash) {
+        return stored != null
+                && stored.getRendererVersion() == MarkdownRenderer.VERSION
+                && stored.getContentHash().equals(contentHash);
+    }
+
+    private static boolean isMarkdown(ContentType contentType) {
+        return contentType == ContentType.MARKDOWN;
+    }
+}
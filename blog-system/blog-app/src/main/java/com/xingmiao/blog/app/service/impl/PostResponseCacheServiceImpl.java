@@ -0,0 +1,134 @@
+package com.xingmiao.blog.app.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.xingmiao.blog.app.cache.SingleFlight;
+import com.xingmiao.blog.app.config.DataSourceRouting;
+import com.xingmiao.blog.app.service.PostResponseCacheService;
+import com.xingmiao.blog.common.domain.enums.Visibility;
+import com.xingmiao.blog.common.domain.event.PostChangedEvent;
+import com.xingmiao.blog.common.dto.CachedPostResponse;
+import com.xingmiao.blog.common.dto.PostDto;
+import com.xingmiao.blog.common.dto.PostVersion;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+@Service
+public class PostResponseCacheServiceImpl implements PostResponseCacheService {
+
+    private final ObjectMapper objectMapper;
+
+    /**
+     * 按访问顺序排列的 LRU，所有访问都在 synchronized(entries) 中进行
+     */
+    private final Map<Long, CachedPostResponse> entries;
+
+    /**
+     * 每次失效递增；加载期间如果发生过失效，则丢弃本次加载结果，避免把旧数据写回缓存
+     */
+    private long generation;
+
+    /**
+     * 热点文章失效后的并发未命中只加载一次
+     */
+    private final SingleFlight<Long, Optional<CachedPostResponse>> singleFlight = new SingleFlight<>();
+
+    public PostResponseCacheServiceImpl(ObjectMapper objectMapper,
+                                        @Value("${blog.response-cache.max-entries:200}") int maxEntries) {
+        this.objectMapper = objectMapper;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, CachedPostResponse> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    @Override
+    public Optional<CachedPostResponse> getOrLoad(Long postId, Supplier<Optional<PostDto>> loader) {
+        synchronized (entries) {
+            CachedPostResponse cached = entries.get(postId);
+            if (cached != null) {
+                return Optional.of(cached);
+            }
+        }
+        return singleFlight.load(postId, () -> load(postId, loader));
+    }
+
+    private Optional<CachedPostResponse> load(Long postId, Supplier<Optional<PostDto>> loader) {
+        long loadGeneration;
+        synchronized (entries) {
+            // 可能在排队期间已被前一次加载写入
+            CachedPostResponse cached = entries.get(postId);
+            if (cached != null) {
+                return Optional.of(cached);
+            }
+            loadGeneration = generation;
+        }
+
+        // 失效由写入提交事件触发，紧接着的重新加载必须读主库，否则可能把副本上的旧数据缓存下来
+        Optional<CachedPostResponse> loaded = DataSourceRouting.onPrimary(loader).map(this::encode);
+        loaded.ifPresent(response -> {
+            synchronized (entries) {
+                if (generation == loadGeneration) {
+                    entries.put(postId, response);
+                }
+            }
+        });
+        return loaded;
+    }
+
+    @Override
+    public void evictAll() {
+        synchronized (entries) {
+            generation++;
+            entries.clear();
+        }
+    }
+
+    /**
+     * 文章写入提交后失效对应的缓存
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostChanged(PostChangedEvent event) {
+        synchronized (entries) {
+            generation++;
+            entries.remove(event.getPostId());
+        }
+    }
+
+    private CachedPostResponse encode(PostDto post) {
+        PostVersion version = PostVersion.of(post);
+        String eTag = version.getETag();
+        long lastModified = version.getLastModified();
+        if (post.getVisibility() == Visibility.PASSWORD) {
+            return new CachedPostResponse(post.getId(), true, null, null, eTag, lastModified);
+        }
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(post);
+            return new CachedPostResponse(post.getId(), false, json, gzip(json), eTag, lastModified);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("文章序列化失败: " + post.getId(), e);
+        }
+    }
+
+    private byte[] gzip(byte[] data) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 3 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(data);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+}
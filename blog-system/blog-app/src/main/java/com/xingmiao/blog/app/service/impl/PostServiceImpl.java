@@ -1,38 +1,160 @@
 package com.xingmiao.blog.app.service.impl;
 
+import com.xingmiao.blog.app.analysis.ContentAnalysis;
+import com.xingmiao.blog.app.analysis.ContentAnalyzer;
+import com.xingmiao.blog.app.analysis.TocJson;
+import com.xingmiao.blog.app.config.CursorFetch;
+import com.xingmiao.blog.app.render.ContentHash;
 import com.xingmiao.blog.common.domain.entity.Category;
+import com.xingmiao.blog.common.domain.entity.CategoryClosure;
 import com.xingmiao.blog.common.domain.entity.Post;
+import com.xingmiao.blog.common.domain.entity.PostContent;
+import com.xingmiao.blog.common.domain.entity.PostRender;
+import com.xingmiao.blog.common.domain.entity.PostStats;
+import com.xingmiao.blog.common.domain.entity.PostTag;
+import com.xingmiao.blog.common.domain.entity.Tag;
+import com.xingmiao.blog.common.domain.enums.ContentType;
+import com.xingmiao.blog.common.domain.enums.PostStatus;
+import com.xingmiao.blog.common.domain.enums.Visibility;
 import com.xingmiao.blog.common.dto.PostCreateRequest;
 import com.xingmiao.blog.common.dto.PostDto;
 import com.xingmiao.blog.common.dto.PostUpdateRequest;
 import com.xingmiao.blog.app.repository.CategoryRepository;
+import com.xingmiao.blog.app.repository.FieldProjectionRepository;
+import com.xingmiao.blog.app.repository.PostContentRepository;
 import com.xingmiao.blog.app.repository.PostRepository;
+import com.xingmiao.blog.app.repository.PostStatsRepository;
+import com.xingmiao.blog.app.repository.PostTagRepository;
+import com.xingmiao.blog.app.repository.TagRepository;
 import com.xingmiao.blog.app.service.DifySyncService;
+import com.xingmiao.blog.app.service.InvalidPatchException;
+import com.xingmiao.blog.app.service.NearDuplicateService;
+import com.xingmiao.blog.app.service.PostCounterService;
+import com.xingmiao.blog.app.service.PostRenderService;
 import com.xingmiao.blog.app.service.PostService;
+import com.xingmiao.blog.app.similarity.SimHash;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.transaction.support.TransactionSynchronization;
 import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.BiPredicate;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @Transactional
 public class PostServiceImpl implements PostService {
 
+    /**
+     * 稀疏字段白名单：PostDto 属性名 → Post 实体属性路径（tagIds、content 不在 posts 表中，单独批量加载）。
+     * 访问口令不在白名单中，不能通过 fields 取回
+     */
+    private static final Map<String, String> FIELD_PATHS = new LinkedHashMap<>();
+
+    static {
+        for (String field : List.of("id", "title", "slug", "excerpt", "contentType", "status",
+                "visibility", "coverImageUrl", "metaTitle", "metaDescription", "metaKeywords",
+                "wordCount", "readingMinutes", "difyDocumentId", "syncStatus", "syncError",
+                "publishedAt", "createdAt", "updatedAt")) {
+            FIELD_PATHS.put(field, field);
+        }
+        FIELD_PATHS.put("categoryId", "category.id");
+    }
+
+    private static final String TAG_IDS_FIELD = "tagIds";
+
+    /**
+     * 正文在 post_contents 表中，只在 fields 显式请求时按整页批量加载；口令保护的文章返回 null
+     */
+    private static final String CONTENT_FIELD = "content";
+
+    /**
+     * PATCH 允许出现的字段，其中 REQUIRED_FIELDS 不能置空
+     */
+    private static final Set<String> PATCHABLE_FIELDS = Set.of("title", "slug", "excerpt", "content", "contentType",
+            "status", "visibility", "password", "categoryId", "coverImageUrl", "metaTitle", "metaDescription",
+            "metaKeywords", "tagIds", "version");
+
+    private static final Set<String> REQUIRED_FIELDS = Set.of("title", "slug", "content", "contentType",
+            "status", "visibility");
+
+    /**
+     * 互动计数在 post_stats 表中，投影查询后按整页文章ID补齐
+     */
+    private static final Set<String> STATS_FIELDS = Set.of("viewCount", "likeCount", "commentCount");
+
+    /**
+     * 导出时每批加载关联数据的文章数
+     */
+    private static final int EXPORT_CHUNK_SIZE = 200;
+
     @Autowired
     private PostRepository postRepository;
 
     @Autowired
     private CategoryRepository categoryRepository;
+
+    @Autowired
+    private TagRepository tagRepository;
+
+    @Autowired
+    private PostTagRepository postTagRepository;
+
+    @Autowired
+    private PostContentRepository postContentRepository;
+
+    @Autowired
+    private PostStatsRepository postStatsRepository;
     
     @Autowired
     private DifySyncService difySyncService;
 
+    @Autowired
+    private PostCounterService postCounterService;
+
+    @Autowired
+    private NearDuplicateService nearDuplicateService;
+
+    @Autowired
+    private PostRenderService postRenderService;
+
+    @Autowired
+    private FieldProjectionRepository fieldProjectionRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private Validator validator;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
     @Override
     public PostDto create(PostCreateRequest request) {
         // 检查slug是否已存在
@@ -51,7 +173,6 @@ public class PostServiceImpl implements PostService {
                 .title(request.getTitle())
                 .slug(request.getSlug())
                 .excerpt(request.getExcerpt())
-                .content(request.getContent())
                 .contentType(request.getContentType())
                 .status(request.getStatus())
                 .visibility(request.getVisibility())
@@ -62,8 +183,21 @@ public class PostServiceImpl implements PostService {
                 .metaDescription(request.getMetaDescription())
                 .metaKeywords(request.getMetaKeywords())
                 .build();
+        ContentAnalysis analysis = ContentAnalyzer.analyze(request.getContent(), request.getContentType());
+        post.setWordCount(analysis.wordCount());
+        post.setReadingMinutes(analysis.readingMinutes());
 
         Post savedPost = postRepository.save(post);
+        long simhash = SimHash.fingerprint(request.getContent());
+        PostContent body = postContentRepository.save(PostContent.builder().post(savedPost).content(request.getContent())
+                .simhash(simhash).contentHash(ContentHash.of(request.getContent()))
+                .toc(TocJson.write(analysis.toc())).build());
+        String html = postRenderService.render(savedPost, body);
+        PostStats stats = postStatsRepository.save(PostStats.builder().post(savedPost).build());
+        List<Long> tagIds = request.getTagIds() == null ? List.of() : assignTags(savedPost, request.getTagIds());
+        if (postCounterService.isCounted(savedPost)) {
+            postCounterService.onCounted(category == null ? null : category.getId(), tagIds);
+        }
         
         // 异步同步到Dify
         TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
@@ -73,13 +207,59 @@ public class PostServiceImpl implements PostService {
             }
         });
         
-        return convertToDto(savedPost);
+        PostDto dto = convertToDto(savedPost, tagIds, request.getContent(), stats);
+        dto.setToc(analysis.toc());
+        dto.setContentHtml(html);
+        dto.setNearDuplicates(nearDuplicateService.findNearDuplicates(savedPost.getId(), simhash));
+        return dto;
     }
 
     @Override
     public PostDto update(Long id, PostUpdateRequest request) {
+        return applyUpdate(id, request, (field, value) -> value != null);
+    }
+
+    @Override
+    public PostDto patch(Long id, Map<String, Object> patch) {
+        for (String field : patch.keySet()) {
+            if (!PATCHABLE_FIELDS.contains(field)) {
+                throw new InvalidPatchException("不支持修改的字段:" + field);
+            }
+        }
+        for (String field : REQUIRED_FIELDS) {
+            Object value = patch.get(field);
+            if (patch.containsKey(field) && (value == null || value instanceof String text && text.isBlank())) {
+                throw new InvalidPatchException("字段不能为空:" + field);
+            }
+        }
+        PostUpdateRequest request;
+        try {
+            request = objectMapper.convertValue(patch, PostUpdateRequest.class);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidPatchException("字段类型错误:" + e.getMessage(), e);
+        }
+        Set<ConstraintViolation<PostUpdateRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            throw new InvalidPatchException(violations.stream()
+                    .map(ConstraintViolation::getMessage).sorted().collect(Collectors.joining("; ")));
+        }
+        if (patch.containsKey("tagIds") && request.getTagIds() == null) {
+            request.setTagIds(List.of());
+        }
+        return applyUpdate(id, request, (field, value) -> patch.containsKey(field));
+    }
+
+    /**
+     * 应用更新：PUT 只修改非 null 的字段，PATCH 修改请求中出现的字段（null 表示清空）
+     *
+     * @param present 判断字段是否需要修改，参数为字段名和请求中的值
+     */
+    private PostDto applyUpdate(Long id, PostUpdateRequest request, BiPredicate<String, Object> present) {
         Post existingPost = postRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("文章不存在，ID:" + id));
+        if (request.getVersion() != null && !request.getVersion().equals(existingPost.getVersion())) {
+            throw new ObjectOptimisticLockingFailureException(Post.class, id);
+        }
         
         // 检查slug是否重复（排除当前文章）
         if (request.getSlug() != null && !request.getSlug().equals(existingPost.getSlug())) {
@@ -88,55 +268,81 @@ public class PostServiceImpl implements PostService {
             }
         }
         
+        // 记录变更前的计数状态
+        Long oldCategoryId = existingPost.getCategory() == null ? null : existingPost.getCategory().getId();
+        List<Long> oldTagIds = postTagRepository.findTagIdsByPostId(id);
+        boolean wasCounted = postCounterService.isCounted(existingPost);
+        ContentType oldContentType = existingPost.getContentType();
+        
         // 处理分类更新
-        Category category = null;
-        if (request.getCategoryId() != null) {
-            category = categoryRepository.findById(request.getCategoryId())
-                    .orElseThrow(() -> new RuntimeException("当前分类不存在,CategoryId:" + request.getCategoryId()));
+        if (present.test("categoryId", request.getCategoryId())) {
+            Category category = null;
+            if (request.getCategoryId() != null) {
+                category = categoryRepository.findById(request.getCategoryId())
+                        .orElseThrow(() -> new RuntimeException("当前分类不存在,CategoryId:" + request.getCategoryId()));
+            }
+            existingPost.setCategory(category);
         }
         
-        // 更新字段
-        if (request.getTitle() != null) {
+        // 更新字段（实体开启了动态更新，只有变化的列会写入）
+        if (present.test("title", request.getTitle())) {
             existingPost.setTitle(request.getTitle());
         }
-        if (request.getSlug() != null) {
+        if (present.test("slug", request.getSlug())) {
             existingPost.setSlug(request.getSlug());
         }
-        if (request.getExcerpt() != null) {
+        if (present.test("excerpt", request.getExcerpt())) {
             existingPost.setExcerpt(request.getExcerpt());
         }
-        if (request.getContent() != null) {
-            existingPost.setContent(request.getContent());
-        }
-        if (request.getContentType() != null) {
+        if (present.test("contentType", request.getContentType())) {
             existingPost.setContentType(request.getContentType());
         }
-        if (request.getStatus() != null) {
+        if (present.test("status", request.getStatus())) {
             existingPost.setStatus(request.getStatus());
         }
-        if (request.getVisibility() != null) {
+        if (present.test("visibility", request.getVisibility())) {
             existingPost.setVisibility(request.getVisibility());
         }
-        if (request.getPassword() != null) {
+        if (present.test("password", request.getPassword())) {
             existingPost.setPassword(request.getPassword());
         }
-        if (category != null) {
-            existingPost.setCategory(category);
-        }
-        if (request.getCoverImageUrl() != null) {
+        if (present.test("coverImageUrl", request.getCoverImageUrl())) {
             existingPost.setCoverImageUrl(request.getCoverImageUrl());
         }
-        if (request.getMetaTitle() != null) {
+        if (present.test("metaTitle", request.getMetaTitle())) {
             existingPost.setMetaTitle(request.getMetaTitle());
         }
-        if (request.getMetaDescription() != null) {
+        if (present.test("metaDescription", request.getMetaDescription())) {
             existingPost.setMetaDescription(request.getMetaDescription());
         }
-        if (request.getMetaKeywords() != null) {
+        if (present.test("metaKeywords", request.getMetaKeywords())) {
             existingPost.setMetaKeywords(request.getMetaKeywords());
         }
         
         Post updatedPost = postRepository.save(existingPost);
+        boolean contentChanged = present.test("content", request.getContent())
+                && updateContent(updatedPost, request.getContent());
+        // 正文或格式变化时重新分析、渲染；未变化时沿用已保存的结果
+        PostContent body = null;
+        String html = null;
+        if (contentChanged || updatedPost.getContentType() != oldContentType || updatedPost.getWordCount() == null) {
+            body = postContentRepository.findById(id).orElse(null);
+            if (body != null) {
+                analyzeContent(updatedPost, body);
+                html = postRenderService.render(updatedPost, body);
+            }
+        }
+        List<Long> newTagIds = present.test("tagIds", request.getTagIds())
+                ? assignTags(updatedPost, request.getTagIds()) : oldTagIds;
+        if (contentChanged || !new HashSet<>(oldTagIds).equals(new HashSet<>(newTagIds))) {
+            // 只改正文或标签时文章行本身没有变化，手动刷新更新时间，使 ETag 失效并触发变更事件
+            updatedPost.setUpdatedAt(LocalDateTime.now());
+        }
+        // 立即写入，返回递增后的版本号；并发修改在这里以乐观锁异常失败
+        postRepository.flush();
+        postCounterService.onChanged(oldCategoryId, oldTagIds, wasCounted,
+                updatedPost.getCategory() == null ? null : updatedPost.getCategory().getId(), newTagIds,
+                postCounterService.isCounted(updatedPost));
         
         // 异步同步到Dify
         TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
@@ -146,7 +352,20 @@ public class PostServiceImpl implements PostService {
             }
         });
         
-        return convertToDto(updatedPost);
+        PostDto dto;
+        if (body != null) {
+            // 正文实体已在持久化上下文中，不再查询
+            dto = convertToDto(updatedPost, newTagIds, body.getContent(), postStatsRepository.findById(id).orElse(null));
+            dto.setToc(TocJson.read(body.getToc()));
+            dto.setContentHtml(html);
+        } else {
+            dto = convertToDto(updatedPost, newTagIds, null, postStatsRepository.findById(id).orElse(null));
+            applyBody(dto, updatedPost, firstRow(postContentRepository.findBodyByPostId(id)));
+        }
+        if (contentChanged) {
+            dto.setNearDuplicates(nearDuplicateService.findNearDuplicates(id, body.getSimhash()));
+        }
+        return dto;
     }
 
     @Override
@@ -155,8 +374,13 @@ public class PostServiceImpl implements PostService {
                 .orElseThrow(() -> new RuntimeException("文章不存在，ID:" + id));
         
         // 软删除：设置删除时间
+        boolean wasCounted = postCounterService.isCounted(post);
         post.setDeletedAt(LocalDateTime.now());
         postRepository.save(post);
+        if (wasCounted) {
+            postCounterService.onUncounted(post.getCategory() == null ? null : post.getCategory().getId(),
+                    postTagRepository.findTagIdsByPostId(id));
+        }
         
         // 异步删除Dify中的文档
         if (post.getDifyDocumentId() != null && !post.getDifyDocumentId().isEmpty()) {
@@ -183,27 +407,370 @@ public class PostServiceImpl implements PostService {
                 .map(this::convertToDto);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Map<Long, PostDto> getByIds(Collection<Long> ids) {
+        return loadByIds(ids, true);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<Long, PostDto> getDetailsByIds(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        List<Post> posts = postRepository.findByIdInAndDeletedAtIsNull(new HashSet<>(ids));
+        if (posts.isEmpty()) {
+            return Map.of();
+        }
+        List<Long> postIds = posts.stream().map(Post::getId).toList();
+        Map<Long, List<Long>> tagIdsByPost = loadTagIds(posts);
+        Map<Long, PostStats> statsByPost = loadStats(postIds);
+        Map<Long, Object[]> bodyByPost = new HashMap<>();
+        for (Object[] row : postContentRepository.findBodiesByPostIds(postIds)) {
+            bodyByPost.put((Long) row[0], Arrays.copyOfRange(row, 1, row.length));
+        }
+        return posts.stream()
+                .collect(Collectors.toMap(Post::getId, post -> {
+                    PostDto dto = convertToDto(post, tagIdsByPost.getOrDefault(post.getId(), List.of()), null,
+                            statsByPost.get(post.getId()));
+                    applyBody(dto, post, bodyByPost.get(post.getId()));
+                    return dto;
+                }));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<Long, PostDto> getSummariesByIds(Collection<Long> ids) {
+        return loadByIds(ids, false);
+    }
+
+    private Map<Long, PostDto> loadByIds(Collection<Long> ids, boolean withContent) {
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        List<Post> posts = postRepository.findByIdInAndDeletedAtIsNull(new HashSet<>(ids));
+        Map<Long, List<Long>> tagIdsByPost = loadTagIds(posts);
+        Map<Long, PostStats> statsByPost = loadStats(posts.stream().map(Post::getId).toList());
+        Map<Long, Object[]> contentByPost = new HashMap<>();
+        if (withContent && !posts.isEmpty()) {
+            for (Object[] row : postContentRepository.findContentsByPostIds(posts.stream().map(Post::getId).toList())) {
+                contentByPost.put((Long) row[0], row);
+            }
+        }
+        return posts.stream()
+                .collect(Collectors.toMap(Post::getId, post -> {
+                    PostDto dto = convertToDto(post, tagIdsByPost.getOrDefault(post.getId(), List.of()), null,
+                            statsByPost.get(post.getId()));
+                    Object[] row = contentByPost.get(post.getId());
+                    if (row != null) {
+                        dto.setContent((String) row[1]);
+                        dto.setToc(TocJson.read((String) row[2]));
+                    }
+                    return dto;
+                }));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long exportAll(Consumer<PostDto> consumer) {
+        long exported = 0;
+        List<Post> chunk = new ArrayList<>(EXPORT_CHUNK_SIZE);
+        try (Stream<Post> posts = CursorFetch.open(entityManager, postRepository::streamAllForExport)) {
+            Iterator<Post> iterator = posts.iterator();
+            while (iterator.hasNext()) {
+                chunk.add(iterator.next());
+                if (chunk.size() == EXPORT_CHUNK_SIZE) {
+                    exported += exportChunk(chunk, consumer);
+                    chunk.clear();
+                }
+            }
+        }
+        exported += exportChunk(chunk, consumer);
+        return exported;
+    }
+
+    /**
+     * 为一批文章批量加载标签、正文和计数后逐篇输出，再清空持久化上下文，导出过程中内存占用不随文章数增长
+     */
+    private int exportChunk(List<Post> chunk, Consumer<PostDto> consumer) {
+        if (chunk.isEmpty()) {
+            return 0;
+        }
+        List<Long> postIds = chunk.stream().map(Post::getId).toList();
+        Map<Long, List<Long>> tagIdsByPost = loadTagIdsByPostIds(postIds);
+        Map<Long, PostStats> statsByPost = loadStats(postIds);
+        Map<Long, Object[]> contentByPost = new HashMap<>();
+        for (Object[] row : postContentRepository.findContentsByPostIds(postIds)) {
+            contentByPost.put((Long) row[0], row);
+        }
+        for (Post post : chunk) {
+            PostDto dto = convertToDto(post, tagIdsByPost.getOrDefault(post.getId(), List.of()), null,
+                    statsByPost.get(post.getId()));
+            Object[] row = contentByPost.get(post.getId());
+            if (row != null) {
+                dto.setContent((String) row[1]);
+                dto.setToc(TocJson.read((String) row[2]));
+            }
+            consumer.accept(dto);
+        }
+        entityManager.clear();
+        return chunk.size();
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Page<PostDto> list(Pageable pageable) {
-        return postRepository.findByDeletedAtIsNull(pageable)
-                .map(this::convertToDto);
+        return toDtoPage(postRepository.findByDeletedAtIsNull(pageable));
     }
 
     @Override
     @Transactional(readOnly = true)
     public Page<PostDto> listByCategory(Long categoryId, Pageable pageable) {
-        return postRepository.findByCategory_IdAndDeletedAtIsNull(categoryId, pageable)
-                .map(this::convertToDto);
+        return toDtoPage(postRepository.findByCategory_IdAndDeletedAtIsNull(categoryId, pageable));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<PostDto> listByCategoryTree(Long categoryId, Pageable pageable) {
+        return toDtoPage(postRepository.findByCategorySubtree(categoryId, pageable));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<PostDto> listByTag(Long tagId, Pageable pageable) {
+        return toDtoPage(postRepository.findByTagId(tagId, pageable));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<Map<String, Object>> listFields(String fields, Pageable pageable) {
+        return queryFields(notDeleted(), fields, pageable);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<Map<String, Object>> listByCategoryFields(Long categoryId, boolean includeChildren, String fields, Pageable pageable) {
+        Specification<Post> byCategory = includeChildren ? inCategorySubtree(categoryId) : inCategory(categoryId);
+        return queryFields(notDeleted().and(byCategory), fields, pageable);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<Map<String, Object>> listByTagFields(Long tagId, String fields, Pageable pageable) {
+        return queryFields(notDeleted().and(hasTag(tagId)), fields, pageable);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<Map<String, Object>> listPublishedFields(Long categoryId, String fields, Pageable pageable) {
+        Specification<Post> spec = notDeleted().and(publishedPublic());
+        if (categoryId != null) {
+            spec = spec.and(inCategory(categoryId));
+        }
+        return queryFields(spec, fields, pageable);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Long> getPublishedIds() {
+        return postRepository.findIdsByStatusAndVisibility(PostStatus.PUBLISHED, Visibility.PUBLIC);
+    }
+
+    private Page<Map<String, Object>> queryFields(Specification<Post> spec, String fields, Pageable pageable) {
+        Map<String, String> paths = FieldProjectionRepository.selectPaths(fields, FIELD_PATHS);
+        Set<String> selected = FieldProjectionRepository.parseFields(fields, Set.of(TAG_IDS_FIELD, CONTENT_FIELD));
+        Set<String> stats = FieldProjectionRepository.parseFields(fields, STATS_FIELDS);
+        Page<Map<String, Object>> page = fieldProjectionRepository.findFields(Post.class, paths, spec, pageable);
+
+        boolean withStats = stats == null || stats.stream().anyMatch(STATS_FIELDS::contains);
+        if (withStats && page.hasContent()) {
+            Map<Long, PostStats> statsByPost = loadStats(page.getContent().stream().map(row -> (Long) row.get("id")).toList());
+            page.forEach(row -> {
+                PostStats postStats = statsByPost.get((Long) row.get("id"));
+                putStat(row, stats, "viewCount", postStats == null ? 0L : postStats.getViewCount());
+                putStat(row, stats, "likeCount", postStats == null ? 0L : postStats.getLikeCount());
+                putStat(row, stats, "commentCount", postStats == null ? 0L : postStats.getCommentCount());
+            });
+        }
+
+        if (selected != null && selected.contains(TAG_IDS_FIELD) && page.hasContent()) {
+            Map<Long, List<Long>> tagIdsByPost = loadTagIdsByPostIds(
+                    page.getContent().stream().map(row -> (Long) row.get("id")).toList());
+            page.forEach(row -> row.put(TAG_IDS_FIELD, tagIdsByPost.getOrDefault((Long) row.get("id"), List.of())));
+        }
+
+        if (selected != null && selected.contains(CONTENT_FIELD) && page.hasContent()) {
+            List<Long> postIds = page.getContent().stream().map(row -> (Long) row.get("id")).toList();
+            Map<Long, String> contentByPost = new HashMap<>();
+            for (Object[] content : postContentRepository.findVisibleContentsByPostIds(postIds, Visibility.PASSWORD)) {
+                contentByPost.put((Long) content[0], (String) content[1]);
+            }
+            page.forEach(row -> row.put(CONTENT_FIELD, contentByPost.get((Long) row.get("id"))));
+        }
+        return page;
     }
 
+    private static Specification<Post> notDeleted() {
+        return (root, query, cb) -> cb.isNull(root.get("deletedAt"));
+    }
+
+    private static Specification<Post> publishedPublic() {
+        return (root, query, cb) -> cb.and(
+                cb.equal(root.get("status"), PostStatus.PUBLISHED),
+                cb.equal(root.get("visibility"), Visibility.PUBLIC));
+    }
+
+    private static Specification<Post> inCategory(Long categoryId) {
+        return (root, query, cb) -> cb.equal(root.get("category").get("id"), categoryId);
+    }
+
+    private static Specification<Post> inCategorySubtree(Long categoryId) {
+        return (root, query, cb) -> {
+            var subtree = query.subquery(Long.class);
+            var closure = subtree.from(CategoryClosure.class);
+            subtree.select(closure.get("descendantId")).where(cb.equal(closure.get("ancestorId"), categoryId));
+            return root.get("category").get("id").in(subtree);
+        };
+    }
+
+    private static Specification<Post> hasTag(Long tagId) {
+        return (root, query, cb) -> {
+            var tagged = query.subquery(Long.class);
+            var postTag = tagged.from(PostTag.class);
+            tagged.select(postTag.get("post").get("id")).where(cb.equal(postTag.get("tag").get("id"), tagId));
+            return root.get("id").in(tagged);
+        };
+    }
+
+    /**
+     * 覆盖文章的标签关联，只增删有变化的行，返回最终的标签ID列表
+     */
+    private List<Long> assignTags(Post post, List<Long> requestedTagIds) {
+        Set<Long> wanted = new LinkedHashSet<>(requestedTagIds);
+        List<Tag> tags = tagRepository.findAllById(wanted);
+        if (tags.size() != wanted.size()) {
+            Set<Long> found = tags.stream().map(Tag::getId).collect(Collectors.toSet());
+            wanted.removeAll(found);
+            throw new RuntimeException("标签不存在,TagId:" + wanted);
+        }
+
+        Set<Long> existing = new HashSet<>(postTagRepository.findTagIdsByPostId(post.getId()));
+        Set<Long> removed = new HashSet<>(existing);
+        removed.removeAll(wanted);
+        if (!removed.isEmpty()) {
+            postTagRepository.deleteByPostIdAndTagIds(post.getId(), removed);
+        }
+
+        List<PostTag> added = new ArrayList<>();
+        for (Tag tag : tags) {
+            if (!existing.contains(tag.getId())) {
+                added.add(PostTag.builder().post(post).tag(tag).build());
+            }
+        }
+        postTagRepository.saveAll(added);
+        return new ArrayList<>(wanted);
+    }
+
+    private static void putStat(Map<String, Object> row, Set<String> selected, String field, Long value) {
+        if (selected == null || selected.contains(field)) {
+            row.put(field, value);
+        }
+    }
+
+    /**
+     * 分页转换，一次查询加载整页文章的标签和计数，避免逐条查询；列表不返回正文
+     */
+    private Page<PostDto> toDtoPage(Page<Post> page) {
+        Map<Long, List<Long>> tagIdsByPost = loadTagIds(page.getContent());
+        Map<Long, PostStats> statsByPost = loadStats(page.getContent().stream().map(Post::getId).toList());
+        return page.map(post -> convertToDto(post, tagIdsByPost.getOrDefault(post.getId(), List.of()), null,
+                statsByPost.get(post.getId())));
+    }
+
+    private Map<Long, PostStats> loadStats(List<Long> postIds) {
+        if (postIds.isEmpty()) {
+            return Map.of();
+        }
+        return postStatsRepository.findAllById(postIds).stream()
+                .collect(Collectors.toMap(PostStats::getPostId, stats -> stats));
+    }
+
+    private Map<Long, List<Long>> loadTagIds(List<Post> posts) {
+        return loadTagIdsByPostIds(posts.stream().map(Post::getId).toList());
+    }
+
+    private Map<Long, List<Long>> loadTagIdsByPostIds(List<Long> postIds) {
+        Map<Long, List<Long>> tagIdsByPost = new HashMap<>();
+        if (!postIds.isEmpty()) {
+            for (Object[] row : postTagRepository.findTagIdsByPostIds(postIds)) {
+                tagIdsByPost.computeIfAbsent((Long) row[0], k -> new ArrayList<>()).add((Long) row[1]);
+            }
+        }
+        return tagIdsByPost;
+    }
+
+    /**
+     * 文章行的正文变更时写入 post_contents，没有正文记录时补建
+     *
+     * @return 正文是否发生变化
+     */
+    private boolean updateContent(Post post, String content) {
+        PostContent body = postContentRepository.findById(post.getId())
+                .orElseGet(() -> PostContent.builder().post(post).build());
+        if (content.equals(body.getContent())) {
+            return false;
+        }
+        body.setContent(content);
+        body.setSimhash(SimHash.fingerprint(content));
+        body.setContentHash(ContentHash.of(content));
+        postContentRepository.save(body);
+        return true;
+    }
+
+    /**
+     * 按文章当前的正文格式分析正文，结果写回文章行和正文记录（随事务提交）
+     */
+    private void analyzeContent(Post post, PostContent body) {
+        ContentAnalysis analysis = ContentAnalyzer.analyze(body.getContent(), post.getContentType());
+        post.setWordCount(analysis.wordCount());
+        post.setReadingMinutes(analysis.readingMinutes());
+        body.setToc(TocJson.write(analysis.toc()));
+    }
+
+    /**
+     * 把 [content, toc, contentHash, PostRender] 查询结果填入详情，Markdown 正文附带渲染后的 HTML
+     */
+    private void applyBody(PostDto dto, Post post, Object[] body) {
+        if (body != null) {
+            String content = (String) body[0];
+            dto.setContent(content);
+            dto.setToc(TocJson.read((String) body[1]));
+            dto.setContentHtml(postRenderService.resolve(post, content, (String) body[2], (PostRender) body[3]));
+        }
+    }
+
+    private Object[] firstRow(List<Object[]> rows) {
+        return rows.isEmpty() ? null : rows.get(0);
+    }
+
+    /**
+     * 详情转换，单独读取标签、正文（连同目录和渲染结果）和计数
+     */
     private PostDto convertToDto(Post post) {
+        PostDto dto = convertToDto(post, postTagRepository.findTagIdsByPostId(post.getId()), null,
+                postStatsRepository.findById(post.getId()).orElse(null));
+        applyBody(dto, post, firstRow(postContentRepository.findBodyByPostId(post.getId())));
+        return dto;
+    }
+
+    private PostDto convertToDto(Post post, List<Long> tagIds, String content, PostStats stats) {
         return PostDto.builder()
                 .id(post.getId())
                 .title(post.getTitle())
                 .slug(post.getSlug())
                 .excerpt(post.getExcerpt())
-                .content(post.getContent())
+                .content(content)
                 .contentType(post.getContentType())
                 .status(post.getStatus())
                 .visibility(post.getVisibility())
@@ -213,15 +780,20 @@ public class PostServiceImpl implements PostService {
                 .metaTitle(post.getMetaTitle())
                 .metaDescription(post.getMetaDescription())
                 .metaKeywords(post.getMetaKeywords())
-                .viewCount(post.getViewCount())
-                .likeCount(post.getLikeCount())
-                .commentCount(post.getCommentCount())
+                .tagIds(tagIds)
+                .viewCount(stats == null ? 0L : stats.getViewCount())
+                .likeCount(stats == null ? 0L : stats.getLikeCount())
+                .commentCount(stats == null ? 0L : stats.getCommentCount())
+                .statsUpdatedAt(stats == null ? null : stats.getUpdatedAt())
+                .wordCount(post.getWordCount())
+                .readingMinutes(post.getReadingMinutes())
                 .difyDocumentId(post.getDifyDocumentId())
                 .syncStatus(post.getSyncStatus())
                 .syncError(post.getSyncError())
                 .publishedAt(post.getPublishedAt())
                 .createdAt(post.getCreatedAt())
                 .updatedAt(post.getUpdatedAt())
+                .version(post.getVersion())
                 .build();
     }
 
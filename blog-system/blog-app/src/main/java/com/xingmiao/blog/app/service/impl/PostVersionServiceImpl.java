@@ -0,0 +1,87 @@
+package com.xingmiao.blog.app.service.impl;
+
+import com.xingmiao.blog.app.config.DataSourceRouting;
+import com.xingmiao.blog.app.repository.PostRepository;
+import com.xingmiao.blog.app.service.PostVersionService;
+import com.xingmiao.blog.common.domain.event.PostChangedEvent;
+import com.xingmiao.blog.common.dto.PostListVersion;
+import com.xingmiao.blog.common.dto.PostVersion;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Service
+public class PostVersionServiceImpl implements PostVersionService {
+
+    private final PostRepository postRepository;
+    private final long listVersionMaxAgeMs;
+
+    /**
+     * 本实例提交的文章写入次数，缓存的列表版本只在该值未变化时有效
+     */
+    private final AtomicLong generation = new AtomicLong();
+    private volatile CachedListVersion cachedListVersion;
+
+    private record CachedListVersion(long generation, long loadedAt, PostListVersion version) {
+    }
+
+    public PostVersionServiceImpl(PostRepository postRepository,
+                                  @Value("${blog.list-version.max-age-ms:5000}") long listVersionMaxAgeMs) {
+        this.postRepository = postRepository;
+        this.listVersionMaxAgeMs = listVersionMaxAgeMs;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<PostVersion> getVersionById(Long id) {
+        return postRepository.findVersionById(id);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<PostVersion> getVersionBySlug(String slug) {
+        return postRepository.findVersionBySlug(slug);
+    }
+
+    /**
+     * 本实例没有新的文章写入时直接返回缓存的版本，不再每次请求都做聚合查询；
+     * 其他实例的写入由缓存时长兜底，超过后重新计算
+     */
+    @Override
+    public PostListVersion getListVersion() {
+        long current = generation.get();
+        CachedListVersion cached = cachedListVersion;
+        if (cached != null && cached.generation() == current
+                && System.currentTimeMillis() - cached.loadedAt() < listVersionMaxAgeMs) {
+            return cached.version();
+        }
+        // 写入提交后立即重算，读主库避免把副本上的旧版本缓存下来
+        PostListVersion version = DataSourceRouting.onPrimary(this::loadListVersion);
+        // 计算期间又有写入时 generation 已变化，这份结果只用于本次请求
+        cachedListVersion = new CachedListVersion(current, System.currentTimeMillis(), version);
+        return version;
+    }
+
+    /**
+     * 文章新增、修改、删除和点赞提交后使缓存的列表版本失效
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostChanged(PostChangedEvent event) {
+        generation.incrementAndGet();
+    }
+
+    /**
+     * 文章数覆盖删除（删除不一定留下更新时间），最大更新时间覆盖新增和修改，互动计数时间覆盖点赞
+     */
+    private PostListVersion loadListVersion() {
+        Object[] row = postRepository.findListVersion().get(0);
+        long count = (Long) row[0];
+        long lastModified = PostVersion.lastModifiedOf((LocalDateTime) row[1], postRepository.findStatsUpdatedAt());
+        return new PostListVersion("posts-" + count + "-" + lastModified, lastModified);
+    }
+}
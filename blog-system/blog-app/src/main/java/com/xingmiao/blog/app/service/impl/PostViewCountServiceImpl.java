@@ -0,0 +1,84 @@
+package com.xingmiao.blog.app.service.impl;
+
+import com.xingmiao.blog.app.config.DataSourceRouting;
+import com.xingmiao.blog.app.repository.PostStatsRepository;
+import com.xingmiao.blog.app.service.PostViewCountService;
+import com.xingmiao.blog.common.domain.enums.EngagementType;
+import com.xingmiao.blog.common.domain.event.PostEngagementEvent;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Service
+@Slf4j
+public class PostViewCountServiceImpl implements PostViewCountService {
+
+    private final PostStatsRepository postStatsRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * 尚未写入的浏览增量
+     */
+    private final Map<Long, Long> pendingViews = new ConcurrentHashMap<>();
+
+    public PostViewCountServiceImpl(PostStatsRepository postStatsRepository,
+                                    PlatformTransactionManager transactionManager) {
+        this.postStatsRepository = postStatsRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * 浏览事件在读取路径上同步发布
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEngagement(PostEngagementEvent event) {
+        if (event.getType() == EngagementType.VIEW) {
+            recordView(event.getPostId());
+        }
+    }
+
+    @Override
+    public void recordView(Long postId) {
+        if (postId != null && postId > 0) {
+            pendingViews.merge(postId, 1L, Long::sum);
+        }
+    }
+
+    /**
+     * 后台任务：相同增量的文章合并为一条更新语句，在一个事务中写入主库
+     */
+    @Override
+    @PreDestroy
+    @Scheduled(fixedDelayString = "${blog.views.flush-delay-ms:10000}")
+    public synchronized void flushViews() {
+        if (pendingViews.isEmpty()) {
+            return;
+        }
+        // 逐个原子取出，取出后新到的浏览进入新的增量，不会丢失
+        Map<Long, List<Long>> postsByDelta = new HashMap<>();
+        for (Long postId : new ArrayList<>(pendingViews.keySet())) {
+            Long delta = pendingViews.remove(postId);
+            if (delta != null) {
+                postsByDelta.computeIfAbsent(delta, d -> new ArrayList<>()).add(postId);
+            }
+        }
+        try {
+            DataSourceRouting.onPrimary(() -> transactionTemplate.executeWithoutResult(status ->
+                    postsByDelta.forEach((delta, postIds) -> postStatsRepository.incrementViewCounts(postIds, delta))));
+        } catch (RuntimeException e) {
+            // 写入失败时放回增量，下个周期重试
+            postsByDelta.forEach((delta, postIds) -> postIds.forEach(id -> pendingViews.merge(id, delta, Long::sum)));
+            log.warn("写入文章浏览数失败，{} 篇文章的增量留待下次写入", postsByDelta.values().stream().mapToInt(List::size).sum(), e);
+        }
+    }
+}
@@ -0,0 +1,365 @@
+package com.xingmiao.blog.app.service.impl;
+
+import com.xingmiao.blog.app.config.DataSourceRouting;
+import com.xingmiao.blog.app.repository.RelatedPostRepository;
+import com.xingmiao.blog.app.service.PostService;
+import com.xingmiao.blog.app.service.RelatedPostService;
+import com.xingmiao.blog.app.similarity.TextFeatures;
+import com.xingmiao.blog.app.similarity.TfIdfIndex;
+import com.xingmiao.blog.app.similarity.TfIdfIndex.Neighbours;
+import com.xingmiao.blog.common.domain.enums.PostStatus;
+import com.xingmiao.blog.common.domain.enums.Visibility;
+import com.xingmiao.blog.common.domain.event.PostChangedEvent;
+import com.xingmiao.blog.common.dto.PostDto;
+import com.xingmiao.blog.common.dto.RelatedPostItem;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
+
+@Service
+@Slf4j
+public class RelatedPostServiceImpl implements RelatedPostService {
+
+    /**
+     * 每个事务写入的文章数
+     */
+    private static final int WRITE_CHUNK_SIZE = 500;
+
+    private static final String INSERT_SQL =
+            "INSERT INTO related_posts (post_id, related_post_id, sort_order, score) VALUES (?, ?, ?, ?)";
+
+    private final PostService postService;
+    private final RelatedPostRepository relatedPostRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int size;
+    private final int maxTerms;
+    private final double minScore;
+    private final ForkJoinPool pool;
+
+    private final Set<Long> dirtyPosts = ConcurrentHashMap.newKeySet();
+    private volatile boolean rebuildRequested;
+
+    /**
+     * 以下状态只在后台任务（flush）中读写
+     */
+    private TfIdfIndex index;
+    private final Map<Long, Neighbours> neighboursByPost = new HashMap<>();
+    private final Map<Long, Integer> signatures = new HashMap<>();
+
+    public RelatedPostServiceImpl(PostService postService,
+                                  RelatedPostRepository relatedPostRepository,
+                                  JdbcTemplate jdbcTemplate,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${blog.related.enabled:true}") boolean enabled,
+                                  @Value("${blog.related.size:10}") int size,
+                                  @Value("${blog.related.max-terms:64}") int maxTerms,
+                                  @Value("${blog.related.min-score:0.05}") double minScore,
+                                  @Value("${blog.related.parallelism:0}") int parallelism) {
+        this.postService = postService;
+        this.relatedPostRepository = relatedPostRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.size = size;
+        this.maxTerms = maxTerms;
+        this.minScore = minScore;
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<RelatedPostItem> getRelated(Long postId, int limit) {
+        int count = Math.min(Math.max(limit, 1), size);
+        List<Object[]> rows = relatedPostRepository.findNeighbours(postId);
+        if (rows.isEmpty()) {
+            return List.of();
+        }
+        List<Long> ids = rows.stream().map(row -> (Long) row[0]).toList();
+        Map<Long, PostDto> posts = postService.getSummariesByIds(ids);
+        List<RelatedPostItem> items = new ArrayList<>(count);
+        for (Object[] row : rows) {
+            PostDto post = posts.get((Long) row[0]);
+            if (post == null || post.getStatus() != PostStatus.PUBLISHED || post.getVisibility() != Visibility.PUBLIC) {
+                continue;
+            }
+            items.add(RelatedPostItem.builder()
+                    .score(Math.round((Double) row[1] * 1000) / 1000.0)
+                    .post(post)
+                    .build());
+            if (items.size() == count) {
+                break;
+            }
+        }
+        return items;
+    }
+
+    @Override
+    public void requestRebuild() {
+        if (enabled) {
+            rebuildRequested = true;
+        }
+    }
+
+    /**
+     * 启动后在后台任务中全量计算一次，建立增量更新所需的内存索引
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initIndex() {
+        requestRebuild();
+    }
+
+    /**
+     * 每天全量重算，修正增量更新期间文档频率的漂移
+     */
+    @Scheduled(cron = "${blog.related.rebuild-cron:0 10 5 * * ?}")
+    public void scheduledRebuild() {
+        requestRebuild();
+    }
+
+    /**
+     * 文章写入提交后标记为待检查；点赞、同步状态等不涉及文章内容的变更直接忽略，
+     * 不在 flush 时重新加载正文，其余变更在 flush 时按签名跳过未影响特征的部分
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostChanged(PostChangedEvent event) {
+        if (enabled && event.getPostId() != null && event.isContentChanged()) {
+            dirtyPosts.add(event.getPostId());
+        }
+    }
+
+    /**
+     * 后台任务：执行待处理的全量计算，或合并一段时间内的变更后增量计算（读主库）
+     */
+    @Scheduled(fixedDelayString = "${blog.related.flush-delay-ms:30000}")
+    public synchronized void flushDirty() {
+        DataSourceRouting.onPrimary(this::flush);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    private void flush() {
+        if (rebuildRequested) {
+            rebuildRequested = false;
+            dirtyPosts.clear();
+            rebuildAll();
+            return;
+        }
+        if (index == null || dirtyPosts.isEmpty()) {
+            return;
+        }
+        Set<Long> postIds = new HashSet<>(dirtyPosts);
+        dirtyPosts.removeAll(postIds);
+        updatePosts(postIds);
+    }
+
+    private void rebuildAll() {
+        long start = System.currentTimeMillis();
+        TfIdfIndex rebuilt = new TfIdfIndex(maxTerms);
+        // 第一遍统计文档频率，第二遍按最终的 idf 生成向量
+        postService.exportAll(post -> {
+            if (isEligible(post)) {
+                rebuilt.countDocument(features(post));
+            }
+        });
+        Map<Long, Integer> rebuiltSignatures = new HashMap<>();
+        postService.exportAll(post -> {
+            if (isEligible(post)) {
+                rebuilt.put(post.getId(), features(post));
+                rebuiltSignatures.put(post.getId(), signature(post));
+            }
+        });
+        Map<Long, Neighbours> computed = rebuilt.neighbours(rebuiltSignatures.keySet(), size, minScore, pool);
+        long computedAt = System.currentTimeMillis();
+
+        Map<Long, Neighbours> stored = loadStored();
+        Map<Long, Neighbours> changed = new HashMap<>();
+        computed.forEach((postId, neighbours) -> {
+            if (!neighbours.sameAs(stored.get(postId))) {
+                changed.put(postId, neighbours);
+            }
+        });
+        Set<Long> removed = new HashSet<>(stored.keySet());
+        removed.removeAll(computed.keySet());
+        write(changed, removed);
+
+        index = rebuilt;
+        signatures.clear();
+        signatures.putAll(rebuiltSignatures);
+        neighboursByPost.clear();
+        neighboursByPost.putAll(computed);
+        log.info("相关文章全量计算完成，文章数:{} 更新列表:{} 删除列表:{} 计算耗时:{}ms 总耗时:{}ms",
+                computed.size(), changed.size(), removed.size(), computedAt - start, System.currentTimeMillis() - start);
+    }
+
+    /**
+     * 增量更新：重新生成变更文章的向量，只重算它们自己、列表中含有它们的文章，
+     * 以及与它们的相似度超过现有列表末位的文章
+     */
+    private void updatePosts(Set<Long> postIds) {
+        Map<Long, PostDto> posts = postService.getByIds(postIds);
+        Set<Long> changed = new HashSet<>();
+        Set<Long> removed = new HashSet<>();
+        for (Long postId : postIds) {
+            PostDto post = posts.get(postId);
+            if (post != null && isEligible(post)) {
+                Integer signature = signature(post);
+                if (!signature.equals(signatures.get(postId))) {
+                    index.put(postId, features(post));
+                    signatures.put(postId, signature);
+                    changed.add(postId);
+                }
+            } else if (signatures.remove(postId) != null) {
+                index.remove(postId);
+                removed.add(postId);
+            }
+        }
+        if (changed.isEmpty() && removed.isEmpty()) {
+            return;
+        }
+
+        Set<Long> affected = new HashSet<>(changed);
+        neighboursByPost.forEach((postId, neighbours) -> {
+            for (long id : neighbours.postIds()) {
+                if (changed.contains(id) || removed.contains(id)) {
+                    affected.add(postId);
+                    return;
+                }
+            }
+        });
+        for (Long postId : changed) {
+            index.neighbours(postId, size, minScore, (otherId, score) -> {
+                if (score >= minScore && qualifies(neighboursByPost.get(otherId), score)) {
+                    affected.add(otherId);
+                }
+            });
+        }
+        affected.removeAll(removed);
+
+        Map<Long, Neighbours> computed = index.neighbours(affected, size, minScore, pool);
+        Map<Long, Neighbours> updated = new HashMap<>();
+        computed.forEach((postId, neighbours) -> {
+            if (!neighbours.sameAs(neighboursByPost.get(postId))) {
+                updated.put(postId, neighbours);
+            }
+        });
+        write(updated, removed);
+        neighboursByPost.putAll(updated);
+        removed.forEach(neighboursByPost::remove);
+        log.debug("相关文章增量计算完成，变更文章:{} 删除文章:{} 重算:{} 更新列表:{}",
+                changed, removed, affected.size(), updated.size());
+    }
+
+    /**
+     * 该分数能否进入现有列表
+     */
+    private boolean qualifies(Neighbours current, double score) {
+        if (current == null || current.size() < size) {
+            return true;
+        }
+        return score > current.scores()[current.size() - 1];
+    }
+
+    /**
+     * 替换变更文章的列表并删除已下线文章的列表，分批提交
+     */
+    private void write(Map<Long, Neighbours> changed, Set<Long> removed) {
+        List<Long> postIds = new ArrayList<>(changed.keySet());
+        postIds.addAll(removed);
+        for (int from = 0; from < postIds.size(); from += WRITE_CHUNK_SIZE) {
+            List<Long> chunk = postIds.subList(from, Math.min(from + WRITE_CHUNK_SIZE, postIds.size()));
+            transactionTemplate.executeWithoutResult(status -> {
+                relatedPostRepository.deleteByPostIdIn(chunk);
+                List<Object[]> rows = new ArrayList<>();
+                for (Long postId : chunk) {
+                    Neighbours neighbours = changed.get(postId);
+                    if (neighbours == null) {
+                        continue;
+                    }
+                    for (int i = 0; i < neighbours.size(); i++) {
+                        rows.add(new Object[]{postId, neighbours.postIds()[i], i, neighbours.scores()[i]});
+                    }
+                }
+                if (!rows.isEmpty()) {
+                    jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+                }
+            });
+        }
+    }
+
+    private Map<Long, Neighbours> loadStored() {
+        Map<Long, Neighbours> stored = new HashMap<>();
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<Object[]> rows = relatedPostRepository.streamAll()) {
+                Long currentPost = null;
+                List<Long> ids = new ArrayList<>();
+                List<Double> scores = new ArrayList<>();
+                Iterator<Object[]> iterator = rows.iterator();
+                while (iterator.hasNext()) {
+                    Object[] row = iterator.next();
+                    Long postId = (Long) row[0];
+                    if (!postId.equals(currentPost)) {
+                        putStored(stored, currentPost, ids, scores);
+                        currentPost = postId;
+                    }
+                    ids.add((Long) row[1]);
+                    scores.add((Double) row[2]);
+                }
+                putStored(stored, currentPost, ids, scores);
+            }
+        });
+        return stored;
+    }
+
+    private void putStored(Map<Long, Neighbours> stored, Long postId, List<Long> ids, List<Double> scores) {
+        if (postId != null) {
+            stored.put(postId, new Neighbours(ids.stream().mapToLong(Long::longValue).toArray(),
+                    scores.stream().mapToDouble(Double::doubleValue).toArray()));
+        }
+        ids.clear();
+        scores.clear();
+    }
+
+    private boolean isEligible(PostDto post) {
+        return post.getStatus() == PostStatus.PUBLISHED && post.getVisibility() == Visibility.PUBLIC;
+    }
+
+    private Map<String, Integer> features(PostDto post) {
+        return TextFeatures.extract(post.getTitle(), post.getContent(), post.getCategoryId(), post.getTagIds());
+    }
+
+    /**
+     * 参与相似度计算的字段签名，未变化时跳过重算
+     */
+    private Integer signature(PostDto post) {
+        List<Long> tagIds = post.getTagIds() == null ? List.of() : post.getTagIds();
+        long[] sortedTags = tagIds.stream().mapToLong(Long::longValue).sorted().toArray();
+        return Objects.hash(post.getTitle(), post.getContent(), post.getCategoryId(), Arrays.hashCode(sortedTags));
+    }
+}
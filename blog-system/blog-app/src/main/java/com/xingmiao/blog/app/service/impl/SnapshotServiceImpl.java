@@ -0,0 +1,382 @@
+package com.xingmiao.blog.app.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.xingmiao.blog.app.config.DataSourceRouting;
+import com.xingmiao.blog.app.repository.CategoryRepository;
+import com.xingmiao.blog.app.service.PostService;
+import com.xingmiao.blog.app.service.SnapshotService;
+import com.xingmiao.blog.common.domain.entity.Category;
+import com.xingmiao.blog.common.domain.enums.PostStatus;
+import com.xingmiao.blog.common.domain.enums.Visibility;
+import com.xingmiao.blog.common.domain.event.PostChangedEvent;
+import com.xingmiao.blog.common.dto.PostDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+@Service
+@Slf4j
+public class SnapshotServiceImpl implements SnapshotService {
+
+    /**
+     * 列表快照中文章摘要包含的字段（不含正文）
+     */
+    private static final String SUMMARY_FIELDS = "title,slug,excerpt,coverImageUrl,categoryId,tagIds," +
+            "viewCount,likeCount,commentCount,publishedAt,updatedAt";
+
+    private static final String JSON_SUFFIX = ".json";
+
+    /**
+     * 每次批量加载的文章数
+     */
+    private static final int LOAD_CHUNK_SIZE = 100;
+
+    private final PostService postService;
+    private final CategoryRepository categoryRepository;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final Path postDir;
+    private final Path slugDir;
+    private final Path categoryDir;
+    private final Path homeFile;
+    private final int listingSize;
+
+    private final Set<Long> dirtyPosts = ConcurrentHashMap.newKeySet();
+    private final Set<Long> dirtyCategories = ConcurrentHashMap.newKeySet();
+
+    /**
+     * 已生成快照的文章 → slug / 分类，用于文章改 slug、换分类或下线时清理旧文件、刷新原分类列表
+     */
+    private final Map<Long, String> slugByPost = new ConcurrentHashMap<>();
+    private final Map<Long, Long> categoryByPost = new ConcurrentHashMap<>();
+
+    private volatile boolean rebuildRequested;
+
+    public SnapshotServiceImpl(PostService postService,
+                               CategoryRepository categoryRepository,
+                               ObjectMapper objectMapper,
+                               @Value("${blog.snapshot.enabled:true}") boolean enabled,
+                               @Value("${blog.snapshot.dir:./snapshots}") String dir,
+                               @Value("${blog.snapshot.listing-size:20}") int listingSize) {
+        this.postService = postService;
+        this.categoryRepository = categoryRepository;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        Path root = Paths.get(dir).toAbsolutePath().normalize();
+        this.postDir = root.resolve("posts");
+        this.slugDir = root.resolve("slugs");
+        this.categoryDir = root.resolve("categories");
+        this.homeFile = root.resolve("home" + JSON_SUFFIX);
+        this.listingSize = listingSize;
+    }
+
+    @Override
+    public void requestRebuild() {
+        if (enabled) {
+            rebuildRequested = true;
+        }
+    }
+
+    /**
+     * 启动后在后台任务中全量生成一次：分批加载文章，内容未变化的快照不重写
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initSnapshots() {
+        requestRebuild();
+    }
+
+    @Override
+    public void markCategoryDirty(Long categoryId) {
+        if (enabled && categoryId != null) {
+            dirtyCategories.add(categoryId);
+        }
+    }
+
+    /**
+     * 文章写入提交后标记为脏数据，覆盖所有写入路径（编辑、回收站、点赞、同步状态）
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostChanged(PostChangedEvent event) {
+        if (enabled && event.getPostId() != null) {
+            dirtyPosts.add(event.getPostId());
+        }
+    }
+
+    /**
+     * 后台任务：执行待处理的全量生成，或合并一段时间内的变更后增量生成，避免批量操作时反复重写首页和分类列表
+     * （快照由写入事件触发，读主库避免写出副本上的旧数据）
+     */
+    @Scheduled(fixedDelayString = "${blog.snapshot.flush-delay-ms:2000}")
+    public synchronized void flushDirty() {
+        DataSourceRouting.onPrimary(this::flush);
+    }
+
+    private void flush() {
+        if (rebuildRequested) {
+            rebuildRequested = false;
+            dirtyPosts.clear();
+            dirtyCategories.clear();
+            rebuildAll();
+            return;
+        }
+        if (dirtyPosts.isEmpty() && dirtyCategories.isEmpty()) {
+            return;
+        }
+        Set<Long> posts = drain(dirtyPosts);
+        Set<Long> categories = drain(dirtyCategories);
+        writePosts(posts, categories);
+        for (Long categoryId : categories) {
+            writeCategory(categoryId);
+        }
+        if (!posts.isEmpty()) {
+            writeHome();
+        }
+        log.debug("静态快照增量生成完成，文章:{} 分类:{}", posts, categories);
+    }
+
+    private void rebuildAll() {
+        long start = System.currentTimeMillis();
+        slugByPost.clear();
+        categoryByPost.clear();
+        Set<Long> postIds = new HashSet<>(postService.getPublishedIds());
+        int written = writePosts(postIds, new HashSet<>());
+
+        Set<Long> categoryIds = new HashSet<>();
+        for (Category category : categoryRepository.findAll()) {
+            categoryIds.add(category.getId());
+            writeCategory(category.getId());
+        }
+        writeHome();
+
+        Set<String> slugFiles = new HashSet<>();
+        slugByPost.forEach((postId, slug) -> slugFiles.add(slugFileName(slug)));
+        removeStale(postDir, name -> !postIds.contains(parseId(name)));
+        removeStale(slugDir, name -> !slugFiles.contains(name));
+        removeStale(categoryDir, name -> !categoryIds.contains(parseId(name)));
+        log.info("静态快照全量生成完成，文章数:{} 重写:{} 分类数:{} 耗时:{}ms",
+                postIds.size(), written, categoryIds.size(), System.currentTimeMillis() - start);
+    }
+
+    @Override
+    public Optional<Path> getHomeFile() {
+        return existing(homeFile);
+    }
+
+    @Override
+    public Optional<Path> getPostFile(Long postId) {
+        return existing(postDir.resolve(postId + JSON_SUFFIX));
+    }
+
+    @Override
+    public Optional<Path> getPostFileBySlug(String slug) {
+        return existing(slugDir.resolve(slugFileName(slug)));
+    }
+
+    @Override
+    public Optional<Path> getCategoryFile(Long categoryId) {
+        return existing(categoryDir.resolve(categoryId + JSON_SUFFIX));
+    }
+
+    /**
+     * 分批加载并生成或删除文章快照
+     *
+     * @param affectedCategories 收集受影响的分类ID（变更前后的分类）
+     * @return 内容有变化、重写了文件的文章数
+     */
+    private int writePosts(Collection<Long> postIds, Set<Long> affectedCategories) {
+        List<Long> ids = new ArrayList<>(postIds);
+        int written = 0;
+        for (int from = 0; from < ids.size(); from += LOAD_CHUNK_SIZE) {
+            List<Long> chunk = ids.subList(from, Math.min(from + LOAD_CHUNK_SIZE, ids.size()));
+            Map<Long, PostDto> posts = postService.getDetailsByIds(chunk);
+            for (Long postId : chunk) {
+                if (writePost(postId, posts.get(postId), affectedCategories)) {
+                    written++;
+                }
+            }
+        }
+        return written;
+    }
+
+    /**
+     * 生成或删除单篇文章的快照
+     *
+     * @param post 文章详情，已删除时为 null
+     * @return 是否重写了文件
+     */
+    private boolean writePost(Long postId, PostDto post, Set<Long> affectedCategories) {
+        Long oldCategoryId = categoryByPost.remove(postId);
+        if (oldCategoryId != null) {
+            affectedCategories.add(oldCategoryId);
+        }
+        try {
+            String oldSlug = slugByPost.remove(postId);
+            if (post == null || post.getStatus() != PostStatus.PUBLISHED || post.getVisibility() != Visibility.PUBLIC) {
+                Files.deleteIfExists(postDir.resolve(postId + JSON_SUFFIX));
+                if (oldSlug != null) {
+                    Files.deleteIfExists(slugDir.resolve(slugFileName(oldSlug)));
+                }
+                return false;
+            }
+
+            boolean written = write(postDir.resolve(postId + JSON_SUFFIX), post);
+            written |= write(slugDir.resolve(slugFileName(post.getSlug())), post);
+            if (oldSlug != null && !oldSlug.equals(post.getSlug())) {
+                Files.deleteIfExists(slugDir.resolve(slugFileName(oldSlug)));
+            }
+            slugByPost.put(postId, post.getSlug());
+            if (post.getCategoryId() != null) {
+                categoryByPost.put(postId, post.getCategoryId());
+                affectedCategories.add(post.getCategoryId());
+            }
+            return written;
+        } catch (Exception e) {
+            log.error("文章快照生成失败，ID:{}", postId, e);
+            return false;
+        }
+    }
+
+    private void writeCategory(Long categoryId) {
+        Path file = categoryDir.resolve(categoryId + JSON_SUFFIX);
+        try {
+            Optional<Category> category = categoryRepository.findById(categoryId)
+                    .filter(c -> !Boolean.FALSE.equals(c.getIsActive()));
+            if (category.isEmpty()) {
+                Files.deleteIfExists(file);
+                return;
+            }
+            Category c = category.get();
+            Map<String, Object> header = new LinkedHashMap<>();
+            header.put("id", c.getId());
+            header.put("name", c.getName());
+            header.put("slug", c.getSlug());
+            header.put("description", c.getDescription());
+            header.put("postCount", c.getPostCount());
+
+            Map<String, Object> body = new LinkedHashMap<>();
+            body.put("category", header);
+            body.putAll(listing(categoryId));
+            write(file, body);
+        } catch (Exception e) {
+            log.error("分类快照生成失败，ID:{}", categoryId, e);
+        }
+    }
+
+    private void writeHome() {
+        try {
+            write(homeFile, listing(null));
+        } catch (Exception e) {
+            log.error("首页快照生成失败", e);
+        }
+    }
+
+    /**
+     * 最新发布的文章摘要（第一页）
+     */
+    private Map<String, Object> listing(Long categoryId) {
+        Page<Map<String, Object>> page = postService.listPublishedFields(categoryId, SUMMARY_FIELDS,
+                PageRequest.of(0, listingSize, Sort.by(Sort.Direction.DESC, "publishedAt")));
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("posts", page.getContent());
+        body.put("total", page.getTotalElements());
+        body.put("generatedAt", LocalDateTime.now());
+        return body;
+    }
+
+    /**
+     * 先写临时文件再原子替换，读取方不会看到写了一半的文件；内容与现有文件相同时不重写，
+     * 文件修改时间（快照响应的 ETag / Last-Modified）保持不变，重启后的全量生成不会让客户端缓存全部失效
+     *
+     * @return 是否重写了文件
+     */
+    private boolean write(Path target, Object body) throws IOException {
+        byte[] bytes = objectMapper.writeValueAsBytes(body);
+        if (Files.isRegularFile(target) && Files.size(target) == bytes.length
+                && Arrays.equals(Files.readAllBytes(target), bytes)) {
+            return false;
+        }
+        Files.createDirectories(target.getParent());
+        Path tmp = Files.createTempFile(target.getParent(), ".tmp-", JSON_SUFFIX);
+        try {
+            Files.write(tmp, bytes);
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+        return true;
+    }
+
+    private void removeStale(Path dir, Predicate<String> stale) {
+        if (!Files.isDirectory(dir)) {
+            return;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, "*" + JSON_SUFFIX)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                if (!name.startsWith(".tmp-") && stale.test(name)) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Optional<Path> existing(Path file) {
+        return Files.isRegularFile(file) ? Optional.of(file) : Optional.empty();
+    }
+
+    /**
+     * slug 编码后作为文件名，不会包含路径分隔符
+     */
+    private String slugFileName(String slug) {
+        return URLEncoder.encode(slug, StandardCharsets.UTF_8) + JSON_SUFFIX;
+    }
+
+    private Long parseId(String fileName) {
+        try {
+            return Long.parseLong(fileName.substring(0, fileName.length() - JSON_SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private Set<Long> drain(Set<Long> dirty) {
+        Set<Long> drained = new HashSet<>();
+        for (Long id : dirty) {
+            if (dirty.remove(id)) {
+                drained.add(id);
+            }
+        }
+        return drained;
+    }
+}
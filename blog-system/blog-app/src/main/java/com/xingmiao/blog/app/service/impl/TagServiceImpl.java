@@ -1,18 +1,27 @@
 package com.xingmiao.blog.app.service.impl;
 
+import com.xingmiao.blog.app.config.CacheConfig;
 import com.xingmiao.blog.common.domain.entity.Tag;
+import com.xingmiao.blog.common.dto.TagCloudItem;
 import com.xingmiao.blog.common.dto.TagCreateRequest;
 import com.xingmiao.blog.common.dto.TagDto;
 import com.xingmiao.blog.common.dto.TagUpdateRequest;
+import com.xingmiao.blog.app.repository.FieldProjectionRepository;
 import com.xingmiao.blog.app.repository.TagRepository;
 import com.xingmiao.blog.app.service.TagService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -20,10 +29,23 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 @Transactional
 public class TagServiceImpl implements TagService {
-    
+
+    /**
+     * 稀疏字段白名单：TagDto 属性名 → Tag 实体属性路径
+     */
+    private static final Map<String, String> FIELD_PATHS = new LinkedHashMap<>();
+
+    static {
+        for (String field : List.of("id", "name", "slug", "color", "postCount", "createdAt", "updatedAt")) {
+            FIELD_PATHS.put(field, field);
+        }
+    }
+
     private final TagRepository tagRepository;
+    private final FieldProjectionRepository fieldProjectionRepository;
     
     @Override
+    @CacheEvict(value = CacheConfig.TAG_CLOUD, allEntries = true)
     public TagDto createTag(TagCreateRequest request) {
         // 检查名称和别名是否已存在
         if (tagRepository.existsByName(request.getName())) {
@@ -44,6 +66,7 @@ public class TagServiceImpl implements TagService {
     }
     
     @Override
+    @CacheEvict(value = CacheConfig.TAG_CLOUD, allEntries = true)
     public TagDto updateTag(Long id, TagUpdateRequest request) {
         Tag tag = tagRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("标签不存在: " + id));
@@ -89,11 +112,28 @@ public class TagServiceImpl implements TagService {
         return tagRepository.findBySlug(slug).map(this::convertToDto);
     }
     
+    @Override
+    @Transactional(readOnly = true)
+    public Map<Long, TagDto> getTagsByIds(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        return tagRepository.findAllById(new HashSet<>(ids)).stream()
+                .collect(Collectors.toMap(Tag::getId, this::convertToDto));
+    }
+    
     @Override
     @Transactional(readOnly = true)
     public Page<TagDto> getAllTags(Pageable pageable) {
         return tagRepository.findAll(pageable).map(this::convertToDto);
     }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<Map<String, Object>> getAllTagsFields(String fields, Pageable pageable) {
+        return fieldProjectionRepository.findFields(Tag.class,
+                FieldProjectionRepository.selectPaths(fields, FIELD_PATHS), null, pageable);
+    }
     
     @Override
     @Transactional(readOnly = true)
@@ -104,10 +144,36 @@ public class TagServiceImpl implements TagService {
     }
     
     @Override
+    @Transactional(readOnly = true)
+    @Cacheable(CacheConfig.TAG_CLOUD)
+    public List<TagCloudItem> getTagCloud() {
+        List<Tag> tags = tagRepository.findByPostCountGreaterThanOrderByPostCountDesc(0);
+        if (tags.isEmpty()) {
+            return List.of();
+        }
+        // 按文章数取对数后线性映射到 1..5，避免热门标签把其余标签压成同一档
+        double max = Math.log(tags.get(0).getPostCount());
+        double min = Math.log(tags.get(tags.size() - 1).getPostCount());
+        return tags.stream()
+                .map(tag -> TagCloudItem.builder()
+                        .id(tag.getId())
+                        .name(tag.getName())
+                        .slug(tag.getSlug())
+                        .color(tag.getColor())
+                        .postCount(tag.getPostCount())
+                        .weight(max == min ? 3
+                                : 1 + (int) Math.round(4 * (Math.log(tag.getPostCount()) - min) / (max - min)))
+                        .build())
+                .collect(Collectors.toList());
+    }
+    
+    @Override
+    @CacheEvict(value = CacheConfig.TAG_CLOUD, allEntries = true)
     public void deleteTag(Long id) {
         if (!tagRepository.existsById(id)) {
             throw new RuntimeException("标签不存在: " + id);
         }
+        // post_tags 通过外键 ON DELETE CASCADE 一并删除
         tagRepository.deleteById(id);
     }
     
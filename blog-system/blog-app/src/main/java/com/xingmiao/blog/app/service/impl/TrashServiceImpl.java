@@ -1,10 +1,15 @@
 package com.xingmiao.blog.app.service.impl;
 
 import com.xingmiao.blog.app.repository.PostRepository;
+import com.xingmiao.blog.app.repository.PostStatsRepository;
 import com.xingmiao.blog.app.repository.CategoryRepository;
+import com.xingmiao.blog.app.repository.PostContentRepository;
+import com.xingmiao.blog.app.repository.PostTagRepository;
 import com.xingmiao.blog.app.service.DifySyncService;
+import com.xingmiao.blog.app.service.PostCounterService;
 import com.xingmiao.blog.app.service.TrashService;
 import com.xingmiao.blog.common.domain.entity.Post;
+import com.xingmiao.blog.common.domain.entity.PostStats;
 import com.xingmiao.blog.common.dto.PostDto;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -15,8 +20,12 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.transaction.support.TransactionSynchronization;
 import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 /**
  * 回收站服务实现类
@@ -32,20 +41,28 @@ public class TrashServiceImpl implements TrashService {
 
     private final PostRepository postRepository;
     private final CategoryRepository categoryRepository;
+    private final PostTagRepository postTagRepository;
+    private final PostContentRepository postContentRepository;
+    private final PostStatsRepository postStatsRepository;
     private final DifySyncService difySyncService;
+    private final PostCounterService postCounterService;
 
     @Override
     @Transactional(readOnly = true)
     public Page<PostDto> listPosts(Pageable pageable) {
-        return postRepository.findByDeletedAtIsNotNull(pageable)
-                .map(this::convertToDto);
+        Page<Post> page = postRepository.findByDeletedAtIsNotNull(pageable);
+        Map<Long, PostStats> statsByPost = page.isEmpty() ? Map.of() :
+                postStatsRepository.findAllById(page.getContent().stream().map(Post::getId).toList()).stream()
+                        .collect(Collectors.toMap(PostStats::getPostId, stats -> stats));
+        return page.map(post -> convertToDto(post, null, statsByPost.get(post.getId())));
     }
 
     @Override
     @Transactional(readOnly = true)
     public Optional<PostDto> getPost(Long id) {
         return postRepository.findByIdAndDeletedAtIsNotNull(id)
-                .map(this::convertToDto);
+                .map(post -> convertToDto(post, postContentRepository.findContentByPostId(id).orElse(null),
+                        postStatsRepository.findById(id).orElse(null)));
     }
 
     @Override
@@ -67,6 +84,10 @@ public class TrashServiceImpl implements TrashService {
         
         post.setDeletedAt(null);
         postRepository.save(post);
+        if (postCounterService.isCounted(post)) {
+            postCounterService.onCounted(post.getCategory() == null ? null : post.getCategory().getId(),
+                    postTagRepository.findTagIdsByPostId(id));
+        }
         
         // 异步重新同步到Dify
         TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
@@ -123,6 +144,15 @@ public class TrashServiceImpl implements TrashService {
         // 批量恢复
         trashPosts.forEach(post -> post.setDeletedAt(null));
         postRepository.saveAll(trashPosts);
+        List<Post> counted = trashPosts.stream().filter(postCounterService::isCounted).toList();
+        Map<Long, List<Long>> tagIdsByPost = new HashMap<>();
+        if (!counted.isEmpty()) {
+            for (Object[] row : postTagRepository.findTagIdsByPostIds(counted.stream().map(Post::getId).toList())) {
+                tagIdsByPost.computeIfAbsent((Long) row[0], k -> new ArrayList<>()).add((Long) row[1]);
+            }
+        }
+        counted.forEach(post -> postCounterService.onCounted(post.getCategory() == null ? null : post.getCategory().getId(),
+                tagIdsByPost.getOrDefault(post.getId(), List.of())));
         
         // 异步重新同步到Dify
         TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
@@ -160,15 +190,15 @@ public class TrashServiceImpl implements TrashService {
     }
 
     /**
-     * 转换Post实体为PostDto
+     * 转换Post实体为PostDto，正文只在详情中返回
      */
-    private PostDto convertToDto(Post post) {
+    private PostDto convertToDto(Post post, String content, PostStats stats) {
         return PostDto.builder()
                 .id(post.getId())
                 .title(post.getTitle())
                 .slug(post.getSlug())
                 .excerpt(post.getExcerpt())
-                .content(post.getContent())
+                .content(content)
                 .contentType(post.getContentType())
                 .status(post.getStatus())
                 .visibility(post.getVisibility())
@@ -178,15 +208,18 @@ public class TrashServiceImpl implements TrashService {
                 .metaTitle(post.getMetaTitle())
                 .metaDescription(post.getMetaDescription())
                 .metaKeywords(post.getMetaKeywords())
-                .viewCount(post.getViewCount())
-                .likeCount(post.getLikeCount())
-                .commentCount(post.getCommentCount())
+                .viewCount(stats == null ? 0L : stats.getViewCount())
+                .likeCount(stats == null ? 0L : stats.getLikeCount())
+                .commentCount(stats == null ? 0L : stats.getCommentCount())
+                .wordCount(post.getWordCount())
+                .readingMinutes(post.getReadingMinutes())
                 .difyDocumentId(post.getDifyDocumentId())
                 .syncStatus(post.getSyncStatus())
                 .syncError(post.getSyncError())
                 .publishedAt(post.getPublishedAt())
                 .createdAt(post.getCreatedAt())
                 .updatedAt(post.getUpdatedAt())
+                .version(post.getVersion())
                 .build();
     }
 }
@@ -0,0 +1,341 @@
+package com.xingmiao.blog.app.service.impl;
+
+import com.xingmiao.blog.app.config.DataSourceRouting;
+import com.xingmiao.blog.app.ranking.DecayedScoreTable;
+import com.xingmiao.blog.app.ranking.TopKList;
+import com.xingmiao.blog.app.repository.PostRepository;
+import com.xingmiao.blog.app.service.PostService;
+import com.xingmiao.blog.app.service.TrendingService;
+import com.xingmiao.blog.common.domain.enums.EngagementType;
+import com.xingmiao.blog.common.domain.enums.PostStatus;
+import com.xingmiao.blog.common.domain.enums.Visibility;
+import com.xingmiao.blog.common.domain.event.PostChangedEvent;
+import com.xingmiao.blog.common.domain.event.PostEngagementEvent;
+import com.xingmiao.blog.common.dto.PostDto;
+import com.xingmiao.blog.common.dto.TrendingItem;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+@Slf4j
+public class TrendingServiceImpl implements TrendingService {
+
+    public static final int MAX_LIMIT = 50;
+
+    /**
+     * 检查点文件头（"TRND"）与格式版本
+     */
+    private static final int CHECKPOINT_MAGIC = 0x54524E44;
+    private static final int CHECKPOINT_VERSION = 1;
+
+    /**
+     * 未分类文章在分数表中的分类值，只进入全站排行
+     */
+    private static final long NO_CATEGORY = 0;
+
+    /**
+     * 重新定基时丢弃当前分数低于该值的文章（约为一次浏览衰减 7 个半衰期之后）
+     */
+    private static final double PRUNE_BELOW = 0.01;
+
+    private final PostRepository postRepository;
+    private final PostService postService;
+    private final Map<EngagementType, Double> weights = new EnumMap<>(EngagementType.class);
+    private final long halfLifeMillis;
+    private final int capacity;
+    private final Path checkpointFile;
+
+    /**
+     * 分数表与各排行共用一把锁：事件更新和读取都只在内存中做 O(K) 的操作
+     */
+    private final Object lock = new Object();
+    private DecayedScoreTable table;
+    private final TopKList global;
+    private final Map<Long, TopKList> byCategory = new HashMap<>();
+    private boolean dirty;
+
+    public TrendingServiceImpl(PostRepository postRepository,
+                               PostService postService,
+                               @Value("${blog.trending.half-life-hours:72}") double halfLifeHours,
+                               @Value("${blog.trending.view-weight:1}") double viewWeight,
+                               @Value("${blog.trending.like-weight:5}") double likeWeight,
+                               @Value("${blog.trending.comment-weight:10}") double commentWeight,
+                               @Value("${blog.trending.capacity:100}") int capacity,
+                               @Value("${blog.trending.checkpoint-file:./data/trending.bin}") String checkpointFile) {
+        this.postRepository = postRepository;
+        this.postService = postService;
+        this.halfLifeMillis = (long) (halfLifeHours * 3_600_000L);
+        this.weights.put(EngagementType.VIEW, viewWeight);
+        this.weights.put(EngagementType.LIKE, likeWeight);
+        this.weights.put(EngagementType.UNLIKE, -likeWeight);
+        this.weights.put(EngagementType.COMMENT, commentWeight);
+        this.capacity = Math.max(capacity, MAX_LIMIT);
+        this.checkpointFile = Paths.get(checkpointFile).toAbsolutePath().normalize();
+        this.table = new DecayedScoreTable(halfLifeMillis, PRUNE_BELOW, System.currentTimeMillis());
+        this.global = new TopKList(this.capacity);
+    }
+
+    @Override
+    public List<TrendingItem> getTrending(Long categoryId, int limit) {
+        int size = Math.min(Math.max(limit, 1), MAX_LIMIT);
+        List<Long> ids = new ArrayList<>();
+        List<Double> scores = new ArrayList<>();
+        synchronized (lock) {
+            TopKList list = categoryId == null ? global : byCategory.get(categoryId);
+            if (list == null) {
+                return List.of();
+            }
+            // 多取一些候选，抵消其中已下线或非公开的文章
+            int candidates = Math.min(list.size(), size * 2);
+            long now = System.currentTimeMillis();
+            for (int i = 0; i < candidates; i++) {
+                ids.add(list.idAt(i));
+                scores.add(table.decay(list.scoreAt(i), now));
+            }
+        }
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, PostDto> posts = postService.getSummariesByIds(ids);
+        List<TrendingItem> items = new ArrayList<>(size);
+        for (int i = 0; i < ids.size() && items.size() < size; i++) {
+            PostDto post = posts.get(ids.get(i));
+            if (post == null || post.getStatus() != PostStatus.PUBLISHED || post.getVisibility() != Visibility.PUBLIC) {
+                continue;
+            }
+            items.add(TrendingItem.builder()
+                    .score(Math.round(scores.get(i) * 100) / 100.0)
+                    .post(post)
+                    .build());
+        }
+        return items;
+    }
+
+    /**
+     * 互动事件：浏览在读取路径上同步发布，点赞在事务提交后处理，回滚的点赞不计分
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEngagement(PostEngagementEvent event) {
+        Long postId = event.getPostId();
+        Double weight = weights.get(event.getType());
+        if (postId == null || postId <= 0 || weight == null) {
+            return;
+        }
+        long categoryId;
+        synchronized (lock) {
+            categoryId = table.categoryOf(postId);
+        }
+        if (categoryId < 0) {
+            if (weight <= 0) {
+                // 未上榜的文章取消点赞无需处理
+                return;
+            }
+            Long resolved = resolveCategory(postId);
+            if (resolved == null) {
+                return;
+            }
+            categoryId = resolved;
+        }
+
+        long now = System.currentTimeMillis();
+        synchronized (lock) {
+            if (table.rebaseIfNeeded(now)) {
+                rebuildRankings();
+            }
+            if (table.contains(postId)) {
+                // 分类可能已被并发的变更事件更新，以分数表为准
+                categoryId = table.categoryOf(postId);
+            }
+            double score = table.add(postId, categoryId, weight, now);
+            global.update(postId, score);
+            if (categoryId != NO_CATEGORY) {
+                rankingOf(categoryId).update(postId, score);
+            }
+            dirty = true;
+        }
+    }
+
+    /**
+     * 已上榜文章换分类或被删除时调整排行；未上榜的文章在下一次互动时再解析分类
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostChanged(PostChangedEvent event) {
+        Long postId = event.getPostId();
+        if (postId == null) {
+            return;
+        }
+        synchronized (lock) {
+            if (!table.contains(postId)) {
+                return;
+            }
+        }
+        Long categoryId = resolveCategory(postId);
+
+        synchronized (lock) {
+            long current = table.categoryOf(postId);
+            if (current < 0) {
+                return;
+            }
+            if (categoryId == null) {
+                global.remove(postId);
+                removeFromCategory(current, postId);
+                table.remove(postId);
+                dirty = true;
+                return;
+            }
+            if (categoryId != current) {
+                removeFromCategory(current, postId);
+                table.setCategory(postId, categoryId);
+                if (categoryId != NO_CATEGORY) {
+                    rankingOf(categoryId).update(postId, table.storedScore(postId));
+                }
+                dirty = true;
+            }
+        }
+    }
+
+    @Override
+    @PreDestroy
+    @Scheduled(fixedDelayString = "${blog.trending.checkpoint-interval-ms:60000}",
+               initialDelayString = "${blog.trending.checkpoint-interval-ms:60000}")
+    public void checkpoint() {
+        long baseTime;
+        long[] ids;
+        long[] categories;
+        double[] scores;
+        synchronized (lock) {
+            if (!dirty) {
+                return;
+            }
+            baseTime = table.baseTime();
+            ids = new long[table.size()];
+            categories = new long[ids.length];
+            scores = new double[ids.length];
+            int[] index = {0};
+            table.forEach((postId, categoryId, storedScore) -> {
+                ids[index[0]] = postId;
+                categories[index[0]] = categoryId;
+                scores[index[0]] = storedScore;
+                index[0]++;
+            });
+            dirty = false;
+        }
+
+        // 先写临时文件再原子替换，进程中途退出不会留下半个检查点
+        Path tmp = checkpointFile.resolveSibling(checkpointFile.getFileName() + ".tmp");
+        try {
+            Files.createDirectories(checkpointFile.getParent());
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+                out.writeInt(CHECKPOINT_MAGIC);
+                out.writeInt(CHECKPOINT_VERSION);
+                out.writeLong(baseTime);
+                out.writeInt(ids.length);
+                for (int i = 0; i < ids.length; i++) {
+                    out.writeLong(ids[i]);
+                    out.writeLong(categories[i]);
+                    out.writeDouble(scores[i]);
+                }
+            }
+            try {
+                Files.move(tmp, checkpointFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmp, checkpointFile, StandardCopyOption.REPLACE_EXISTING);
+            }
+            log.debug("热门文章检查点已写入，文章数量:{}", ids.length);
+        } catch (IOException e) {
+            synchronized (lock) {
+                dirty = true;
+            }
+            log.warn("写入热门文章检查点失败: {}", checkpointFile, e);
+        }
+    }
+
+    /**
+     * 启动时从检查点恢复分数；文件不存在或格式不符时从空表开始
+     */
+    @PostConstruct
+    public void restore() {
+        if (!Files.isRegularFile(checkpointFile)) {
+            return;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(checkpointFile)))) {
+            if (in.readInt() != CHECKPOINT_MAGIC || in.readInt() != CHECKPOINT_VERSION) {
+                log.warn("热门文章检查点格式不符，已忽略: {}", checkpointFile);
+                return;
+            }
+            DecayedScoreTable restored = new DecayedScoreTable(halfLifeMillis, PRUNE_BELOW, in.readLong());
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                restored.put(in.readLong(), in.readLong(), in.readDouble());
+            }
+            synchronized (lock) {
+                table = restored;
+                table.rebaseIfNeeded(System.currentTimeMillis());
+                rebuildRankings();
+            }
+            log.info("热门文章分数已从检查点恢复，文章数量:{}", table.size());
+        } catch (IOException e) {
+            log.warn("读取热门文章检查点失败，从空表开始: {}", checkpointFile, e);
+        }
+    }
+
+    /**
+     * 查询文章当前分类：已删除或不存在返回 null，未分类返回 {@link #NO_CATEGORY}
+     * （事件可能紧跟在写入之后，读主库）
+     */
+    private Long resolveCategory(Long postId) {
+        List<Object[]> rows = DataSourceRouting.onPrimary(() -> postRepository.findCategoryIdById(postId));
+        if (rows.isEmpty()) {
+            return null;
+        }
+        Long categoryId = (Long) rows.get(0)[1];
+        return categoryId == null ? NO_CATEGORY : categoryId;
+    }
+
+    private TopKList rankingOf(long categoryId) {
+        return byCategory.computeIfAbsent(categoryId, id -> new TopKList(capacity));
+    }
+
+    private void removeFromCategory(long categoryId, long postId) {
+        TopKList list = byCategory.get(categoryId);
+        if (list != null) {
+            list.remove(postId);
+        }
+    }
+
+    /**
+     * 按分数表重建全部排行（恢复检查点、重新定基之后），调用方持有锁
+     */
+    private void rebuildRankings() {
+        global.clear();
+        byCategory.clear();
+        table.forEach((postId, categoryId, storedScore) -> {
+            global.update(postId, storedScore);
+            if (categoryId != NO_CATEGORY) {
+                rankingOf(categoryId).update(postId, storedScore);
+            }
+        });
+    }
+}
@@ -0,0 +1,68 @@
+package com.xingmiao.blog.app.similarity;
+
+import java.util.Map;
+
+/**
+ * 正文 SimHash 指纹（64 位）
+ *
+ * <p>每个特征（汉字二元组、单词）哈希为 64 位，按词频加权后逐位投票，得票为正的位取 1。
+ * 内容相近的文章指纹只有少数位不同，用汉明距离衡量相似程度。</p>
+ */
+public final class SimHash {
+
+    /**
+     * 表示「没有指纹」：特征太少的正文（如只有一两句话）不参与查重，避免短文之间误报
+     */
+    public static final long NONE = 0L;
+
+    private static final int MIN_FEATURES = 10;
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private SimHash() {
+    }
+
+    public static long fingerprint(String content) {
+        Map<String, Integer> features = TextFeatures.extract(null, content, null, null);
+        if (features.size() < MIN_FEATURES) {
+            return NONE;
+        }
+        long[] votes = new long[64];
+        for (Map.Entry<String, Integer> entry : features.entrySet()) {
+            long hash = hash(entry.getKey());
+            int weight = entry.getValue();
+            for (int bit = 0; bit < 64; bit++) {
+                votes[bit] += ((hash >>> bit) & 1) == 1 ? weight : -weight;
+            }
+        }
+        long fingerprint = 0;
+        for (int bit = 0; bit < 64; bit++) {
+            if (votes[bit] > 0) {
+                fingerprint |= 1L << bit;
+            }
+        }
+        return fingerprint;
+    }
+
+    public static int distance(long a, long b) {
+        return Long.bitCount(a ^ b);
+    }
+
+    /**
+     * FNV-1a 加 MurmurHash3 的 fmix64 混合，使相近的字符串各位也充分扩散
+     */
+    private static long hash(String term) {
+        long hash = FNV_OFFSET;
+        for (int i = 0; i < term.length(); i++) {
+            hash ^= term.charAt(i);
+            hash *= FNV_PRIME;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,192 @@
+package com.xingmiao.blog.app.similarity;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * SimHash 指纹的分段查找表
+ *
+ * <p>64 位指纹切成 maxDistance + 1 段，每段一张「段值 → 文章」的哈希表。两个指纹的汉明距离不超过 maxDistance 时，
+ * 按抽屉原理至少有一段完全相同，因此只需比较在某一段上落入同一桶的文章，不做全量两两比较。
+ * 同一对文章可能在多段上相同，只在第一个相同的段上计算和报告一次。</p>
+ *
+ * <p>方法均加锁，可以被请求线程和事件监听同时调用。</p>
+ */
+public final class SimHashIndex {
+
+    private static final int MAX_SUPPORTED_DISTANCE = 15;
+
+    private final int maxDistance;
+    private final int[] bandShifts;
+    private final long[] bandMasks;
+    private final List<Map<Long, Bucket>> tables = new ArrayList<>();
+    private final Map<Long, Long> fingerprints = new HashMap<>();
+
+    public SimHashIndex(int maxDistance) {
+        if (maxDistance < 0 || maxDistance > MAX_SUPPORTED_DISTANCE) {
+            throw new IllegalArgumentException("汉明距离阈值需在 0~" + MAX_SUPPORTED_DISTANCE + " 之间:" + maxDistance);
+        }
+        this.maxDistance = maxDistance;
+        int bands = maxDistance + 1;
+        this.bandShifts = new int[bands];
+        this.bandMasks = new long[bands];
+        int shift = 0;
+        for (int band = 0; band < bands; band++) {
+            // 64 位尽量均分，前面的段多分 1 位
+            int width = 64 / bands + (band < 64 % bands ? 1 : 0);
+            bandShifts[band] = shift;
+            bandMasks[band] = width == 64 ? -1L : (1L << width) - 1;
+            shift += width;
+            tables.add(new HashMap<>());
+        }
+    }
+
+    public int getMaxDistance() {
+        return maxDistance;
+    }
+
+    public synchronized int size() {
+        return fingerprints.size();
+    }
+
+    /**
+     * 文章的指纹，未收录时返回 {@link SimHash#NONE}
+     */
+    public synchronized long fingerprintOf(long postId) {
+        return fingerprints.getOrDefault(postId, SimHash.NONE);
+    }
+
+    public synchronized void put(long postId, long fingerprint) {
+        Long existing = fingerprints.get(postId);
+        if (existing != null && existing == fingerprint) {
+            return;
+        }
+        remove(postId);
+        fingerprints.put(postId, fingerprint);
+        for (int band = 0; band < tables.size(); band++) {
+            tables.get(band).computeIfAbsent(bandValue(fingerprint, band), key -> new Bucket()).add(postId, fingerprint);
+        }
+    }
+
+    public synchronized void remove(long postId) {
+        Long fingerprint = fingerprints.remove(postId);
+        if (fingerprint == null) {
+            return;
+        }
+        for (int band = 0; band < tables.size(); band++) {
+            Map<Long, Bucket> table = tables.get(band);
+            long key = bandValue(fingerprint, band);
+            Bucket bucket = table.get(key);
+            if (bucket != null && bucket.remove(postId) && bucket.size == 0) {
+                table.remove(key);
+            }
+        }
+    }
+
+    /**
+     * 与给定指纹距离不超过阈值的文章，按距离升序
+     *
+     * @param excludePostId 排除的文章（通常是被检查的文章自身）
+     */
+    public synchronized List<Match> query(long fingerprint, long excludePostId) {
+        List<Match> matches = new ArrayList<>();
+        for (int band = 0; band < tables.size(); band++) {
+            Bucket bucket = tables.get(band).get(bandValue(fingerprint, band));
+            if (bucket == null) {
+                continue;
+            }
+            for (int i = 0; i < bucket.size; i++) {
+                long postId = bucket.ids[i];
+                if (postId == excludePostId) {
+                    continue;
+                }
+                long other = bucket.fingerprints[i];
+                int distance = SimHash.distance(fingerprint, other);
+                if (distance <= maxDistance && firstEqualBand(fingerprint, other) == band) {
+                    matches.add(new Match(postId, distance));
+                }
+            }
+        }
+        matches.sort(Comparator.comparingInt(Match::distance).thenComparingLong(Match::postId));
+        return matches;
+    }
+
+    /**
+     * 全部距离不超过阈值的文章对（每对只报告一次）
+     */
+    public synchronized void forEachPair(PairConsumer consumer) {
+        for (int band = 0; band < tables.size(); band++) {
+            for (Bucket bucket : tables.get(band).values()) {
+                for (int i = 0; i < bucket.size; i++) {
+                    long a = bucket.ids[i];
+                    long fa = bucket.fingerprints[i];
+                    for (int j = i + 1; j < bucket.size; j++) {
+                        long b = bucket.ids[j];
+                        long fb = bucket.fingerprints[j];
+                        int distance = SimHash.distance(fa, fb);
+                        if (distance <= maxDistance && firstEqualBand(fa, fb) == band) {
+                            consumer.accept(Math.min(a, b), Math.max(a, b), distance);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private long bandValue(long fingerprint, int band) {
+        return (fingerprint >>> bandShifts[band]) & bandMasks[band];
+    }
+
+    private int firstEqualBand(long a, long b) {
+        for (int band = 0; band < bandShifts.length; band++) {
+            if (bandValue(a, band) == bandValue(b, band)) {
+                return band;
+            }
+        }
+        return -1;
+    }
+
+    public record Match(long postId, int distance) {
+    }
+
+    @FunctionalInterface
+    public interface PairConsumer {
+        void accept(long postId, long otherPostId, int distance);
+    }
+
+    /**
+     * 桶内同时保存文章ID和指纹，比较时不再回查指纹表
+     */
+    private static final class Bucket {
+
+        private long[] ids = new long[2];
+        private long[] fingerprints = new long[2];
+        private int size;
+
+        void add(long postId, long fingerprint) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                fingerprints = Arrays.copyOf(fingerprints, size * 2);
+            }
+            ids[size] = postId;
+            fingerprints[size] = fingerprint;
+            size++;
+        }
+
+        boolean remove(long postId) {
+            for (int i = 0; i < size; i++) {
+                if (ids[i] == postId) {
+                    size--;
+                    ids[i] = ids[size];
+                    fingerprints[i] = fingerprints[size];
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.xingmiao.blog.app.similarity;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * 文章特征提取：正文和标题切词后的词频，加上分类、标签特征
+ *
+ * <p>不依赖分词词典：连续的汉字按相邻二字切分（bigram），字母数字按单词切分并转小写。
+ * 标题词、分类和标签按固定倍数计入词频，使同分类、同标签的文章更容易相似。</p>
+ */
+public final class TextFeatures {
+
+    private static final int TITLE_BOOST = 3;
+    private static final int CATEGORY_BOOST = 2;
+    private static final int TAG_BOOST = 3;
+    private static final int MAX_WORD_LENGTH = 30;
+
+    private static final Pattern URL = Pattern.compile("https?://\\S+");
+
+    private static final Set<String> STOP_WORDS = Set.of(
+            "the", "and", "for", "are", "but", "not", "you", "with", "this", "that", "from", "have", "was",
+            "will", "can", "its", "into", "then", "than", "there", "their", "they", "them", "what", "when",
+            "which", "who", "how", "all", "any", "our", "your", "has", "had", "been", "were", "use", "using");
+
+    private TextFeatures() {
+    }
+
+    /**
+     * 提取特征词频
+     *
+     * @param title 标题
+     * @param content 正文（Markdown / HTML 标记符号在切词时被忽略）
+     * @param categoryId 分类ID，可为空
+     * @param tagIds 标签ID，可为空
+     * @return 特征 → 词频
+     */
+    public static Map<String, Integer> extract(String title, String content, Long categoryId, Collection<Long> tagIds) {
+        Map<String, Integer> counts = new HashMap<>();
+        tokenize(title, TITLE_BOOST, counts);
+        tokenize(content, 1, counts);
+        if (categoryId != null) {
+            counts.merge("#category:" + categoryId, CATEGORY_BOOST, Integer::sum);
+        }
+        if (tagIds != null) {
+            for (Long tagId : tagIds) {
+                counts.merge("#tag:" + tagId, TAG_BOOST, Integer::sum);
+            }
+        }
+        return counts;
+    }
+
+    private static void tokenize(String text, int weight, Map<String, Integer> counts) {
+        if (text == null || text.isEmpty()) {
+            return;
+        }
+        String source = URL.matcher(text).replaceAll(" ");
+        StringBuilder word = new StringBuilder();
+        char previousHan = 0;
+        boolean hanRunSingle = false;
+        for (int i = 0; i < source.length(); i++) {
+            char ch = source.charAt(i);
+            if (isHan(ch)) {
+                flushWord(word, weight, counts);
+                if (previousHan != 0) {
+                    counts.merge(new String(new char[]{previousHan, ch}), weight, Integer::sum);
+                    hanRunSingle = false;
+                } else {
+                    hanRunSingle = true;
+                }
+                previousHan = ch;
+                continue;
+            }
+            // 单个汉字成词时（如「锁」）按单字计入
+            if (previousHan != 0 && hanRunSingle) {
+                counts.merge(String.valueOf(previousHan), weight, Integer::sum);
+            }
+            previousHan = 0;
+            if (Character.isLetterOrDigit(ch)) {
+                word.append(Character.toLowerCase(ch));
+            } else {
+                flushWord(word, weight, counts);
+            }
+        }
+        if (previousHan != 0 && hanRunSingle) {
+            counts.merge(String.valueOf(previousHan), weight, Integer::sum);
+        }
+        flushWord(word, weight, counts);
+    }
+
+    private static void flushWord(StringBuilder word, int weight, Map<String, Integer> counts) {
+        int length = word.length();
+        if (length >= 2 && length <= MAX_WORD_LENGTH && !isNumber(word)) {
+            String term = word.toString();
+            if (!STOP_WORDS.contains(term)) {
+                counts.merge(term, weight, Integer::sum);
+            }
+        }
+        word.setLength(0);
+    }
+
+    private static boolean isNumber(CharSequence word) {
+        for (int i = 0; i < word.length(); i++) {
+            if (!Character.isDigit(word.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isHan(char ch) {
+        return Character.UnicodeScript.of(ch) == Character.UnicodeScript.HAN;
+    }
+}
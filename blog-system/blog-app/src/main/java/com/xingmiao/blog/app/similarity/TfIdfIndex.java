@@ -0,0 +1,363 @@
+package com.xingmiao.blog.app.similarity;
+
+import com.xingmiao.blog.app.ranking.TopKList;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.stream.IntStream;
+
+/**
+ * TF-IDF 向量与倒排索引，用于计算文章之间的余弦相似度
+ *
+ * <p>文章向量取 (1 + log tf)·idf 最高的若干个特征并做 L2 归一化，余弦相似度即点积。
+ * 查询某篇文章的近邻时只沿它的特征遍历倒排表，累加与之有共同特征的文章，不做两两比较。</p>
+ *
+ * <p>文档频率在全量构建时统计（{@link #countDocument}），增量更新沿用该统计，新出现的特征按文档频率 0 计算，
+ * 直到下一次全量构建。写操作非线程安全；两次写操作之间，{@link #neighbours} 可以并发调用。</p>
+ */
+public final class TfIdfIndex {
+
+    private static final int INITIAL_TERMS = 1024;
+    private static final int INITIAL_SLOTS = 64;
+
+    private final int maxTerms;
+
+    private final Map<String, Integer> termIds = new HashMap<>();
+    private int[] documentFrequency = new int[INITIAL_TERMS];
+    private int documentCount;
+
+    private final Map<Long, Integer> slots = new HashMap<>();
+    private final ArrayDeque<Integer> freeSlots = new ArrayDeque<>();
+    private long[] postIds = new long[INITIAL_SLOTS];
+    private int[][] terms = new int[INITIAL_SLOTS][];
+    private float[][] weights = new float[INITIAL_SLOTS][];
+    private int slotCount;
+
+    private int[][] postingSlots = new int[INITIAL_TERMS][];
+    private float[][] postingWeights = new float[INITIAL_TERMS][];
+    private int[] postingSizes = new int[INITIAL_TERMS];
+
+    /**
+     * @param maxTerms 每篇文章向量保留的特征数上限
+     */
+    public TfIdfIndex(int maxTerms) {
+        this.maxTerms = maxTerms;
+    }
+
+    /**
+     * 全量构建第一遍：统计文档频率
+     */
+    public void countDocument(Map<String, Integer> termCounts) {
+        documentCount++;
+        for (String term : termCounts.keySet()) {
+            int id = termId(term);
+            documentFrequency[id]++;
+        }
+    }
+
+    public int size() {
+        return slots.size();
+    }
+
+    public boolean contains(long postId) {
+        return slots.containsKey(postId);
+    }
+
+    /**
+     * 加入或替换文章向量
+     */
+    public void put(long postId, Map<String, Integer> termCounts) {
+        remove(postId);
+        int count = termCounts.size();
+        int[] ids = new int[count];
+        float[] values = new float[count];
+        int i = 0;
+        for (Map.Entry<String, Integer> entry : termCounts.entrySet()) {
+            int id = termId(entry.getKey());
+            ids[i] = id;
+            values[i] = (float) ((1 + Math.log(entry.getValue())) * idf(id));
+            i++;
+        }
+        if (count > maxTerms) {
+            float[] all = values;
+            int[] order = IntStream.range(0, count).boxed()
+                    .sorted(Comparator.comparingDouble(index -> -all[index]))
+                    .limit(maxTerms)
+                    .mapToInt(Integer::intValue)
+                    .toArray();
+            int[] keptIds = new int[maxTerms];
+            float[] keptValues = new float[maxTerms];
+            for (int k = 0; k < maxTerms; k++) {
+                keptIds[k] = ids[order[k]];
+                keptValues[k] = values[order[k]];
+            }
+            ids = keptIds;
+            values = keptValues;
+        }
+        double norm = 0;
+        for (float value : values) {
+            norm += value * value;
+        }
+        if (norm == 0) {
+            return;
+        }
+        float scale = (float) (1 / Math.sqrt(norm));
+        for (int k = 0; k < values.length; k++) {
+            values[k] *= scale;
+        }
+
+        int slot = allocateSlot();
+        postIds[slot] = postId;
+        terms[slot] = ids;
+        weights[slot] = values;
+        for (int k = 0; k < ids.length; k++) {
+            addPosting(ids[k], slot, values[k]);
+        }
+        slots.put(postId, slot);
+    }
+
+    public void remove(long postId) {
+        Integer slot = slots.remove(postId);
+        if (slot == null) {
+            return;
+        }
+        for (int term : terms[slot]) {
+            removePosting(term, slot);
+        }
+        postIds[slot] = 0;
+        terms[slot] = null;
+        weights[slot] = null;
+        freeSlots.push(slot);
+    }
+
+    /**
+     * 单篇文章的近邻
+     *
+     * @param postId 文章ID
+     * @param n 近邻数量
+     * @param minScore 最低相似度
+     * @param others 不为空时，接收该文章与每篇有共同特征的文章的相似度（用于判断哪些文章的近邻需要更新）
+     */
+    public Neighbours neighbours(long postId, int n, double minScore, ScoreConsumer others) {
+        Integer slot = slots.get(postId);
+        if (slot == null) {
+            return Neighbours.EMPTY;
+        }
+        return new Scorer().neighbours(slot, n, minScore, others);
+    }
+
+    /**
+     * 多篇文章的近邻，按文章切分为 fork-join 任务在多个核上并行计算
+     */
+    public Map<Long, Neighbours> neighbours(Collection<Long> postIds, int n, double minScore, ForkJoinPool pool) {
+        long[] ids = postIds.stream().filter(slots::containsKey).mapToLong(Long::longValue).toArray();
+        Neighbours[] results = new Neighbours[ids.length];
+        if (ids.length > 0) {
+            // 每个叶子任务分配一个与文章数等长的累加数组，任务数控制在并行度的数倍
+            int threshold = Math.max(16, ids.length / (pool.getParallelism() * 8) + 1);
+            pool.invoke(new NeighboursTask(ids, results, 0, ids.length, threshold, n, minScore));
+        }
+        Map<Long, Neighbours> neighbours = new LinkedHashMap<>();
+        for (int i = 0; i < ids.length; i++) {
+            neighbours.put(ids[i], results[i]);
+        }
+        return neighbours;
+    }
+
+    private double idf(int termId) {
+        return Math.log((documentCount + 1.0) / (documentFrequency[termId] + 1.0)) + 1;
+    }
+
+    private int termId(String term) {
+        Integer id = termIds.get(term);
+        if (id != null) {
+            return id;
+        }
+        int next = termIds.size();
+        if (next == documentFrequency.length) {
+            int capacity = next * 2;
+            documentFrequency = Arrays.copyOf(documentFrequency, capacity);
+            postingSlots = Arrays.copyOf(postingSlots, capacity);
+            postingWeights = Arrays.copyOf(postingWeights, capacity);
+            postingSizes = Arrays.copyOf(postingSizes, capacity);
+        }
+        termIds.put(term, next);
+        return next;
+    }
+
+    private int allocateSlot() {
+        if (!freeSlots.isEmpty()) {
+            return freeSlots.pop();
+        }
+        if (slotCount == postIds.length) {
+            int capacity = slotCount * 2;
+            postIds = Arrays.copyOf(postIds, capacity);
+            terms = Arrays.copyOf(terms, capacity);
+            weights = Arrays.copyOf(weights, capacity);
+        }
+        return slotCount++;
+    }
+
+    private void addPosting(int term, int slot, float weight) {
+        int size = postingSizes[term];
+        if (postingSlots[term] == null) {
+            postingSlots[term] = new int[4];
+            postingWeights[term] = new float[4];
+        } else if (size == postingSlots[term].length) {
+            postingSlots[term] = Arrays.copyOf(postingSlots[term], size * 2);
+            postingWeights[term] = Arrays.copyOf(postingWeights[term], size * 2);
+        }
+        postingSlots[term][size] = slot;
+        postingWeights[term][size] = weight;
+        postingSizes[term] = size + 1;
+    }
+
+    private void removePosting(int term, int slot) {
+        int[] entries = postingSlots[term];
+        int size = postingSizes[term];
+        for (int i = 0; i < size; i++) {
+            if (entries[i] == slot) {
+                // 倒排表内无序，用末尾元素填补
+                entries[i] = entries[size - 1];
+                postingWeights[term][i] = postingWeights[term][size - 1];
+                postingSizes[term] = size - 1;
+                return;
+            }
+        }
+    }
+
+    /**
+     * 单线程使用的相似度累加器
+     */
+    private final class Scorer {
+
+        private final float[] scores = new float[slotCount];
+        private int[] touched = new int[256];
+        private int touchedCount;
+
+        Neighbours neighbours(int slot, int n, double minScore, ScoreConsumer others) {
+            int[] slotTerms = terms[slot];
+            float[] slotWeights = weights[slot];
+            for (int t = 0; t < slotTerms.length; t++) {
+                int term = slotTerms[t];
+                float weight = slotWeights[t];
+                int[] entries = postingSlots[term];
+                float[] entryWeights = postingWeights[term];
+                int size = postingSizes[term];
+                for (int p = 0; p < size; p++) {
+                    int other = entries[p];
+                    if (other == slot) {
+                        continue;
+                    }
+                    if (scores[other] == 0) {
+                        if (touchedCount == touched.length) {
+                            touched = Arrays.copyOf(touched, touchedCount * 2);
+                        }
+                        touched[touchedCount++] = other;
+                    }
+                    scores[other] += weight * entryWeights[p];
+                }
+            }
+
+            TopKList top = new TopKList(n);
+            for (int i = 0; i < touchedCount; i++) {
+                int other = touched[i];
+                double score = scores[other];
+                scores[other] = 0;
+                if (others != null) {
+                    others.accept(postIds[other], score);
+                }
+                if (score >= minScore) {
+                    top.update(postIds[other], score);
+                }
+            }
+            touchedCount = 0;
+            return Neighbours.of(top);
+        }
+    }
+
+    private final class NeighboursTask extends RecursiveAction {
+
+        private final long[] ids;
+        private final Neighbours[] results;
+        private final int from;
+        private final int to;
+        private final int threshold;
+        private final int n;
+        private final double minScore;
+
+        NeighboursTask(long[] ids, Neighbours[] results, int from, int to, int threshold, int n, double minScore) {
+            this.ids = ids;
+            this.results = results;
+            this.from = from;
+            this.to = to;
+            this.threshold = threshold;
+            this.n = n;
+            this.minScore = minScore;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= threshold) {
+                Scorer scorer = new Scorer();
+                for (int i = from; i < to; i++) {
+                    results[i] = scorer.neighbours(slots.get(ids[i]), n, minScore, null);
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new NeighboursTask(ids, results, from, middle, threshold, n, minScore),
+                    new NeighboursTask(ids, results, middle, to, threshold, n, minScore));
+        }
+    }
+
+    @FunctionalInterface
+    public interface ScoreConsumer {
+        void accept(long postId, double score);
+    }
+
+    /**
+     * 按相似度降序的近邻列表
+     */
+    public record Neighbours(long[] postIds, double[] scores) {
+
+        public static final Neighbours EMPTY = new Neighbours(new long[0], new double[0]);
+
+        static Neighbours of(TopKList top) {
+            long[] ids = new long[top.size()];
+            double[] values = new double[top.size()];
+            for (int i = 0; i < ids.length; i++) {
+                ids[i] = top.idAt(i);
+                values[i] = top.scoreAt(i);
+            }
+            return new Neighbours(ids, values);
+        }
+
+        public int size() {
+            return postIds.length;
+        }
+
+        public boolean contains(long postId) {
+            for (long id : postIds) {
+                if (id == postId) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * 近邻文章及顺序是否相同（分数的细微变化不算）
+         */
+        public boolean sameAs(Neighbours other) {
+            return other != null && Arrays.equals(postIds, other.postIds);
+        }
+    }
+}
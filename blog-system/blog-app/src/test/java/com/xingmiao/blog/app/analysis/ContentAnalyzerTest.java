@@ -0,0 +1,72 @@
+package com.xingmiao.blog.app.analysis;
+
+import com.xingmiao.blog.app.render.MarkdownRenderer;
+import com.xingmiao.blog.common.domain.enums.ContentType;
+import com.xingmiao.blog.common.dto.TocEntry;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Element;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 正文分析
+ *
+ * <p>Markdown 目录的锚点必须与渲染结果中的标题 id 一一对应。</p>
+ */
+class ContentAnalyzerTest {
+
+    private static final String MARKDOWN = """
+            概述
+            ====
+
+            > ## 引用中的标题
+
+            - ### 列表中的标题
+            - 普通条目
+
+            ```
+            # 代码块中的注释
+            ```
+
+            ## *强调* 与 `代码`
+
+            ## 概述
+
+            ##
+
+            Setext 二级
+            ---
+            """;
+
+    @Test
+    void tocMatchesRenderedHeadingIds() {
+        List<TocEntry> toc = ContentAnalyzer.analyze(MARKDOWN, ContentType.MARKDOWN).toc();
+        List<Element> headings = Jsoup.parse(MarkdownRenderer.render(MARKDOWN)).select("h1, h2, h3, h4, h5, h6");
+
+        assertEquals(List.of("概述", "引用中的标题", "列表中的标题", "强调 与 代码", "概述", "Setext 二级"),
+                toc.stream().map(TocEntry::getText).toList());
+        assertEquals(List.of(1, 2, 3, 2, 2, 2), toc.stream().map(TocEntry::getLevel).toList());
+        // 空标题渲染时没有 id，也不进目录
+        assertEquals(headings.stream().map(Element::id).filter(id -> !id.isEmpty()).toList(),
+                toc.stream().map(TocEntry::getAnchor).toList());
+    }
+
+    @Test
+    void countsWordsWithoutMarkup() {
+        ContentAnalysis analysis = ContentAnalyzer.analyze("""
+                # 标题
+
+                [链接文字](https://example.com) and **bold** don't <span>inline</span>
+
+                | a | b |
+                |---|---|
+                | c | d |
+                """, ContentType.MARKDOWN);
+
+        // 汉字 6 个（标题、链接文字），英文单词 and、bold、don't、inline 和表格的 a、b、c、d
+        assertEquals(6 + 8, analysis.wordCount());
+    }
+}
@@ -0,0 +1,185 @@
+package com.xingmiao.blog.app.config;
+
+import com.xingmiao.blog.app.service.DifySyncService;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 读写分离路由
+ *
+ * <p>主库和副本是两个 H2 内存库，各有一张只有一行的标记表，查询标记即可知道连接来自哪个库。
+ * 副本的复制延迟检查在 H2 上总是失败，启动时副本不可用；用例中直接把副本标记为可用，检查间隔设得足够长，
+ * 定时检查不会在用例执行期间改回。</p>
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:routing-primary;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=VALUE,LEVEL",
+        "blog.datasource.replica.enabled=true",
+        "blog.datasource.replica.url=jdbc:h2:mem:routing-replica;DB_CLOSE_DELAY=-1",
+        "blog.datasource.replica.driver-class-name=org.h2.Driver",
+        "blog.datasource.replica.username=sa",
+        "blog.datasource.replica.password=",
+        "blog.datasource.replica.check-interval-ms=3600000"
+})
+@ActiveProfiles("h2")
+@Import(DataSourceRoutingTest.ProbeConfig.class)
+class DataSourceRoutingTest {
+
+    @MockBean
+    private DifySyncService difySyncService;
+
+    @Autowired
+    private DatabaseProbe probe;
+
+    @Autowired
+    private ReplicaHealthMonitor healthMonitor;
+
+    @Autowired
+    private ReadYourWritesFilter readYourWritesFilter;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primary;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replica;
+
+    @BeforeEach
+    void markDatabases() {
+        mark(primary, ReadWriteRoutingDataSource.PRIMARY);
+        mark(replica, ReadWriteRoutingDataSource.REPLICA);
+        ReflectionTestUtils.setField(healthMonitor, "available", true);
+    }
+
+    @AfterEach
+    void resetHealth() {
+        ReflectionTestUtils.setField(healthMonitor, "available", false);
+    }
+
+    @Test
+    void readOnlyTransactionUsesReplica() {
+        assertEquals(ReadWriteRoutingDataSource.REPLICA, probe.readOnly());
+    }
+
+    @Test
+    void writeTransactionUsesPrimary() {
+        assertEquals(ReadWriteRoutingDataSource.PRIMARY, probe.readWrite());
+    }
+
+    @Test
+    void onPrimaryForcesPrimary() {
+        assertEquals(ReadWriteRoutingDataSource.PRIMARY, DataSourceRouting.onPrimary(probe::readOnly));
+        // 离开 onPrimary 后恢复走副本
+        assertEquals(ReadWriteRoutingDataSource.REPLICA, probe.readOnly());
+    }
+
+    @Test
+    void unavailableReplicaFallsBackToPrimary() {
+        ReflectionTestUtils.setField(healthMonitor, "available", false);
+
+        assertEquals(ReadWriteRoutingDataSource.PRIMARY, probe.readOnly());
+    }
+
+    @Test
+    void writeRequestForcesPrimaryAndOpensWindow() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertEquals(ReadWriteRoutingDataSource.PRIMARY, readThroughFilter(new MockHttpServletRequest("POST", "/api/posts"), response));
+        String cookie = response.getHeader(HttpHeaders.SET_COOKIE);
+        assertNotNull(cookie);
+        assertTrue(cookie.startsWith(ReadYourWritesFilter.COOKIE_NAME + "="));
+    }
+
+    @Test
+    void readAfterWriteWithinWindowUsesPrimary() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/posts");
+        request.setCookies(new Cookie(ReadYourWritesFilter.COOKIE_NAME, Long.toString(System.currentTimeMillis() + 60_000)));
+
+        assertEquals(ReadWriteRoutingDataSource.PRIMARY, readThroughFilter(request, new MockHttpServletResponse()));
+    }
+
+    @Test
+    void readWithoutOrAfterWindowUsesReplica() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        assertEquals(ReadWriteRoutingDataSource.REPLICA, readThroughFilter(new MockHttpServletRequest("GET", "/api/posts"), response));
+        assertNull(response.getHeader(HttpHeaders.SET_COOKIE));
+
+        MockHttpServletRequest expired = new MockHttpServletRequest("GET", "/api/posts");
+        expired.setCookies(new Cookie(ReadYourWritesFilter.COOKIE_NAME, Long.toString(System.currentTimeMillis() - 1)));
+        assertEquals(ReadWriteRoutingDataSource.REPLICA, readThroughFilter(expired, new MockHttpServletResponse()));
+    }
+
+    /**
+     * 经过读己之写过滤器执行一次只读查询，返回连接来自的库
+     */
+    private String readThroughFilter(MockHttpServletRequest request, MockHttpServletResponse response) throws Exception {
+        AtomicReference<String> database = new AtomicReference<>();
+        readYourWritesFilter.doFilter(request, response, (req, res) -> database.set(probe.readOnly()));
+        // 请求结束后不残留强制主库的标记
+        assertFalse(DataSourceRouting.isPrimaryRequired());
+        return database.get();
+    }
+
+    private void mark(DataSource dataSource, String name) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS routing_probe (name VARCHAR(16))");
+        jdbcTemplate.update("DELETE FROM routing_probe");
+        jdbcTemplate.update("INSERT INTO routing_probe (name) VALUES (?)", name);
+    }
+
+    @TestConfiguration
+    static class ProbeConfig {
+
+        @Bean
+        DatabaseProbe databaseProbe(JdbcTemplate jdbcTemplate) {
+            return new DatabaseProbe(jdbcTemplate);
+        }
+    }
+
+    /**
+     * 在不同类型的事务中查询标记表
+     */
+    static class DatabaseProbe {
+
+        private final JdbcTemplate jdbcTemplate;
+
+        DatabaseProbe(JdbcTemplate jdbcTemplate) {
+            this.jdbcTemplate = jdbcTemplate;
+        }
+
+        @Transactional(readOnly = true)
+        public String readOnly() {
+            return jdbcTemplate.queryForObject("SELECT name FROM routing_probe", String.class);
+        }
+
+        @Transactional
+        public String readWrite() {
+            return jdbcTemplate.queryForObject("SELECT name FROM routing_probe", String.class);
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.xingmiao.blog.app.config;
+
+import com.xingmiao.blog.app.service.CategoryService;
+import com.xingmiao.blog.app.service.DifySyncService;
+import com.xingmiao.blog.app.service.EntityCacheService;
+import com.xingmiao.blog.app.service.PostResponseCacheService;
+import com.xingmiao.blog.app.service.PostService;
+import com.xingmiao.blog.app.service.TagService;
+import com.xingmiao.blog.common.domain.enums.PostStatus;
+import com.xingmiao.blog.common.domain.event.PostChangedEvent;
+import com.xingmiao.blog.common.dto.CategoryCreateRequest;
+import com.xingmiao.blog.common.dto.CategoryDto;
+import com.xingmiao.blog.common.dto.PostCreateRequest;
+import com.xingmiao.blog.common.dto.PostDto;
+import com.xingmiao.blog.common.dto.TagCreateRequest;
+import com.xingmiao.blog.common.dto.TagDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * 各读接口的 SQL 语句数
+ *
+ * <p>通过 {@link SqlStatementCounter} 的响应头断言每个接口执行的语句数是固定值，
+ * 并且与返回条数无关（分页大小、批量ID数不同时语句数相同），出现 N+1 查询时测试失败。
+ * 每次请求前清空二级缓存和响应缓存，统计的是缓存未命中时的语句数。</p>
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("h2")
+class SqlStatementCountTest {
+
+    private static final int POST_COUNT = 12;
+
+    @MockBean
+    private DifySyncService difySyncService;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private TagService tagService;
+
+    @Autowired
+    private EntityCacheService entityCacheService;
+
+    @Autowired
+    private PostResponseCacheService postResponseCacheService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    private static CategoryDto rootCategory;
+    private static TagDto tag;
+    private static final List<Long> postIds = new ArrayList<>();
+
+    /**
+     * 所有用例共用一份数据：根分类下每篇文章一个子分类，文章带两个标签
+     */
+    @BeforeEach
+    void seed() {
+        if (rootCategory != null) {
+            return;
+        }
+        rootCategory = categoryService.createCategory(CategoryCreateRequest.builder().name("根分类").slug("root").build());
+        tag = tagService.createTag(TagCreateRequest.builder().name("标签").slug("tag").build());
+        TagDto other = tagService.createTag(TagCreateRequest.builder().name("其他").slug("other").build());
+        for (int i = 0; i < POST_COUNT; i++) {
+            CategoryDto category = categoryService.createCategory(CategoryCreateRequest.builder()
+                    .name("分类" + i).slug("category-" + i).parentId(rootCategory.getId()).build());
+            PostDto post = postService.create(PostCreateRequest.builder()
+                    .title("文章" + i).slug("post-" + i).content("## 标题\n\n正文 " + i)
+                    .categoryId(category.getId()).tagIds(List.of(tag.getId(), other.getId()))
+                    .status(PostStatus.PUBLISHED).build());
+            postIds.add(post.getId());
+        }
+    }
+
+    @Test
+    void listPosts() throws Exception {
+        // 列表版本在下一次文章写入前一直缓存，先请求一次，只统计列表本身的语句
+        mockMvc.perform(get("/api/posts?size=2"));
+        assertStatements(4, "/api/posts?size=2");
+        assertStatements(4, "/api/posts?size=" + POST_COUNT);
+        // 文章写入后重新计算列表版本：文章数和最大更新时间、互动计数最大更新时间各一条
+        eventPublisher.publishEvent(new PostChangedEvent(postIds.get(0)));
+        assertStatements(6, "/api/posts?size=2");
+    }
+
+    @Test
+    void listPostFields() throws Exception {
+        mockMvc.perform(get("/api/posts?size=2"));
+        assertStatements(5, "/api/posts?fields=id,title,tagIds,content,likeCount&size=2");
+        assertStatements(5, "/api/posts?fields=id,title,tagIds,content,likeCount&size=" + POST_COUNT);
+    }
+
+    @Test
+    void postDetail() throws Exception {
+        // 文章第一次被浏览时热门榜要查一次分类，先各浏览一次，只统计详情本身的语句
+        mockMvc.perform(get("/api/posts/" + postIds.get(0)));
+        mockMvc.perform(get("/api/posts/slug/post-1"));
+        assertStatements(4, "/api/posts/" + postIds.get(0));
+        assertStatements(5, "/api/posts/slug/post-1");
+    }
+
+    @Test
+    void batchPosts() throws Exception {
+        assertStatements(4, "/api/posts/batch?ids=" + ids(2));
+        assertStatements(4, "/api/posts/batch?ids=" + ids(POST_COUNT));
+    }
+
+    @Test
+    void postsByCategory() throws Exception {
+        String url = "/api/posts/category/" + rootCategory.getId() + "?includeChildren=true";
+        assertStatements(4, url + "&size=2");
+        assertStatements(4, url + "&size=" + POST_COUNT);
+    }
+
+    @Test
+    void categories() throws Exception {
+        assertStatements(2, "/api/categories?size=2");
+        assertStatements(2, "/api/categories?size=" + POST_COUNT);
+        assertStatements(1, "/api/categories/all");
+        assertStatements(1, "/api/categories/" + rootCategory.getId() + "/children");
+    }
+
+    @Test
+    void postsByTag() throws Exception {
+        assertStatements(5, "/api/tags/" + tag.getSlug() + "/posts?size=2");
+        assertStatements(5, "/api/tags/" + tag.getSlug() + "/posts?size=" + POST_COUNT);
+    }
+
+    @Test
+    void tags() throws Exception {
+        assertStatements(2, "/api/tags?size=2");
+        assertStatements(1, "/api/tags/all");
+    }
+
+    private static String ids(int count) {
+        return postIds.subList(0, count).stream().map(String::valueOf).collect(Collectors.joining(","));
+    }
+
+    private void assertStatements(int expected, String url) throws Exception {
+        entityCacheService.evictAll();
+        postResponseCacheService.evictAll();
+        MockHttpServletResponse response = mockMvc.perform(get(url)).andReturn().getResponse();
+        assertEquals(200, response.getStatus(), url);
+        String header = response.getHeader(SqlStatementCountFilter.HEADER);
+        assertNotNull(header, url);
+        assertEquals(expected, Integer.parseInt(header), url);
+    }
+}
@@ -0,0 +1,88 @@
+package com.xingmiao.blog.app.migration;
+
+import com.xingmiao.blog.app.service.DifySyncService;
+import com.xingmiao.blog.common.domain.entity.OperationLog;
+import com.xingmiao.blog.common.domain.enums.OperationStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+
+/**
+ * 批量插入基准：号段主键 + JDBC 批量写入前后的插入速度
+ *
+ * <p>在一个事务中持久化 {@link OperationLog}，每 {@value #FLUSH_EVERY} 行 flush 一次，输出每秒行数和预编译的语句数。
+ * “之前”把会话的批量大小设为 1，每行单独执行一条 INSERT，与自增主键时逐行插入的往返次数相同；
+ * “之后”使用配置的 {@code hibernate.jdbc.batch_size}。</p>
+ *
+ * <p>H2 在进程内运行，没有网络往返，结果主要体现语句数的下降；MySQL 上的收益随网络延迟增大。
+ * 耗时较长且结果依赖机器，默认不执行，需要时去掉 {@link Disabled} 手动运行。</p>
+ */
+@Disabled("性能基准，手动运行")
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("h2")
+@Slf4j
+class IdSequenceBatchInsertBenchmarkTest {
+
+    private static final int FLUSH_EVERY = 500;
+
+    private static final int[] ROWS = {5000, 20000, 20000};
+
+    @MockBean
+    private DifySyncService difySyncService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void insertThroughput() {
+        // 第一轮用于预热，结果看后两轮
+        for (int rows : ROWS) {
+            insert("之前（逐行）", rows, 1);
+            insert("之后（批量）", rows, null);
+        }
+    }
+
+    /**
+     * @param batchSize 会话批量大小，为空时使用全局配置
+     */
+    private void insert(String label, int rows, Integer batchSize) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        long start = System.nanoTime();
+        transactionTemplate.executeWithoutResult(status -> {
+            EntityManager entityManager = EntityManagerFactoryUtils.getTransactionalEntityManager(entityManagerFactory);
+            entityManager.unwrap(Session.class).setJdbcBatchSize(batchSize);
+            for (int i = 0; i < rows; i++) {
+                entityManager.persist(OperationLog.builder()
+                        .operationType("benchmark")
+                        .operationDesc("row " + i)
+                        .status(OperationStatus.SUCCESS)
+                        .createdAt(LocalDateTime.now())
+                        .build());
+                if ((i + 1) % FLUSH_EVERY == 0) {
+                    entityManager.flush();
+                    entityManager.clear();
+                }
+            }
+        });
+        double seconds = (System.nanoTime() - start) / 1e9;
+        log.info("{} {} 行：{} 行/秒，预编译语句 {} 条", label, rows, Math.round(rows / seconds),
+                statistics.getPrepareStatementCount());
+    }
+}
@@ -0,0 +1,112 @@
+package com.xingmiao.blog.app.ranking;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 指数衰减分数表
+ *
+ * <p>删除后探测链不断链（回移删除），重新定基前后实际分数不变并丢弃已衰减的文章。</p>
+ */
+class DecayedScoreTableTest {
+
+    private static final long HALF_LIFE = 1000;
+
+    @Test
+    void removeKeepsProbeChains() {
+        DecayedScoreTable table = new DecayedScoreTable(HALF_LIFE, 0, 0);
+        Map<Long, double[]> expected = new HashMap<>();
+        Random random = new Random(42);
+        // 200 个ID在几十到几百个槽之间反复增删，必然出现探测冲突和删除链中间元素
+        for (int i = 0; i < 20000; i++) {
+            long postId = 1 + random.nextInt(200);
+            if (random.nextInt(3) == 0) {
+                table.remove(postId);
+                expected.remove(postId);
+            } else {
+                long categoryId = random.nextInt(5);
+                double stored = table.add(postId, categoryId, 1 + random.nextInt(10), 0);
+                expected.put(postId, new double[]{categoryId, stored});
+            }
+            if (i % 97 == 0) {
+                assertMatches(expected, table);
+            }
+        }
+        assertMatches(expected, table);
+    }
+
+    @Test
+    void removeMissingIsNoop() {
+        DecayedScoreTable table = new DecayedScoreTable(HALF_LIFE, 0, 0);
+        table.add(1, 7, 2, 0);
+
+        table.remove(2);
+
+        assertEquals(1, table.size());
+        assertEquals(2, table.storedScore(1));
+        assertEquals(7, table.categoryOf(1));
+        assertEquals(-1, table.categoryOf(2));
+    }
+
+    @Test
+    void scoresDecayByHalfLife() {
+        DecayedScoreTable table = new DecayedScoreTable(HALF_LIFE, 0, 0);
+        double stored = table.add(1, 0, 8, 0);
+
+        assertEquals(4, table.decay(stored, HALF_LIFE), 1e-9);
+        // 晚加的分数放大存储，与早加后衰减的分数可以直接比较
+        assertEquals(8, table.decay(table.add(2, 0, 8, 3 * HALF_LIFE), 3 * HALF_LIFE), 1e-9);
+        // 减分最低到 0
+        assertEquals(0, table.add(1, 0, -100, 0));
+    }
+
+    @Test
+    void rebaseKeepsCurrentScoresAndPrunes() {
+        DecayedScoreTable table = new DecayedScoreTable(HALF_LIFE, 0.01, 0);
+        table.add(1, 3, 1, 0);
+        table.add(2, 4, 1, 29 * HALF_LIFE);
+        long now = 30 * HALF_LIFE;
+        double before = table.decay(table.storedScore(2), now);
+
+        assertFalse(table.rebaseIfNeeded(HALF_LIFE));
+        assertTrue(table.rebaseIfNeeded(now));
+
+        assertEquals(now, table.baseTime());
+        // 文章 1 衰减到 2^-30，低于阈值被丢弃；文章 2 的实际分数不变，存储值换算到新基准
+        assertFalse(table.contains(1));
+        assertEquals(1, table.size());
+        assertEquals(4, table.categoryOf(2));
+        assertEquals(before, table.decay(table.storedScore(2), now), 1e-12);
+        assertEquals(0.5, table.storedScore(2), 1e-12);
+
+        table.add(3, 5, 1, now);
+        assertEquals(2, table.size());
+        assertEquals(1, table.storedScore(3), 1e-12);
+        assertFalse(table.rebaseIfNeeded(now + HALF_LIFE));
+    }
+
+    private void assertMatches(Map<Long, double[]> expected, DecayedScoreTable table) {
+        assertEquals(expected.size(), table.size());
+        for (long postId = 1; postId <= 200; postId++) {
+            double[] entry = expected.get(postId);
+            assertEquals(entry != null, table.contains(postId), "postId " + postId);
+            if (entry != null) {
+                assertEquals((long) entry[0], table.categoryOf(postId));
+                assertEquals(entry[1], table.storedScore(postId));
+            }
+        }
+        int[] visited = {0};
+        table.forEach((postId, categoryId, storedScore) -> {
+            assertEquals(expected.get(postId)[1], storedScore);
+            visited[0]++;
+        });
+        assertEquals(expected.size(), visited[0]);
+    }
+}
@@ -0,0 +1,71 @@
+package com.xingmiao.blog.app.ranking;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 前 K 名列表
+ */
+class TopKListTest {
+
+    @Test
+    void keepsHighestScoresInOrder() {
+        TopKList top = new TopKList(3);
+        top.update(1, 5);
+        top.update(2, 3);
+        top.update(3, 4);
+        assertIds(top, 1, 3, 2);
+
+        // 不超过末位的不能挤入，超过的挤掉末位
+        top.update(4, 3);
+        assertIds(top, 1, 3, 2);
+        top.update(4, 6);
+        assertIds(top, 4, 1, 3);
+        assertEquals(6, top.scoreAt(0));
+    }
+
+    @Test
+    void repositionsExistingEntries() {
+        TopKList top = new TopKList(3);
+        top.update(1, 5);
+        top.update(2, 4);
+        top.update(3, 3);
+
+        top.update(3, 10);
+        assertIds(top, 3, 1, 2);
+        // 榜内文章分数下降时留在榜内，只调整位置
+        top.update(3, 1);
+        assertIds(top, 1, 2, 3);
+        assertEquals(1, top.scoreAt(2));
+    }
+
+    @Test
+    void removeAndClear() {
+        TopKList top = new TopKList(3);
+        top.update(1, 5);
+        top.update(2, 4);
+        top.update(3, 3);
+
+        top.remove(2);
+        top.remove(9);
+        assertIds(top, 1, 3);
+        // 移除后有空位，低分也能进入
+        top.update(4, 0.5);
+        assertIds(top, 1, 3, 4);
+
+        top.clear();
+        assertEquals(0, top.size());
+        top.update(5, 1);
+        assertIds(top, 5);
+    }
+
+    private void assertIds(TopKList top, long... expected) {
+        long[] actual = new long[top.size()];
+        for (int i = 0; i < actual.length; i++) {
+            actual[i] = top.idAt(i);
+        }
+        assertArrayEquals(expected, actual);
+    }
+}
@@ -0,0 +1,148 @@
+package com.xingmiao.blog.app.service;
+
+import com.xingmiao.blog.app.repository.CategoryClosureRepository;
+import com.xingmiao.blog.common.domain.entity.CategoryClosure;
+import com.xingmiao.blog.common.dto.CategoryCreateRequest;
+import com.xingmiao.blog.common.dto.CategoryDto;
+import com.xingmiao.blog.common.dto.CategoryUpdateRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 分类闭包表的增量维护
+ *
+ * <p>每次移动、停用、重新启用之后，闭包表都应与按 parent_id 全量重建的结果完全一致。</p>
+ */
+@SpringBootTest
+@ActiveProfiles("h2")
+class CategoryClosureTest {
+
+    private static final AtomicInteger SEQUENCE = new AtomicInteger();
+
+    @MockBean
+    private DifySyncService difySyncService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private CategoryClosureRepository categoryClosureRepository;
+
+    @Test
+    void moveSubtree() {
+        CategoryDto root = create(null);
+        CategoryDto a = create(root.getId());
+        CategoryDto b = create(a.getId());
+        CategoryDto c = create(root.getId());
+
+        move(a, c);
+
+        assertClosureMatchesRebuild();
+        assertTrue(ancestorsOf(b.getId()).containsAll(List.of(a.getId(), c.getId(), root.getId())));
+        assertEquals(4, categoryService.getCategoryById(b.getId()).orElseThrow().getLevel());
+    }
+
+    @Test
+    void rejectMoveIntoOwnSubtree() {
+        CategoryDto a = create(null);
+        CategoryDto b = create(a.getId());
+
+        assertThrows(RuntimeException.class, () -> move(a, b));
+        assertThrows(RuntimeException.class, () -> move(a, a));
+        assertEquals(null, categoryService.getCategoryById(a.getId()).orElseThrow().getParentId());
+    }
+
+    @Test
+    void rejectMoveUnderDeactivatedDescendant() {
+        CategoryDto a = create(null);
+        CategoryDto b = create(a.getId());
+        CategoryDto d = create(b.getId());
+        setActive(b, false);
+
+        // 停用的 b 不在闭包表中，a 与 b、d 之间的环路只能按 parent_id 发现
+        assertThrows(RuntimeException.class, () -> move(a, b));
+        assertThrows(RuntimeException.class, () -> move(a, d));
+        assertEquals(null, categoryService.getCategoryById(a.getId()).orElseThrow().getParentId());
+        assertClosureMatchesRebuild();
+    }
+
+    @Test
+    void deactivateThenMove() {
+        CategoryDto root = create(null);
+        CategoryDto a = create(root.getId());
+        CategoryDto b = create(a.getId());
+        CategoryDto d = create(b.getId());
+        CategoryDto other = create(root.getId());
+
+        setActive(b, false);
+        assertClosureMatchesRebuild();
+        assertEquals(Set.of(d.getId()), ancestorsOf(d.getId()));
+
+        move(b, other);
+        assertClosureMatchesRebuild();
+        assertEquals(4, categoryService.getCategoryById(d.getId()).orElseThrow().getLevel());
+
+        setActive(b, true);
+        assertClosureMatchesRebuild();
+        assertEquals(Set.of(d.getId(), b.getId(), other.getId(), root.getId()), ancestorsOf(d.getId()));
+    }
+
+    @Test
+    void reactivate() {
+        CategoryDto root = create(null);
+        CategoryDto a = create(root.getId());
+        CategoryDto b = create(a.getId());
+
+        setActive(a, false);
+        assertClosureMatchesRebuild();
+        setActive(a, true);
+        assertClosureMatchesRebuild();
+        assertEquals(Set.of(b.getId(), a.getId(), root.getId()), ancestorsOf(b.getId()));
+    }
+
+    private CategoryDto create(Long parentId) {
+        int n = SEQUENCE.incrementAndGet();
+        return categoryService.createCategory(CategoryCreateRequest.builder()
+                .name("闭包分类" + n).slug("closure-" + n).parentId(parentId).build());
+    }
+
+    private void move(CategoryDto category, CategoryDto newParent) {
+        categoryService.updateCategory(category.getId(),
+                CategoryUpdateRequest.builder().parentId(newParent.getId()).build());
+    }
+
+    private void setActive(CategoryDto category, boolean active) {
+        categoryService.updateCategory(category.getId(), CategoryUpdateRequest.builder().isActive(active).build());
+    }
+
+    private Set<Long> ancestorsOf(Long id) {
+        return categoryClosureRepository.findAll().stream()
+                .filter(row -> row.getDescendantId().equals(id))
+                .map(CategoryClosure::getAncestorId)
+                .collect(Collectors.toSet());
+    }
+
+    private void assertClosureMatchesRebuild() {
+        Set<String> incremental = closureRows();
+        categoryService.rebuildCategoryClosure();
+        assertEquals(closureRows(), incremental);
+    }
+
+    private Set<String> closureRows() {
+        return categoryClosureRepository.findAll().stream()
+                .map(row -> row.getAncestorId() + ">" + row.getDescendantId() + ":" + row.getDepth())
+                .collect(Collectors.toSet());
+    }
+}
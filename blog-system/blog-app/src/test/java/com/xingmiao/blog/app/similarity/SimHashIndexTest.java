@@ -0,0 +1,133 @@
+package com.xingmiao.blog.app.similarity;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * SimHash 分段查找表
+ *
+ * <p>分段查找的结果应与两两比较完全一致：不漏掉距离不超过阈值的文章，同一对只报告一次。</p>
+ */
+class SimHashIndexTest {
+
+    private static final int MAX_DISTANCE = 6;
+
+    @Test
+    void findsDifferencesSpreadOverBands() {
+        SimHashIndex index = new SimHashIndex(MAX_DISTANCE);
+        long fingerprint = 0x0123456789ABCDEFL;
+        // 每段改 1 位，只剩最后一段完全相同，仍应找到
+        long sixApart = fingerprint ^ bitInEachBand(6);
+        long sevenApart = fingerprint ^ bitInEachBand(7);
+        index.put(1, sixApart);
+        index.put(2, sevenApart);
+
+        List<SimHashIndex.Match> matches = index.query(fingerprint, 0);
+
+        assertEquals(List.of(new SimHashIndex.Match(1, 6)), matches);
+    }
+
+    @Test
+    void queryExcludesSelfAndSortsByDistance() {
+        SimHashIndex index = new SimHashIndex(MAX_DISTANCE);
+        long fingerprint = 0xFEDCBA9876543210L;
+        index.put(1, fingerprint);
+        index.put(2, fingerprint ^ 0b111);
+        index.put(3, fingerprint ^ 0b1);
+
+        assertEquals(List.of(new SimHashIndex.Match(3, 1), new SimHashIndex.Match(2, 3)),
+                index.query(fingerprint, 1));
+    }
+
+    @Test
+    void matchesBruteForce() {
+        Random random = new Random(7);
+        SimHashIndex index = new SimHashIndex(MAX_DISTANCE);
+        List<Long> fingerprints = new ArrayList<>();
+        for (int i = 0; i < 400; i++) {
+            long fingerprint;
+            if (i > 0 && random.nextInt(3) == 0) {
+                // 在已有指纹上随机翻转 0~10 位，制造阈值内外的近似指纹
+                fingerprint = fingerprints.get(random.nextInt(i));
+                for (int flips = random.nextInt(11); flips > 0; flips--) {
+                    fingerprint ^= 1L << random.nextInt(64);
+                }
+            } else {
+                fingerprint = random.nextLong();
+            }
+            fingerprints.add(fingerprint);
+            index.put(i + 1, fingerprint);
+        }
+
+        Set<String> expectedPairs = new HashSet<>();
+        for (int i = 0; i < fingerprints.size(); i++) {
+            List<SimHashIndex.Match> expected = new ArrayList<>();
+            for (int j = 0; j < fingerprints.size(); j++) {
+                int distance = SimHash.distance(fingerprints.get(i), fingerprints.get(j));
+                if (i != j && distance <= MAX_DISTANCE) {
+                    expected.add(new SimHashIndex.Match(j + 1, distance));
+                    if (i < j) {
+                        expectedPairs.add((i + 1) + "-" + (j + 1) + ":" + distance);
+                    }
+                }
+            }
+            expected.sort(Comparator.comparingInt(SimHashIndex.Match::distance).thenComparingLong(SimHashIndex.Match::postId));
+            assertEquals(expected, index.query(fingerprints.get(i), i + 1), "postId " + (i + 1));
+        }
+
+        List<String> pairs = new ArrayList<>();
+        index.forEachPair((postId, otherPostId, distance) -> pairs.add(postId + "-" + otherPostId + ":" + distance));
+        assertTrue(expectedPairs.size() > 10);
+        assertEquals(expectedPairs.size(), pairs.size());
+        assertEquals(expectedPairs, new HashSet<>(pairs));
+    }
+
+    @Test
+    void putReplacesAndRemoveDrops() {
+        SimHashIndex index = new SimHashIndex(MAX_DISTANCE);
+        long fingerprint = 0x5555AAAA5555AAAAL;
+        index.put(1, fingerprint);
+        index.put(2, fingerprint ^ 1);
+
+        // 正文改写后指纹变化，旧指纹所在的桶中不能残留
+        index.put(2, ~fingerprint);
+        assertEquals(List.of(), index.query(fingerprint, 1));
+        assertEquals(~fingerprint, index.fingerprintOf(2));
+
+        index.remove(2);
+        index.remove(3);
+        assertEquals(1, index.size());
+        assertEquals(SimHash.NONE, index.fingerprintOf(2));
+        assertEquals(List.of(), index.query(~fingerprint, 0));
+    }
+
+    @Test
+    void rejectsUnsupportedDistance() {
+        assertThrows(IllegalArgumentException.class, () -> new SimHashIndex(-1));
+        assertThrows(IllegalArgumentException.class, () -> new SimHashIndex(16));
+    }
+
+    /**
+     * 在 maxDistance + 1 段中的前 count 段各取 1 位（段宽 64 / 7 ≈ 9~10 位，每段起点之后第 1 位）
+     */
+    private long bitInEachBand(int count) {
+        long mask = 0;
+        int shift = 0;
+        int bands = MAX_DISTANCE + 1;
+        for (int band = 0; band < count; band++) {
+            mask |= 1L << (shift + 1);
+            shift += 64 / bands + (band < 64 % bands ? 1 : 0);
+        }
+        return mask;
+    }
+}
@@ -0,0 +1,105 @@
+package com.xingmiao.blog.common.domain.converter;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 正文压缩存储格式
+ *
+ * <p>压缩和明文两种格式都能读回原文，没有格式头的历史行按 UTF-8 明文读取。</p>
+ */
+class CompressedTextConverterTest {
+
+    private static final String LONG_TEXT = "## 缓存设计\n\n读多写少的接口先查缓存，未命中再查数据库并回填。\n".repeat(40);
+
+    @Test
+    void roundTripCompressed() {
+        CompressedTextConverter converter = converter(true);
+
+        byte[] stored = converter.convertToDatabaseColumn(LONG_TEXT);
+
+        assertTrue(CompressedText.isCompressed(stored));
+        assertEquals(CompressedText.FORMAT_DEFLATE, stored[0] & 0xFF);
+        assertTrue(stored.length < LONG_TEXT.getBytes(StandardCharsets.UTF_8).length);
+        assertEquals(LONG_TEXT, converter.convertToEntityAttribute(stored));
+    }
+
+    @Test
+    void shortTextStaysPlain() {
+        CompressedTextConverter converter = converter(true);
+        String text = "短正文";
+
+        byte[] stored = converter.convertToDatabaseColumn(text);
+
+        assertArrayEquals(text.getBytes(StandardCharsets.UTF_8), stored);
+        assertEquals(text, converter.convertToEntityAttribute(stored));
+    }
+
+    @Test
+    void disabledWritesPlain() {
+        CompressedTextConverter converter = converter(false);
+
+        byte[] stored = converter.convertToDatabaseColumn(LONG_TEXT);
+
+        assertArrayEquals(LONG_TEXT.getBytes(StandardCharsets.UTF_8), stored);
+        assertEquals(LONG_TEXT, converter.convertToEntityAttribute(stored));
+    }
+
+    @Test
+    void readsLegacyPlainText() {
+        // 启用压缩之前写入的行：没有格式头的 UTF-8 文本
+        String legacy = "# 旧文章\n\n升级前保存的正文，含 emoji 😀";
+
+        assertEquals(legacy, converter(true).convertToEntityAttribute(legacy.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    void headerByteNeverStartsPlainText() {
+        // U+00F8 的 UTF-8 编码是 C3 B8，文本以 ø 开头也不会被当成格式头
+        String text = "ø" + LONG_TEXT;
+        byte[] plain = text.getBytes(StandardCharsets.UTF_8);
+
+        assertFalse(CompressedText.isCompressed(plain));
+        assertEquals(text, CompressedText.decode(plain));
+        assertEquals(text, CompressedText.decode(CompressedText.encode(text, true, 0, 6)));
+    }
+
+    @Test
+    void rejectsCorruptHeaderRows() {
+        byte[] compressed = CompressedText.encode(LONG_TEXT, true, 0, 6);
+        byte[] truncated = new byte[compressed.length / 2];
+        System.arraycopy(compressed, 0, truncated, 0, truncated.length);
+        byte[] unknownFormat = compressed.clone();
+        unknownFormat[0] = (byte) 0xF9;
+
+        assertThrows(RuntimeException.class, () -> CompressedText.decode(truncated));
+        assertThrows(RuntimeException.class, () -> CompressedText.decode(unknownFormat));
+        assertThrows(RuntimeException.class, () -> CompressedText.decode(new byte[]{(byte) 0xF8, 0, 0, 0, 4, 1, 2}));
+    }
+
+    @Test
+    void emptyAndNull() {
+        CompressedTextConverter converter = converter(true);
+
+        assertNull(converter.convertToDatabaseColumn(null));
+        assertNull(converter.convertToEntityAttribute(null));
+        assertArrayEquals(new byte[0], converter.convertToDatabaseColumn(""));
+        assertEquals("", converter.convertToEntityAttribute(new byte[0]));
+        assertEquals("", CompressedText.decode(CompressedText.encode("", true, 0, 6)));
+    }
+
+    private CompressedTextConverter converter(boolean enabled) {
+        CompressedTextConverter converter = new CompressedTextConverter();
+        ReflectionTestUtils.setField(converter, "enabled", enabled);
+        return converter;
+    }
+}
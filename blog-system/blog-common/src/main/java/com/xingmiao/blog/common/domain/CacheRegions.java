@@ -0,0 +1,23 @@
+package com.xingmiao.blog.common.domain;
+
+/**
+ * Hibernate 二级缓存区域名，与 blog-app 中 hibernate-cache.conf 的配置一一对应
+ *
+ * <p>只缓存数据量小、读多写少的引用型实体；文章等大表不进入二级缓存。</p>
+ */
+public final class CacheRegions {
+
+    public static final String CATEGORY = "categories";
+    public static final String TAG = "tags";
+    public static final String SYSTEM_CONFIG = "system-configs";
+    public static final String USER = "users";
+
+    /**
+     * 分类、标签文章计数的原生更新语句声明的查询空间，不对应任何实体表：
+     * 执行后 Hibernate 不会清空整个分类/标签区域，由调用方按ID逐条失效
+     */
+    public static final String POST_COUNT_SPACE = "post-counts";
+
+    private CacheRegions() {
+    }
+}
@@ -0,0 +1,29 @@
+package com.xingmiao.blog.common.domain;
+
+/**
+ * 表生成器（id_sequences）的表名、列名和各实体的号段名
+ *
+ * <p>写入量大的实体不再使用数据库自增主键：每次从 id_sequences 取一段 {@link #ALLOCATION_SIZE} 个ID
+ * 在内存中分配（pooled-lo），插入语句因此可以按 JDBC 批量执行。号段名与表名一致，
+ * 启动时由 blog-app 中的 IdSequenceMigration 把号段推进到现有的最大ID。</p>
+ */
+public final class IdSequences {
+
+    public static final String TABLE = "id_sequences";
+    public static final String NAME_COLUMN = "sequence_name";
+    public static final String VALUE_COLUMN = "next_val";
+
+    /**
+     * 每次取号的段长，与 hibernate.jdbc.batch_size 保持一致
+     */
+    public static final int ALLOCATION_SIZE = 50;
+
+    public static final String POSTS = "posts";
+    public static final String POST_TAGS = "post_tags";
+    public static final String LIKES = "likes";
+    public static final String COMMENTS = "comments";
+    public static final String OPERATION_LOGS = "operation_logs";
+
+    private IdSequences() {
+    }
+}
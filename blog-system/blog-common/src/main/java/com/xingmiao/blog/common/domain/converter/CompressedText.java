@@ -0,0 +1,135 @@
+package com.xingmiao.blog.common.domain.converter;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * 大文本列的压缩存储格式
+ *
+ * <p>压缩后的值为 1 字节格式头 + 4 字节原文长度（UTF-8 字节数，大端）+ zlib 数据流。
+ * 格式头取 0xF8 起的值，这些字节不会出现在 UTF-8 文本中，所以没有格式头的值按原样的 UTF-8 文本读取：
+ * 启用压缩之前写入的行、短于阈值或压缩后没有变小的正文都以明文保存，关闭压缩后已压缩的行仍然可读。</p>
+ *
+ * <p>同时累计本进程内的写入和读取统计，用于观察压缩率。</p>
+ */
+public final class CompressedText {
+
+    /**
+     * deflate（zlib）格式头；0xF9~0xFF 保留给以后的压缩算法
+     */
+    public static final int FORMAT_DEFLATE = 0xF8;
+
+    private static final int HEADER_LENGTH = 5;
+
+    private static final LongAdder COMPRESSED_WRITES = new LongAdder();
+    private static final LongAdder PLAIN_WRITES = new LongAdder();
+    private static final LongAdder WRITE_RAW_BYTES = new LongAdder();
+    private static final LongAdder WRITE_STORED_BYTES = new LongAdder();
+    private static final LongAdder COMPRESSED_READS = new LongAdder();
+    private static final LongAdder PLAIN_READS = new LongAdder();
+
+    private CompressedText() {
+    }
+
+    /**
+     * 编码为存储格式
+     *
+     * @param text 文本
+     * @param compress 是否压缩；为 false 时按明文保存
+     * @param minBytes 短于该字节数的文本不压缩
+     * @param level deflate 压缩级别（1-9）
+     */
+    public static byte[] encode(String text, boolean compress, int minBytes, int level) {
+        byte[] raw = text.getBytes(StandardCharsets.UTF_8);
+        byte[] stored = compress && raw.length >= minBytes ? deflate(raw, level) : raw;
+        if (stored == raw) {
+            PLAIN_WRITES.increment();
+        } else {
+            COMPRESSED_WRITES.increment();
+        }
+        WRITE_RAW_BYTES.add(raw.length);
+        WRITE_STORED_BYTES.add(stored.length);
+        return stored;
+    }
+
+    public static String decode(byte[] stored) {
+        if (!isCompressed(stored)) {
+            PLAIN_READS.increment();
+            return new String(stored, StandardCharsets.UTF_8);
+        }
+        if ((stored[0] & 0xFF) != FORMAT_DEFLATE) {
+            throw new RuntimeException("不支持的正文压缩格式:" + (stored[0] & 0xFF));
+        }
+        COMPRESSED_READS.increment();
+        return new String(inflate(stored), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 是否为压缩格式（以格式头开始）
+     */
+    public static boolean isCompressed(byte[] stored) {
+        return stored.length > 0 && (stored[0] & 0xFF) >= FORMAT_DEFLATE;
+    }
+
+    /**
+     * 压缩；压缩后没有变小时返回原数组
+     */
+    static byte[] deflate(byte[] raw, int level) {
+        Deflater deflater = new Deflater(level);
+        try {
+            deflater.setInput(raw);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(raw.length / 2 + HEADER_LENGTH);
+            out.write(FORMAT_DEFLATE);
+            out.writeBytes(ByteBuffer.allocate(4).putInt(raw.length).array());
+            byte[] buffer = new byte[8192];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+                if (out.size() >= raw.length) {
+                    return raw;
+                }
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] stored) {
+        int length = ByteBuffer.wrap(stored, 1, 4).getInt();
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(stored, HEADER_LENGTH, stored.length - HEADER_LENGTH);
+            byte[] raw = new byte[length];
+            int offset = 0;
+            while (offset < length) {
+                int read = inflater.inflate(raw, offset, length - offset);
+                if (read == 0 && (inflater.finished() || inflater.needsInput())) {
+                    break;
+                }
+                offset += read;
+            }
+            if (offset != length) {
+                throw new RuntimeException("正文压缩数据不完整");
+            }
+            return raw;
+        } catch (DataFormatException e) {
+            throw new RuntimeException("正文压缩数据损坏", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    /**
+     * 本进程内的累计统计：[压缩写入数, 明文写入数, 写入原文字节, 写入存储字节, 压缩读取数, 明文读取数]
+     */
+    public static long[] counters() {
+        return new long[]{COMPRESSED_WRITES.sum(), PLAIN_WRITES.sum(), WRITE_RAW_BYTES.sum(),
+                WRITE_STORED_BYTES.sum(), COMPRESSED_READS.sum(), PLAIN_READS.sum()};
+    }
+}
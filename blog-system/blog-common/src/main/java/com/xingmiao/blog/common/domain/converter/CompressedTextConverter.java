@@ -0,0 +1,34 @@
+package com.xingmiao.blog.common.domain.converter;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+import org.springframework.beans.factory.annotation.Value;
+
+/**
+ * 文本属性 ↔ 压缩存储的二进制列，格式见 {@link CompressedText}
+ *
+ * <p>由 Spring 创建并注入配置；读取总是兼容明文和压缩两种格式，写入是否压缩由 blog.content-compression.enabled 决定，
+ * 默认不压缩（开启前列须已是二进制类型）。</p>
+ */
+@Converter
+public class CompressedTextConverter implements AttributeConverter<String, byte[]> {
+
+    @Value("${blog.content-compression.enabled:false}")
+    private boolean enabled;
+
+    @Value("${blog.content-compression.min-bytes:512}")
+    private int minBytes = 512;
+
+    @Value("${blog.content-compression.level:6}")
+    private int level = 6;
+
+    @Override
+    public byte[] convertToDatabaseColumn(String attribute) {
+        return attribute == null ? null : CompressedText.encode(attribute, enabled, minBytes, level);
+    }
+
+    @Override
+    public String convertToEntityAttribute(byte[] dbData) {
+        return dbData == null ? null : CompressedText.decode(dbData);
+    }
+}
@@ -1,7 +1,11 @@
 package com.xingmiao.blog.common.domain.entity;
 
+import com.xingmiao.blog.common.domain.CacheRegions;
+import com.xingmiao.blog.common.domain.event.TombstoneEntityListener;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDateTime;
 import com.xingmiao.blog.common.domain.enums.SyncStatus;
@@ -12,11 +16,14 @@ import com.xingmiao.blog.common.domain.enums.SyncStatus;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.CATEGORY)
+@EntityListeners(TombstoneEntityListener.class)
 @Table(name = "categories",
        indexes = {
                @Index(name = "idx_parent_id", columnList = "parent_id"),
                @Index(name = "idx_level", columnList = "level"),
-               @Index(name = "idx_is_active", columnList = "is_active")
+               @Index(name = "idx_is_active", columnList = "is_active"),
+               @Index(name = "idx_categories_updated_at_id", columnList = "updated_at, id")
        },
        uniqueConstraints = {
                @UniqueConstraint(name = "uk_categories_slug", columnNames = {"slug"})
@@ -48,6 +55,12 @@ public class Category {
     @Column(name = "is_active", nullable = false)
     private Boolean isActive;
 
+    /**
+     * 已发布且未删除的文章数，仅由计数服务原子增减，实体更新不覆盖
+     */
+    @Column(name = "post_count", updatable = false)
+    private Integer postCount;
+
     @Enumerated(EnumType.STRING)
     @Column(name = "sync_status", nullable = false, length = 20)
     private SyncStatus syncStatus;
@@ -83,6 +96,9 @@ public class Category {
         if (isActive == null) {
             isActive = true;
         }
+        if (postCount == null) {
+            postCount = 0;
+        }
         if (syncStatus == null) {
             syncStatus = SyncStatus.UNSYNCED;
         }
@@ -0,0 +1,40 @@
+package com.xingmiao.blog.common.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * 分类闭包表
+ *
+ * <p>记录分类树中每一对（祖先, 后代）及其距离，分类自身以 depth=0 记录一行。
+ * 查询某分类的整棵子树只需按 ancestor_id 走一次索引。</p>
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "category_closures",
+       indexes = {
+               @Index(name = "idx_descendant_id", columnList = "descendant_id")
+       },
+       uniqueConstraints = {
+               @UniqueConstraint(name = "uk_ancestor_descendant", columnNames = {"ancestor_id", "descendant_id"})
+       })
+public class CategoryClosure {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id", nullable = false)
+    private Long id;
+
+    @Column(name = "ancestor_id", nullable = false)
+    private Long ancestorId;
+
+    @Column(name = "descendant_id", nullable = false)
+    private Long descendantId;
+
+    @Column(name = "depth", nullable = false)
+    private Integer depth;
+}
@@ -1,5 +1,6 @@
 package com.xingmiao.blog.common.domain.entity;
 
+import com.xingmiao.blog.common.domain.IdSequences;
 import com.xingmiao.blog.common.domain.enums.CommentStatus;
 import jakarta.persistence.*;
 import lombok.*;
@@ -22,7 +23,10 @@ import java.time.LocalDateTime;
 public class Comment {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "comment_id")
+    @TableGenerator(name = "comment_id", table = IdSequences.TABLE, pkColumnName = IdSequences.NAME_COLUMN,
+            valueColumnName = IdSequences.VALUE_COLUMN, pkColumnValue = IdSequences.COMMENTS,
+            allocationSize = IdSequences.ALLOCATION_SIZE)
     @Column(name = "id", nullable = false)
     private Long id;
 
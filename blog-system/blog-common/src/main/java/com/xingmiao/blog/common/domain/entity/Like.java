@@ -1,5 +1,6 @@
 package com.xingmiao.blog.common.domain.entity;
 
+import com.xingmiao.blog.common.domain.IdSequences;
 import com.xingmiao.blog.common.domain.enums.LikeTargetType;
 import jakarta.persistence.*;
 import lombok.*;
@@ -24,7 +25,10 @@ import java.time.LocalDateTime;
 public class Like {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "like_id")
+    @TableGenerator(name = "like_id", table = IdSequences.TABLE, pkColumnName = IdSequences.NAME_COLUMN,
+            valueColumnName = IdSequences.VALUE_COLUMN, pkColumnValue = IdSequences.LIKES,
+            allocationSize = IdSequences.ALLOCATION_SIZE)
     @Column(name = "id", nullable = false)
     private Long id;
 
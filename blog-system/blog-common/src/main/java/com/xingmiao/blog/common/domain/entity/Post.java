@@ -1,20 +1,33 @@
 package com.xingmiao.blog.common.domain.entity;
 
+import com.xingmiao.blog.common.domain.IdSequences;
 import com.xingmiao.blog.common.domain.enums.ContentType;
 import com.xingmiao.blog.common.domain.enums.PostStatus;
 import com.xingmiao.blog.common.domain.enums.SyncStatus;
 import com.xingmiao.blog.common.domain.enums.Visibility;
+import com.xingmiao.blog.common.domain.event.PostEntityListener;
+import com.xingmiao.blog.common.domain.event.TombstoneEntityListener;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.time.LocalDateTime;
 
+/**
+ * 文章
+ *
+ * <p>正文单独存放在 {@link PostContent}（post_contents），互动计数在 {@link PostStats}（post_stats），
+ * 本表只保留列表需要的窄列。</p>
+ * <p>更新只写入变化的列；{@code version} 用于乐观锁，并发编辑时后提交的一方失败而不是静默覆盖。</p>
+ */
 @Getter
 @Setter
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
+@DynamicUpdate
+@EntityListeners({PostEntityListener.class, TombstoneEntityListener.class})
 @Table(name = "posts",
        indexes = {
                @Index(name = "idx_category_id", columnList = "category_id"),
@@ -23,7 +36,8 @@ import java.time.LocalDateTime;
                @Index(name = "idx_published_at", columnList = "published_at"),
                @Index(name = "idx_created_at", columnList = "created_at"),
                @Index(name = "idx_deleted_at", columnList = "deleted_at"),
-               @Index(name = "idx_status_visibility_deleted", columnList = "status, visibility, deleted_at")
+               @Index(name = "idx_status_visibility_deleted", columnList = "status, visibility, deleted_at"),
+               @Index(name = "idx_posts_updated_at_id", columnList = "updated_at, id")
        },
        uniqueConstraints = {
                @UniqueConstraint(name = "uk_posts_slug", columnNames = {"slug"})
@@ -31,7 +45,10 @@ import java.time.LocalDateTime;
 public class Post {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "post_id")
+    @TableGenerator(name = "post_id", table = IdSequences.TABLE, pkColumnName = IdSequences.NAME_COLUMN,
+            valueColumnName = IdSequences.VALUE_COLUMN, pkColumnValue = IdSequences.POSTS,
+            allocationSize = IdSequences.ALLOCATION_SIZE)
     @Column(name = "id", nullable = false)
     private Long id;
 
@@ -44,9 +61,6 @@ public class Post {
     @Column(name = "excerpt", columnDefinition = "text")
     private String excerpt;
 
-    @Column(name = "content", columnDefinition = "longtext", nullable = false)
-    private String content;
-
     @Enumerated(EnumType.STRING)
     @Column(name = "content_type", length = 20, nullable = false)
     private ContentType contentType;
@@ -79,14 +93,14 @@ public class Post {
     @Column(name = "meta_keywords", length = 500)
     private String metaKeywords;
 
-    @Column(name = "view_count")
-    private Long viewCount;
-
-    @Column(name = "like_count")
-    private Long likeCount;
+    /**
+     * 字数与预计阅读分钟数，写入正文时计算（见 post_contents.toc）；为空表示尚未分析（启动时补算）
+     */
+    @Column(name = "word_count")
+    private Integer wordCount;
 
-    @Column(name = "comment_count")
-    private Long commentCount;
+    @Column(name = "reading_minutes")
+    private Integer readingMinutes;
 
     @Column(name = "dify_document_id", length = 100)
     private String difyDocumentId;
@@ -104,6 +118,10 @@ public class Post {
     @Column(name = "deleted_at")
     private LocalDateTime deletedAt;
 
+    @Version
+    @Column(name = "version", nullable = false, columnDefinition = "bigint default 0")
+    private Long version;
+
     @Column(name = "created_at", nullable = false)
     private LocalDateTime createdAt;
 
@@ -117,15 +135,6 @@ public class Post {
             createdAt = now;
         }
         updatedAt = now;
-        if (viewCount == null) {
-            viewCount = 0L;
-        }
-        if (likeCount == null) {
-            likeCount = 0L;
-        }
-        if (commentCount == null) {
-            commentCount = 0L;
-        }
         if (syncStatus == null) {
             syncStatus = SyncStatus.UNSYNCED;
         }
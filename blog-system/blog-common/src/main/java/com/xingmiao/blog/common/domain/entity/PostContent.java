@@ -0,0 +1,59 @@
+package com.xingmiao.blog.common.domain.entity;
+
+import com.xingmiao.blog.common.domain.converter.CompressedTextConverter;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+/**
+ * 文章正文，与 posts 一对一拆表存放
+ *
+ * <p>posts 只保留列表、计数需要的窄列，正文只在详情接口按文章ID单独读取；
+ * 文章实体上不映射反向关联，避免加载文章时顺带查询正文。</p>
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "post_contents")
+public class PostContent {
+
+    @Id
+    @Column(name = "post_id", nullable = false)
+    private Long postId;
+
+    @MapsId
+    @OneToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "post_id",
+            foreignKey = @ForeignKey(name = "fk_post_contents_post_id"))
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Post post;
+
+    /**
+     * 正文，较长时压缩存储（格式见 CompressedText），读写时透明转换
+     */
+    @Convert(converter = CompressedTextConverter.class)
+    @Column(name = "content", columnDefinition = "longblob", nullable = false)
+    private String content;
+
+    /**
+     * 正文的 SimHash 指纹，用于查找内容相近的文章；为空表示尚未计算（启动时补算）
+     */
+    @Column(name = "simhash")
+    private Long simhash;
+
+    /**
+     * 正文的 SHA-256（十六进制），用于判断预先渲染的 HTML 是否对应当前正文；为空表示尚未计算
+     */
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
+    /**
+     * 正文目录（TocEntry 列表的 JSON），与正文同时写入、同时读取
+     */
+    @Column(name = "toc", columnDefinition = "text")
+    private String toc;
+}
@@ -0,0 +1,50 @@
+package com.xingmiao.blog.common.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.time.LocalDateTime;
+
+/**
+ * Markdown 正文预先渲染的 HTML，每篇文章一行
+ *
+ * <p>content_hash 和 renderer_version 记录渲染时的正文摘要和渲染规则版本，
+ * 两者都与当前一致时才直接使用，否则视为过期，由后台任务重新渲染。</p>
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "post_renders")
+public class PostRender {
+
+    @Id
+    @Column(name = "post_id", nullable = false)
+    private Long postId;
+
+    @MapsId
+    @OneToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "post_id",
+            foreignKey = @ForeignKey(name = "fk_post_renders_post_id"))
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Post post;
+
+    /**
+     * 渲染时正文的摘要，与 post_contents.content_hash 比较
+     */
+    @Column(name = "content_hash", nullable = false, length = 64)
+    private String contentHash;
+
+    @Column(name = "renderer_version", nullable = false)
+    private Integer rendererVersion;
+
+    @Column(name = "html", columnDefinition = "longtext", nullable = false)
+    private String html;
+
+    @Column(name = "rendered_at", nullable = false)
+    private LocalDateTime renderedAt;
+}
@@ -0,0 +1,64 @@
+package com.xingmiao.blog.common.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.time.LocalDateTime;
+
+/**
+ * 文章互动计数（浏览、点赞、评论），与 posts 一对一拆表存放
+ *
+ * <p>计数只通过原子增减语句更新，热门文章的点赞不再锁 posts 行，
+ * 不会与作者编辑、Dify 同步状态回写互相等待。</p>
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "post_stats",
+       indexes = @Index(name = "idx_post_stats_updated_at", columnList = "updated_at"))
+public class PostStats {
+
+    @Id
+    @Column(name = "post_id", nullable = false)
+    private Long postId;
+
+    @MapsId
+    @OneToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "post_id",
+            foreignKey = @ForeignKey(name = "fk_post_stats_post_id"))
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Post post;
+
+    @Column(name = "view_count", nullable = false)
+    private Long viewCount;
+
+    @Column(name = "like_count", nullable = false)
+    private Long likeCount;
+
+    @Column(name = "comment_count", nullable = false)
+    private Long commentCount;
+
+    /**
+     * 点赞、评论数最后变化的时间，参与详情和列表的条件请求校验；浏览数变化不更新（每次访问都会变）
+     */
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    void prePersist() {
+        if (viewCount == null) {
+            viewCount = 0L;
+        }
+        if (likeCount == null) {
+            likeCount = 0L;
+        }
+        if (commentCount == null) {
+            commentCount = 0L;
+        }
+    }
+}
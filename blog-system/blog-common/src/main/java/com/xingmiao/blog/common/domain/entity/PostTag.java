@@ -0,0 +1,55 @@
+package com.xingmiao.blog.common.domain.entity;
+
+import com.xingmiao.blog.common.domain.IdSequences;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "post_tags",
+       indexes = {
+               @Index(name = "idx_tag_id_post_id", columnList = "tag_id, post_id")
+       },
+       uniqueConstraints = {
+               @UniqueConstraint(name = "uk_post_tag", columnNames = {"post_id", "tag_id"})
+       })
+public class PostTag {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "post_tag_id")
+    @TableGenerator(name = "post_tag_id", table = IdSequences.TABLE, pkColumnName = IdSequences.NAME_COLUMN,
+            valueColumnName = IdSequences.VALUE_COLUMN, pkColumnValue = IdSequences.POST_TAGS,
+            allocationSize = IdSequences.ALLOCATION_SIZE)
+    @Column(name = "id", nullable = false)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "post_id", nullable = false,
+            foreignKey = @ForeignKey(name = "fk_post_tags_post_id"))
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Post post;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "tag_id", nullable = false,
+            foreignKey = @ForeignKey(name = "fk_post_tags_tag_id"))
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Tag tag;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    void prePersist() {
+        if (createdAt == null) {
+            createdAt = LocalDateTime.now();
+        }
+    }
+}
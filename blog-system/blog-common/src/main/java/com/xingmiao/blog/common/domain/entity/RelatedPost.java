@@ -0,0 +1,39 @@
+package com.xingmiao.blog.common.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * 相关文章：预先计算好的每篇文章的近邻列表，按 sortOrder 升序即相似度降序
+ *
+ * <p>由后台任务根据正文、分类、标签的 TF-IDF 相似度生成，文章变更后只重算受影响的文章。</p>
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "related_posts",
+       indexes = {
+               @Index(name = "idx_related_posts_post_id_sort_order", columnList = "post_id, sort_order")
+       })
+public class RelatedPost {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id", nullable = false)
+    private Long id;
+
+    @Column(name = "post_id", nullable = false)
+    private Long postId;
+
+    @Column(name = "related_post_id", nullable = false)
+    private Long relatedPostId;
+
+    @Column(name = "sort_order", nullable = false)
+    private Integer sortOrder;
+
+    @Column(name = "score", nullable = false)
+    private Double score;
+}
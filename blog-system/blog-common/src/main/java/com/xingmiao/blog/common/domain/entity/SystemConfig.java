@@ -1,8 +1,11 @@
 package com.xingmiao.blog.common.domain.entity;
 
+import com.xingmiao.blog.common.domain.CacheRegions;
 import com.xingmiao.blog.common.domain.enums.ConfigType;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDateTime;
 
@@ -12,6 +15,7 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.SYSTEM_CONFIG)
 @Table(name = "system_configs",
        uniqueConstraints = {
                @UniqueConstraint(name = "uk_system_configs_config_key", columnNames = {"config_key"})
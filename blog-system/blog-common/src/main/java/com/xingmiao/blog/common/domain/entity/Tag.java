@@ -1,7 +1,11 @@
 package com.xingmiao.blog.common.domain.entity;
 
+import com.xingmiao.blog.common.domain.CacheRegions;
+import com.xingmiao.blog.common.domain.event.TombstoneEntityListener;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDateTime;
 
@@ -11,9 +15,12 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.TAG)
+@EntityListeners(TombstoneEntityListener.class)
 @Table(name = "tags",
        indexes = {
-               @Index(name = "idx_post_count", columnList = "post_count")
+               @Index(name = "idx_post_count", columnList = "post_count"),
+               @Index(name = "idx_tags_updated_at_id", columnList = "updated_at, id")
        },
        uniqueConstraints = {
                @UniqueConstraint(name = "uk_tags_name", columnNames = {"name"}),
@@ -35,7 +42,10 @@ public class Tag {
     @Column(name = "color", length = 7)
     private String color;
 
-    @Column(name = "post_count")
+    /**
+     * 已发布且未删除的文章数，仅由计数服务原子增减，实体更新不覆盖
+     */
+    @Column(name = "post_count", updatable = false)
     private Integer postCount;
 
     @Column(name = "created_at", nullable = false)
@@ -0,0 +1,40 @@
+package com.xingmiao.blog.common.domain.entity;
+
+import com.xingmiao.blog.common.domain.enums.ChangeEntityType;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 墓碑：记录被物理删除的文章、分类、标签，供变更流告知增量客户端
+ *
+ * <p>软删除的文章仍保留在 posts 表中，由文章行本身表示删除；超过保留期的墓碑会被定时清理。</p>
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "tombstones",
+       indexes = {
+               @Index(name = "idx_tombstones_deleted_at_id", columnList = "deleted_at, id")
+       })
+public class Tombstone {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id", nullable = false)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entity_type", length = 20, nullable = false)
+    private ChangeEntityType entityType;
+
+    @Column(name = "entity_id", nullable = false)
+    private Long entityId;
+
+    @Column(name = "deleted_at", nullable = false)
+    private LocalDateTime deletedAt;
+}
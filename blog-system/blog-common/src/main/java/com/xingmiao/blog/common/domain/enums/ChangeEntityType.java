@@ -0,0 +1,10 @@
+package com.xingmiao.blog.common.domain.enums;
+
+/**
+ * 变更流中的实体类型，声明顺序即同一时间点内的排序顺序
+ */
+public enum ChangeEntityType {
+    CATEGORY,
+    TAG,
+    POST
+}
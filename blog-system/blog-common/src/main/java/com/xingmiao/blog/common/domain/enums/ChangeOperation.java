@@ -0,0 +1,6 @@
+package com.xingmiao.blog.common.domain.enums;
+
+public enum ChangeOperation {
+    UPSERT,
+    DELETE
+}
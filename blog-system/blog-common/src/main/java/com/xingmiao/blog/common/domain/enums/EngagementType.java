@@ -0,0 +1,11 @@
+package com.xingmiao.blog.common.domain.enums;
+
+/**
+ * 文章互动类型，热门排行按类型加权
+ */
+public enum EngagementType {
+    VIEW,
+    LIKE,
+    UNLIKE,
+    COMMENT
+}
@@ -0,0 +1,15 @@
+package com.xingmiao.blog.common.domain.event;
+
+import com.xingmiao.blog.common.domain.enums.ChangeEntityType;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 文章、分类、标签被物理删除时发布的事件，在删除语句所在事务内同步处理
+ */
+@Getter
+@AllArgsConstructor
+public class EntityDeletedEvent {
+    private final ChangeEntityType entityType;
+    private final Long entityId;
+}
@@ -0,0 +1,23 @@
+package com.xingmiao.blog.common.domain.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 文章实体写入数据库（新增、更新、删除）时发布的事件
+ */
+@Getter
+@AllArgsConstructor
+public class PostChangedEvent {
+    private final Long postId;
+
+    /**
+     * 标题、正文、分类、状态等文章本身的字段可能变化；点赞数、同步状态等只影响响应的变更为 false，
+     * 只依赖文章内容的索引（近似重复、相关文章）据此跳过
+     */
+    private final boolean contentChanged;
+
+    public PostChangedEvent(Long postId) {
+        this(postId, true);
+    }
+}
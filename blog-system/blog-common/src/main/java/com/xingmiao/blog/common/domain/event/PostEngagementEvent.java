@@ -0,0 +1,15 @@
+package com.xingmiao.blog.common.domain.event;
+
+import com.xingmiao.blog.common.domain.enums.EngagementType;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 文章被浏览、点赞、取消点赞、评论时发布的事件
+ */
+@Getter
+@AllArgsConstructor
+public class PostEngagementEvent {
+    private final Long postId;
+    private final EngagementType type;
+}
@@ -0,0 +1,26 @@
+package com.xingmiao.blog.common.domain.event;
+
+import com.xingmiao.blog.common.domain.entity.Post;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+
+/**
+ * 文章实体监听器，由 Spring 创建并注入事件发布器；所有经由 JPA 的文章写入都会发布 {@link PostChangedEvent}
+ */
+public class PostEntityListener {
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    void onChange(Post post) {
+        if (eventPublisher != null) {
+            eventPublisher.publishEvent(new PostChangedEvent(post.getId()));
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.xingmiao.blog.common.domain.event;
+
+import com.xingmiao.blog.common.domain.entity.Category;
+import com.xingmiao.blog.common.domain.entity.Post;
+import com.xingmiao.blog.common.domain.entity.Tag;
+import com.xingmiao.blog.common.domain.enums.ChangeEntityType;
+import jakarta.persistence.PostRemove;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+
+/**
+ * 物理删除监听器，由 Spring 创建并注入事件发布器；经由 JPA 删除文章、分类、标签时发布 {@link EntityDeletedEvent}
+ */
+public class TombstoneEntityListener {
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @PostRemove
+    void onRemove(Object entity) {
+        if (eventPublisher == null) {
+            return;
+        }
+        if (entity instanceof Post post) {
+            eventPublisher.publishEvent(new EntityDeletedEvent(ChangeEntityType.POST, post.getId()));
+        } else if (entity instanceof Category category) {
+            eventPublisher.publishEvent(new EntityDeletedEvent(ChangeEntityType.CATEGORY, category.getId()));
+        } else if (entity instanceof Tag tag) {
+            eventPublisher.publishEvent(new EntityDeletedEvent(ChangeEntityType.TAG, tag.getId()));
+        }
+    }
+}
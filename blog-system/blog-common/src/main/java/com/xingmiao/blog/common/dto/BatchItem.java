@@ -0,0 +1,67 @@
+package com.xingmiao.blog.common.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * 批量查询的单项结果
+ *
+ * <p>按请求中ID的顺序返回，status 沿用 HTTP 语义：200 找到，401 需要访问令牌，404 不存在。</p>
+ *
+ * @param <T> 数据类型
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchItem<T> {
+
+    /**
+     * 单次批量查询允许的最大ID数量
+     */
+    public static final int MAX_BATCH_SIZE = 100;
+
+    private Long id;
+    private Integer status;
+    private T data;
+
+    public static <T> BatchItem<T> found(Long id, T data) {
+        return new BatchItem<>(id, 200, data);
+    }
+
+    public static <T> BatchItem<T> notFound(Long id) {
+        return new BatchItem<>(id, 404, null);
+    }
+
+    /**
+     * 按请求顺序组装结果，未命中的ID标记为404
+     */
+    public static <T> List<BatchItem<T>> inOrder(Collection<Long> ids, Map<Long, T> found) {
+        return inOrder(ids, found, data -> 200);
+    }
+
+    /**
+     * 按请求顺序组装结果，命中项的状态码由 statusOf 决定，非200时不返回数据
+     */
+    public static <T> List<BatchItem<T>> inOrder(Collection<Long> ids, Map<Long, T> found, Function<T, Integer> statusOf) {
+        return ids.stream()
+                .map(id -> {
+                    T data = found.get(id);
+                    if (data == null) {
+                        return BatchItem.<T>notFound(id);
+                    }
+                    int status = statusOf.apply(data);
+                    return status == 200 ? found(id, data) : new BatchItem<T>(id, status, null);
+                })
+                .toList();
+    }
+}
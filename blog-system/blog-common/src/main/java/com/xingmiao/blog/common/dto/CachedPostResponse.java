@@ -0,0 +1,20 @@
+package com.xingmiao.blog.common.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 文章详情的响应字节缓存：序列化后的 JSON 及其 gzip 压缩版本
+ *
+ * <p>密码保护文章不缓存正文，只记录 {@code protectedPost = true}，由调用方走正常的令牌校验流程。</p>
+ */
+@Getter
+@AllArgsConstructor
+public class CachedPostResponse {
+    private final Long postId;
+    private final boolean protectedPost;
+    private final byte[] json;
+    private final byte[] gzip;
+    private final String eTag;
+    private final long lastModified;
+}
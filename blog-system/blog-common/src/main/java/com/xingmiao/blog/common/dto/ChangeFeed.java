@@ -0,0 +1,29 @@
+package com.xingmiao.blog.common.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "变更流的一页结果")
+public class ChangeFeed {
+
+    @Schema(description = "按变更时间、实体类型、ID排序的变更")
+    private List<ChangeItem> changes;
+
+    @Schema(description = "下次请求携带的游标；没有新变更时与请求游标相同")
+    private String cursor;
+
+    @Schema(description = "是否还有更多变更，为 true 时应立即用新游标继续拉取")
+    private boolean hasMore;
+
+    @Schema(description = "游标早于墓碑保留期，删除记录可能已被清理，客户端需要全量同步后从 cursor 继续")
+    private boolean resync;
+}
@@ -0,0 +1,36 @@
+package com.xingmiao.blog.common.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.xingmiao.blog.common.domain.enums.ChangeEntityType;
+import com.xingmiao.blog.common.domain.enums.ChangeOperation;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "变更流中的一项变更")
+public class ChangeItem {
+
+    @Schema(description = "实体类型", example = "POST")
+    private ChangeEntityType type;
+
+    @Schema(description = "实体ID", example = "1")
+    private Long id;
+
+    @Schema(description = "UPSERT 新增或修改，DELETE 已删除（墓碑）", example = "UPSERT")
+    private ChangeOperation operation;
+
+    @Schema(description = "变更时间")
+    private LocalDateTime changedAt;
+
+    @Schema(description = "变更后的实体（PostDto / CategoryDto / TagDto），删除时为空")
+    private Object data;
+}
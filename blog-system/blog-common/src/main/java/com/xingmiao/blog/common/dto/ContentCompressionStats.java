@@ -0,0 +1,64 @@
+package com.xingmiao.blog.common.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 正文压缩统计（自启动以来）
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "正文压缩统计")
+public class ContentCompressionStats {
+
+    @Schema(description = "写入时是否压缩")
+    private boolean enabled;
+
+    @Schema(description = "压缩存储的写入次数")
+    private long compressedWrites;
+
+    @Schema(description = "明文存储的写入次数（短于阈值、压缩无收益或未启用）")
+    private long plainWrites;
+
+    @Schema(description = "写入的原文字节数")
+    private long rawBytes;
+
+    @Schema(description = "写入的存储字节数")
+    private long storedBytes;
+
+    @Schema(description = "读取压缩正文的次数")
+    private long compressedReads;
+
+    @Schema(description = "读取明文正文的次数")
+    private long plainReads;
+
+    @Schema(description = "后台任务压缩的历史正文数")
+    private long recompressedRows;
+
+    @Schema(description = "后台任务压缩前的字节数")
+    private long recompressedRawBytes;
+
+    @Schema(description = "后台任务压缩后的字节数")
+    private long recompressedStoredBytes;
+
+    /**
+     * 写入的压缩率（存储字节 / 原文字节），没有写入时为 1
+     */
+    @Schema(description = "写入的压缩率（存储字节 / 原文字节）")
+    public double getRatio() {
+        return rawBytes == 0 ? 1 : (double) storedBytes / rawBytes;
+    }
+
+    /**
+     * 后台任务的压缩率，没有压缩过时为 1
+     */
+    @Schema(description = "后台任务的压缩率（压缩后字节 / 压缩前字节）")
+    public double getRecompressedRatio() {
+        return recompressedRawBytes == 0 ? 1 : (double) recompressedStoredBytes / recompressedRawBytes;
+    }
+}
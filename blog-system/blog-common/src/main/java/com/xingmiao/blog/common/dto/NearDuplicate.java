@@ -0,0 +1,27 @@
+package com.xingmiao.blog.common.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "正文相近的文章")
+public class NearDuplicate {
+
+    @Schema(description = "文章ID", example = "12")
+    private Long postId;
+
+    @Schema(description = "文章标题")
+    private String title;
+
+    @Schema(description = "文章别名")
+    private String slug;
+
+    @Schema(description = "正文 SimHash 指纹的汉明距离，越小越相近（0 表示几乎相同）", example = "2")
+    private Integer distance;
+}
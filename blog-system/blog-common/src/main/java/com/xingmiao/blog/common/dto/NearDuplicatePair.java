@@ -0,0 +1,24 @@
+package com.xingmiao.blog.common.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "正文相近的一对文章")
+public class NearDuplicatePair {
+
+    @Schema(description = "文章ID（较小的一个）", example = "12")
+    private Long postId;
+
+    @Schema(description = "相近的文章ID", example = "57")
+    private Long duplicatePostId;
+
+    @Schema(description = "正文 SimHash 指纹的汉明距离", example = "2")
+    private Integer distance;
+}
@@ -11,6 +11,8 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.List;
+
 @Data
 @Builder
 @NoArgsConstructor
@@ -69,6 +71,10 @@ public class PostCreateRequest {
     @Size(max = 200, message = "SEO关键词长度不能超过200个字符")
     @Schema(description = "SEO关键词，多个关键词用逗号分隔", example = "博客,学习,技术")
     private String metaKeywords;
+
+    @Size(max = 20, message = "单篇文章最多关联20个标签")
+    @Schema(description = "标签ID列表", example = "[1, 2]")
+    private List<Long> tagIds;
 }
 
 
@@ -1,5 +1,7 @@
 package com.xingmiao.blog.common.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.xingmiao.blog.common.domain.enums.ContentType;
 import com.xingmiao.blog.common.domain.enums.PostStatus;
 import com.xingmiao.blog.common.domain.enums.SyncStatus;
@@ -10,6 +12,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Data
 @Builder
@@ -30,15 +33,43 @@ public class PostDto {
     private String metaTitle;
     private String metaDescription;
     private String metaKeywords;
+    private List<Long> tagIds;
     private Long viewCount;
     private Long likeCount;
     private Long commentCount;
+    private Integer wordCount;
+    private Integer readingMinutes;
     private String difyDocumentId;
     private SyncStatus syncStatus;
     private String syncError;
     private LocalDateTime publishedAt;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    private Long version;
+
+    /**
+     * 点赞、评论数最后变化的时间，只用于计算 ETag / Last-Modified，不输出
+     */
+    @JsonIgnore
+    private LocalDateTime statsUpdatedAt;
+
+    /**
+     * 与正文相近的已有文章，只在创建和修改正文的响应中返回
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private List<NearDuplicate> nearDuplicates;
+
+    /**
+     * 正文目录，只在返回正文的接口中返回
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private List<TocEntry> toc;
+
+    /**
+     * Markdown 正文在服务端渲染并清洗后的 HTML，只在详情和创建、修改的响应中返回；HTML / 富文本正文直接使用 content
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String contentHtml;
 }
 
 
@@ -0,0 +1,45 @@
+package com.xingmiao.blog.common.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 批量导入的单条结果，每条 NDJSON 记录对应一行
+ *
+ * <p>status 沿用 HTTP 语义：201 已创建，400 记录无效，409 别名重复，500 写入失败。</p>
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "文章导入结果")
+public class PostImportResult {
+
+    @Schema(description = "记录在请求体中的行号，从1开始", example = "1")
+    private Integer line;
+
+    @Schema(description = "状态码", example = "201")
+    private Integer status;
+
+    @Schema(description = "创建成功的文章ID", example = "1")
+    private Long id;
+
+    @Schema(description = "文章别名", example = "my-first-blog-post")
+    private String slug;
+
+    @Schema(description = "失败原因")
+    private String error;
+
+    public static PostImportResult created(int line, Long id, String slug) {
+        return new PostImportResult(line, 201, id, slug, null);
+    }
+
+    public static PostImportResult failed(int line, int status, String slug, String error) {
+        return new PostImportResult(line, status, null, slug, error);
+    }
+}
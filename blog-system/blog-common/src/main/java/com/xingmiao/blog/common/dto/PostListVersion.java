@@ -0,0 +1,16 @@
+package com.xingmiao.blog.common.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 文章列表的版本信息，用于 HTTP 条件请求；由数据计算，多个实例对同一份数据给出相同的校验值
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PostListVersion {
+    private String eTag;
+    private long lastModified;
+}
@@ -3,29 +3,56 @@ package com.xingmiao.blog.common.dto;
 import com.xingmiao.blog.common.domain.enums.ContentType;
 import com.xingmiao.blog.common.domain.enums.PostStatus;
 import com.xingmiao.blog.common.domain.enums.Visibility;
+import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.List;
+
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 public class PostUpdateRequest {
+
+    @Size(max = 200, message = "标题长度不能超过200个字符")
     private String title;
+
+    @Size(max = 200, message = "别名长度不能超过200个字符")
     private String slug;
+
+    @Size(max = 500, message = "摘要长度不能超过500个字符")
     private String excerpt;
+
     private String content;
+
     private ContentType contentType;
+
     private PostStatus status;
+
     private Visibility visibility;
+
+    @Size(max = 50, message = "密码长度不能超过50个字符")
     private String password;
+
     private Long categoryId;
+
+    @Size(max = 500, message = "封面图片URL长度不能超过500个字符")
     private String coverImageUrl;
+
+    @Size(max = 200, message = "SEO标题长度不能超过200个字符")
     private String metaTitle;
+
+    @Size(max = 500, message = "SEO描述长度不能超过500个字符")
     private String metaDescription;
+
+    @Size(max = 200, message = "SEO关键词长度不能超过200个字符")
     private String metaKeywords;
-}
 
+    @Size(max = 20, message = "单篇文章最多关联20个标签")
+    private List<Long> tagIds; // null 表示不修改，空列表表示清空标签
 
+    private Long version; // 编辑开始时读到的版本号，不为 null 时与当前版本不一致则拒绝更新
+}
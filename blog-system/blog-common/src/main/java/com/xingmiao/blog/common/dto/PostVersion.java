@@ -0,0 +1,57 @@
+package com.xingmiao.blog.common.dto;
+
+import com.xingmiao.blog.common.domain.enums.Visibility;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * 文章版本信息，用于 HTTP 条件请求（ETag / Last-Modified），查询时不读取正文
+ *
+ * <p>详情中的点赞、评论数存放在 post_stats，变化时不更新文章行，所以校验值同时包含计数和计数的更新时间；
+ * 浏览数每次访问都会变化，不参与校验，304 响应中的浏览数可能滞后。</p>
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PostVersion {
+    private Long id;
+    private Visibility visibility;
+    private LocalDateTime updatedAt;
+    private LocalDateTime statsUpdatedAt;
+    private Long likeCount;
+    private Long commentCount;
+
+    public String getETag() {
+        return eTagOf(id, updatedAt, statsUpdatedAt, likeCount, commentCount);
+    }
+
+    public long getLastModified() {
+        return lastModifiedOf(updatedAt, statsUpdatedAt);
+    }
+
+    /**
+     * 按详情响应中的字段计算版本信息，与按ID查询的结果一致
+     */
+    public static PostVersion of(PostDto post) {
+        return new PostVersion(post.getId(), post.getVisibility(), post.getUpdatedAt(), post.getStatsUpdatedAt(),
+                post.getLikeCount(), post.getCommentCount());
+    }
+
+    public static String eTagOf(Long id, LocalDateTime updatedAt, LocalDateTime statsUpdatedAt,
+                                Long likeCount, Long commentCount) {
+        return "p" + id + "-" + lastModifiedOf(updatedAt, statsUpdatedAt)
+                + "-" + (likeCount == null ? 0 : likeCount) + "-" + (commentCount == null ? 0 : commentCount);
+    }
+
+    public static long lastModifiedOf(LocalDateTime updatedAt, LocalDateTime statsUpdatedAt) {
+        return Math.max(lastModifiedOf(updatedAt), lastModifiedOf(statsUpdatedAt));
+    }
+
+    public static long lastModifiedOf(LocalDateTime updatedAt) {
+        return updatedAt == null ? -1 : updatedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,21 @@
+package com.xingmiao.blog.common.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "相关文章")
+public class RelatedPostItem {
+
+    @Schema(description = "与当前文章的相似度（0~1）", example = "0.42")
+    private Double score;
+
+    @Schema(description = "文章摘要信息，不含正文")
+    private PostDto post;
+}
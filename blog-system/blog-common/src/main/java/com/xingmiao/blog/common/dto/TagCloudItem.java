@@ -0,0 +1,19 @@
+package com.xingmiao.blog.common.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TagCloudItem {
+    private Long id;
+    private String name;
+    private String slug;
+    private String color;
+    private Integer postCount;
+    private Integer weight; // 1..5，按文章数对数缩放
+}
@@ -0,0 +1,24 @@
+package com.xingmiao.blog.common.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "正文目录项")
+public class TocEntry {
+
+    @Schema(description = "标题级别（1-6）", example = "2")
+    private Integer level;
+
+    @Schema(description = "标题文字（已去除行内标记）", example = "安装与配置")
+    private String text;
+
+    @Schema(description = "锚点，对应正文中标题元素的 id", example = "安装与配置")
+    private String anchor;
+}
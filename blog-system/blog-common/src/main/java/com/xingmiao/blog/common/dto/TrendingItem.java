@@ -0,0 +1,21 @@
+package com.xingmiao.blog.common.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "热门文章")
+public class TrendingItem {
+
+    @Schema(description = "当前热度分数（随时间指数衰减）", example = "12.5")
+    private Double score;
+
+    @Schema(description = "文章摘要信息，不含正文")
+    private PostDto post;
+}